@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.event;
+
+import java.util.List;
+
+/**
+ * Receives events in batches instead of one at a time. This is intended for handlers that only
+ * observe high-frequency events, such as analytics, and do not need to influence their outcome.
+ *
+ * @param <E> the event type to handle
+ * @see EventManager#registerBatched(Object, Class, java.time.Duration, int, BatchedEventHandler)
+ * @since 3.4.0
+ */
+@FunctionalInterface
+public interface BatchedEventHandler<E> {
+
+  /**
+   * Handles a batch of events, in the order in which they were fired.
+   *
+   * @param events the events collected since the last batch, never empty
+   */
+  void handle(List<E> events);
+}
@@ -7,6 +7,7 @@
 
 package com.velocitypowered.api.event;
 
+import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -67,6 +68,37 @@ public interface EventManager {
   <E> void register(Object plugin, Class<E> eventClass, short postOrder,
       EventHandler<E> handler);
 
+  /**
+   * Requests that the specified {@code handler} receive events in batches and associate it with
+   * the {@code plugin}. Events are collected after every other handler has run and delivered on
+   * the plugin's executor once {@code window} has elapsed since the first event of the batch, or
+   * as soon as {@code maxBatchSize} events have been collected, whichever happens first. Batches
+   * for the same handler are delivered one at a time and in order.
+   *
+   * <p>Because delivery is deferred, a batched handler observes the final state of each event but
+   * cannot change its outcome. The handler can be unregistered using
+   * {@link #unregisterListener(Object, Object)}, which also discards events that have been
+   * collected but not delivered yet.</p>
+   *
+   * @param plugin the plugin to associate with the handler
+   * @param eventClass the class for the event handler to register
+   * @param window how long to collect events before delivering a batch
+   * @param maxBatchSize the maximum number of events delivered in a single batch
+   * @param handler the handler to register
+   * @param <E> the event type to handle
+   * @since 3.4.0
+   */
+  <E> void registerBatched(Object plugin, Class<E> eventClass, Duration window,
+      int maxBatchSize, BatchedEventHandler<E> handler);
+
+  /**
+   * Returns the profiler that records how much time each registered event handler takes.
+   *
+   * @return the event profiler
+   * @since 3.4.0
+   */
+  EventProfiler getProfiler();
+
   /**
    * Fires the specified event to the event bus asynchronously. This allows Velocity to continue
    * servicing connections while a plugin handles a potentially long-running operation such as a
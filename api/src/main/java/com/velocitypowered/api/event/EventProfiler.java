@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.event;
+
+import com.velocitypowered.api.plugin.PluginContainer;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Records how much time each registered event handler takes. Profiling is disabled by default,
+ * and only handlers that are still registered are reported.
+ *
+ * @see EventManager#getProfiler()
+ * @since 3.4.0
+ */
+public interface EventProfiler {
+
+  /**
+   * Returns whether handler invocations are currently being recorded.
+   *
+   * @return whether profiling is enabled
+   */
+  boolean isEnabled();
+
+  /**
+   * Enables or disables recording of handler invocations. Statistics that were already collected
+   * are retained until {@link #reset()} is called.
+   *
+   * @param enabled whether profiling should be enabled
+   */
+  void setEnabled(boolean enabled);
+
+  /**
+   * Discards all collected statistics.
+   */
+  void reset();
+
+  /**
+   * Returns how long profiling has been running since it was last enabled or reset, or
+   * {@link Duration#ZERO} if profiling is disabled.
+   *
+   * @return the length of the current profiling window
+   */
+  Duration getWindow();
+
+  /**
+   * Takes a snapshot of the statistics collected so far, ordered by the total time spent in each
+   * handler, highest first.
+   *
+   * @return the collected statistics
+   */
+  List<HandlerStatistics> snapshot();
+
+  /**
+   * A point-in-time view of the statistics collected for a single event handler.
+   *
+   * @param plugin the plugin that registered the handler
+   * @param eventType the event type the handler was registered for
+   * @param handler a human-readable description of the handler
+   * @param invocations the number of times the handler was invoked
+   * @param failures the number of invocations that threw or resumed with an exception
+   * @param totalNanos the total time between the handler starting to run and it handing control
+   *                   back
+   * @param suspendedNanos the part of {@code totalNanos} spent waiting for an asynchronous
+   *                       continuation to be resumed
+   * @param p50Nanos the approximate median latency
+   * @param p99Nanos the approximate 99th percentile latency
+   * @since 3.4.0
+   */
+  record HandlerStatistics(PluginContainer plugin, Class<?> eventType, String handler,
+      long invocations, long failures, long totalNanos, long suspendedNanos, long p50Nanos,
+      long p99Nanos) {
+
+    /**
+     * Returns the mean latency of the handler.
+     *
+     * @return the mean latency in nanoseconds
+     */
+    public long meanNanos() {
+      return invocations == 0 ? 0 : totalNanos / invocations;
+    }
+  }
+}
@@ -18,12 +18,20 @@ import com.velocitypowered.api.proxy.messages.ChannelIdentifier;
 import com.velocitypowered.api.proxy.messages.ChannelMessageSink;
 import com.velocitypowered.api.proxy.messages.ChannelMessageSource;
 import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jetbrains.annotations.ApiStatus;
 
 /**
  * This event is fired when a plugin message is sent to the proxy, either from a client ({@link
  * Player}) or a server ({@link ServerConnection}). Velocity will wait on this event to finish
  * firing before discarding the sent plugin message (if handled) or forwarding it to the server.
+ *
+ * <p>The payload of a plugin message received by the proxy is read straight from the network
+ * buffer of the message, so it can only be read while the event is being fired. Afterwards, all
+ * methods that read the payload throw an {@link IllegalStateException}. Copy the payload using
+ * {@link #getData()} to keep it for longer.
  */
 @AwaitingEvent
 public final class PluginMessageEvent implements ResultedEvent<PluginMessageEvent.ForwardResult> {
@@ -31,7 +39,8 @@ public final class PluginMessageEvent implements ResultedEvent<PluginMessageEven
   private final ChannelMessageSource source;
   private final ChannelMessageSink target;
   private final ChannelIdentifier identifier;
-  private final byte[] data;
+  private volatile @Nullable ByteBuffer buffer;
+  private volatile byte @Nullable [] data;
   private ForwardResult result;
 
   /**
@@ -48,6 +57,27 @@ public final class PluginMessageEvent implements ResultedEvent<PluginMessageEven
     this.target = Preconditions.checkNotNull(target, "target");
     this.identifier = Preconditions.checkNotNull(identifier, "identifier");
     this.data = Preconditions.checkNotNull(data, "data");
+    this.buffer = ByteBuffer.wrap(data).asReadOnlyBuffer();
+    this.result = ForwardResult.forward();
+  }
+
+  /**
+   * Creates a new instance that reads the payload from {@code data} instead of copying it. The
+   * remaining bytes of the buffer are the payload, and they must not change until
+   * {@link #invalidateData()} has been called.
+   *
+   * @param source the source of the plugin message
+   * @param target the destination of the plugin message
+   * @param identifier the channel for this plugin message
+   * @param data the payload of the plugin message
+   * @since 3.4.0
+   */
+  public PluginMessageEvent(ChannelMessageSource source, ChannelMessageSink target,
+      ChannelIdentifier identifier, ByteBuffer data) {
+    this.source = Preconditions.checkNotNull(source, "source");
+    this.target = Preconditions.checkNotNull(target, "target");
+    this.identifier = Preconditions.checkNotNull(identifier, "identifier");
+    this.buffer = Preconditions.checkNotNull(data, "data").slice().asReadOnlyBuffer();
     this.result = ForwardResult.forward();
   }
 
@@ -73,16 +103,84 @@ public final class PluginMessageEvent implements ResultedEvent<PluginMessageEven
     return identifier;
   }
 
+  /**
+   * Returns a copy of the payload of the plugin message.
+   *
+   * @return a copy of the payload
+   * @throws IllegalStateException if the event has finished firing and the payload can no longer
+   *     be read
+   */
   public byte[] getData() {
+    byte[] data = data();
     return Arrays.copyOf(data, data.length);
   }
 
+  /**
+   * Returns a read-only view of the payload of the plugin message, without copying it. The view
+   * may be backed by the network buffer of the message, so it is only valid until the event has
+   * finished firing. Use {@link #getData()} to keep the payload for longer.
+   *
+   * @return a read-only view of the payload
+   * @throws IllegalStateException if the event has finished firing and the payload can no longer
+   *     be read
+   * @since 3.4.0
+   */
+  public ByteBuffer dataAsByteBuffer() {
+    return buffer().duplicate();
+  }
+
+  /**
+   * Returns the length of the payload of the plugin message, in bytes.
+   *
+   * @return the length of the payload
+   * @throws IllegalStateException if the event has finished firing and the payload can no longer
+   *     be read
+   * @since 3.4.0
+   */
+  public int getDataLength() {
+    return buffer().remaining();
+  }
+
   public ByteArrayInputStream dataAsInputStream() {
-    return new ByteArrayInputStream(data);
+    return new ByteArrayInputStream(data());
   }
 
   public ByteArrayDataInput dataAsDataStream() {
-    return ByteStreams.newDataInput(data);
+    return ByteStreams.newDataInput(data());
+  }
+
+  /**
+   * Stops the payload from being read, so that the buffer the event was created with can be
+   * reused or released. Plugins may hold on to the event after it has been fired, and any attempt
+   * to read the payload afterwards fails instead of reading whatever the buffer contains by then.
+   *
+   * @since 3.4.0
+   */
+  @ApiStatus.Internal
+  public void invalidateData() {
+    this.buffer = null;
+    this.data = null;
+  }
+
+  private ByteBuffer buffer() {
+    ByteBuffer buffer = this.buffer;
+    if (buffer == null) {
+      throw new IllegalStateException(
+          "The payload of a plugin message can only be read while the event is being fired");
+    }
+    return buffer;
+  }
+
+  private byte[] data() {
+    ByteBuffer buffer = buffer();
+    byte[] data = this.data;
+    if (data == null) {
+      // Only copy the payload out of the buffer if someone asks for it
+      data = new byte[buffer.remaining()];
+      buffer.duplicate().get(data);
+      this.data = data;
+    }
+    return data;
   }
 
   @Override
@@ -91,7 +189,7 @@ public final class PluginMessageEvent implements ResultedEvent<PluginMessageEven
         + "source=" + source
         + ", target=" + target
         + ", identifier=" + identifier
-        + ", data=" + Arrays.toString(data)
+        + ", data=" + (buffer == null ? "<invalidated>" : Arrays.toString(data()))
         + ", result=" + result
         + '}';
   }
@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.player;
+
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.util.GameProfile;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A tab list that is shared by many players, such as a tab list of everyone on the network.
+ * Unlike adding the same entries to the {@link TabList} of every player, each entry is only stored
+ * once, and a change to an entry is encoded once per protocol version instead of once per player.
+ *
+ * <p>Each viewer has a filter that decides which entries they can see. Entries are shown in
+ * addition to the entries of the viewer's own {@link TabList}. The client only has one entry per
+ * profile ID, so if both have an entry with the same ID, the one sent last is shown. An entry of
+ * the shared tab list that the viewer can see is shown again after the other entry was removed.
+ *
+ * <p>Only players on Minecraft 1.19.3 and newer can view a shared tab list.
+ *
+ * @since 3.4.0
+ */
+public interface SharedTabList {
+
+  /**
+   * Adds an entry to the tab list, replacing any entry with the same profile ID.
+   *
+   * @param profile the profile of the entry
+   * @param displayName the display name of the entry, or {@code null} to display the profile name
+   * @param latency the latency of the entry, in milliseconds
+   * @param gameMode the game mode of the entry
+   * @param listed whether the entry is listed in the tab list
+   * @return the added entry
+   */
+  Entry addEntry(GameProfile profile, @Nullable Component displayName, int latency, int gameMode,
+      boolean listed);
+
+  /**
+   * Removes the entry with the given profile ID.
+   *
+   * @param uuid the profile ID of the entry
+   * @return the removed entry, if there was one
+   */
+  Optional<Entry> removeEntry(UUID uuid);
+
+  /**
+   * Returns the entry with the given profile ID.
+   *
+   * @param uuid the profile ID of the entry
+   * @return the entry, if there is one
+   */
+  Optional<Entry> getEntry(UUID uuid);
+
+  /**
+   * Returns an immutable snapshot of all entries of the tab list.
+   *
+   * @return the entries
+   */
+  Collection<Entry> getEntries();
+
+  /**
+   * Shows the entries of this tab list to {@code viewer}. If the player is already a viewer, their
+   * filter is replaced.
+   *
+   * @param viewer the player to show the tab list to
+   * @param filter decides which entries the viewer can see. It is called again for every entry
+   *               when {@link #updateVisibility(Player)} is called.
+   * @return {@code false} if the player's version doesn't support shared tab lists
+   */
+  boolean addViewer(Player viewer, Predicate<Entry> filter);
+
+  /**
+   * Shows all entries of this tab list to {@code viewer}.
+   *
+   * @param viewer the player to show the tab list to
+   * @return {@code false} if the player's version doesn't support shared tab lists
+   */
+  default boolean addViewer(Player viewer) {
+    return addViewer(viewer, entry -> true);
+  }
+
+  /**
+   * Hides the entries of this tab list from {@code viewer}. Viewers are removed automatically when
+   * they disconnect.
+   *
+   * @param viewer the player to hide the tab list from
+   */
+  void removeViewer(Player viewer);
+
+  /**
+   * Returns an immutable snapshot of the players viewing this tab list.
+   *
+   * @return the viewers
+   */
+  Collection<Player> getViewers();
+
+  /**
+   * Runs the filter of {@code viewer} again for every entry, showing and hiding entries as needed.
+   * Call this when the filter would now decide differently, for example after the viewer joined a
+   * team.
+   *
+   * @param viewer the viewer to update
+   */
+  void updateVisibility(Player viewer);
+
+  /**
+   * An entry of a {@link SharedTabList}. Changes made to an entry are sent to its viewers shortly
+   * after, together with the other changes made in the meantime.
+   *
+   * @since 3.4.0
+   */
+  interface Entry {
+
+    /**
+     * Returns the tab list this entry belongs to.
+     *
+     * @return the tab list
+     */
+    SharedTabList getTabList();
+
+    /**
+     * Returns the profile of this entry.
+     *
+     * @return the profile
+     */
+    GameProfile getProfile();
+
+    /**
+     * Returns the display name of this entry, if it has one.
+     *
+     * @return the display name
+     */
+    Optional<Component> getDisplayName();
+
+    /**
+     * Sets the display name of this entry.
+     *
+     * @param displayName the display name, or {@code null} to display the profile name
+     * @return this entry
+     */
+    Entry setDisplayName(@Nullable Component displayName);
+
+    /**
+     * Returns the latency of this entry.
+     *
+     * @return the latency, in milliseconds
+     */
+    int getLatency();
+
+    /**
+     * Sets the latency of this entry.
+     *
+     * @param latency the latency, in milliseconds
+     * @return this entry
+     */
+    Entry setLatency(int latency);
+
+    /**
+     * Returns the game mode of this entry.
+     *
+     * @return the game mode
+     */
+    int getGameMode();
+
+    /**
+     * Sets the game mode of this entry.
+     *
+     * @param gameMode the game mode
+     * @return this entry
+     */
+    Entry setGameMode(int gameMode);
+
+    /**
+     * Returns whether this entry is listed in the tab list.
+     *
+     * @return whether the entry is listed
+     */
+    boolean isListed();
+
+    /**
+     * Sets whether this entry is listed in the tab list.
+     *
+     * @param listed whether the entry is listed
+     * @return this entry
+     */
+    Entry setListed(boolean listed);
+  }
+}
@@ -50,4 +50,15 @@ public interface RegisteredServer extends ChannelMessageSink, Audience {
    * @since 3.2.0
    */
   CompletableFuture<ServerPing> ping(PingOptions pingOptions);
+
+  /**
+   * Returns the health of this server, as determined by the proxy's health checks. Players are
+   * not sent to servers that are {@link ServerHealth#DOWN}.
+   *
+   * @return the health of this server
+   * @since 3.4.0
+   */
+  default ServerHealth getHealth() {
+    return ServerHealth.UNKNOWN;
+  }
 }
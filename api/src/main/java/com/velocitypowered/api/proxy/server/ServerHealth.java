@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.proxy.server;
+
+/**
+ * The health of a {@link RegisteredServer}, as determined by the proxy's health checks.
+ *
+ * @since 3.4.0
+ */
+public enum ServerHealth {
+  /**
+   * The server hasn't been checked yet, or health checks are disabled.
+   */
+  UNKNOWN,
+  /**
+   * The server is responding to health checks.
+   */
+  UP,
+  /**
+   * The server has failed several health checks in a row. The proxy won't send players to it until
+   * it recovers.
+   */
+  DOWN
+}
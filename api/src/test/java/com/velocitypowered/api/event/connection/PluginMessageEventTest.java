@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * The Velocity API is licensed under the terms of the MIT License. For more details,
+ * reference the LICENSE file in the api top-level directory.
+ */
+
+package com.velocitypowered.api.event.connection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.velocitypowered.api.proxy.messages.ChannelIdentifier;
+import com.velocitypowered.api.proxy.messages.ChannelMessageSink;
+import com.velocitypowered.api.proxy.messages.ChannelMessageSource;
+import com.velocitypowered.api.proxy.messages.MinecraftChannelIdentifier;
+import com.velocitypowered.api.proxy.messages.PluginMessageEncoder;
+import java.nio.ByteBuffer;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+class PluginMessageEventTest {
+
+  private static final ChannelMessageSource SOURCE = new ChannelMessageSource() {
+  };
+  private static final ChannelMessageSink TARGET = new ChannelMessageSink() {
+    @Override
+    public boolean sendPluginMessage(@NotNull ChannelIdentifier identifier,
+        byte @NotNull [] data) {
+      return false;
+    }
+
+    @Override
+    public boolean sendPluginMessage(@NotNull ChannelIdentifier identifier,
+        @NotNull PluginMessageEncoder dataEncoder) {
+      return false;
+    }
+  };
+  private static final ChannelIdentifier IDENTIFIER =
+      MinecraftChannelIdentifier.create("velocity", "test");
+
+  @Test
+  void payloadIsReadFromTheBuffer() {
+    ByteBuffer buffer = ByteBuffer.wrap(new byte[] {0, 1, 2, 3});
+    buffer.position(1);
+    PluginMessageEvent event = new PluginMessageEvent(SOURCE, TARGET, IDENTIFIER, buffer);
+
+    assertEquals(3, event.getDataLength());
+    assertArrayEquals(new byte[] {1, 2, 3}, event.getData());
+    assertEquals(1, event.dataAsDataStream().readByte());
+  }
+
+  @Test
+  void payloadCannotBeReadAfterInvalidation() {
+    PluginMessageEvent event = new PluginMessageEvent(SOURCE, TARGET, IDENTIFIER,
+        ByteBuffer.wrap(new byte[] {1, 2, 3}));
+    // Copying the payload doesn't keep it readable either
+    event.getData();
+    event.invalidateData();
+
+    assertThrows(IllegalStateException.class, event::getData);
+    assertThrows(IllegalStateException.class, event::dataAsByteBuffer);
+    assertThrows(IllegalStateException.class, event::getDataLength);
+    assertThrows(IllegalStateException.class, event::dataAsDataStream);
+    assertDoesNotThrow(event::toString);
+  }
+}
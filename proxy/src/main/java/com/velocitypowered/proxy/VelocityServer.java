@@ -38,6 +38,7 @@ import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.api.util.Favicon;
 import com.velocitypowered.api.util.GameProfile;
 import com.velocitypowered.api.util.ProxyVersion;
+import com.velocitypowered.proxy.adventure.BroadcastRenderCache;
 import com.velocitypowered.proxy.command.VelocityCommandManager;
 import com.velocitypowered.proxy.command.builtin.CallbackCommand;
 import com.velocitypowered.proxy.command.builtin.GlistCommand;
@@ -46,6 +47,8 @@ import com.velocitypowered.proxy.command.builtin.ServerCommand;
 import com.velocitypowered.proxy.command.builtin.ShutdownCommand;
 import com.velocitypowered.proxy.command.builtin.VelocityCommand;
 import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.connection.backend.BackendConnectionPool;
+import com.velocitypowered.proxy.connection.backend.BungeeCordResponseCache;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.connection.player.resourcepack.VelocityResourcePackInfo;
 import com.velocitypowered.proxy.connection.util.ServerListPingHandler;
@@ -58,16 +61,20 @@ import com.velocitypowered.proxy.plugin.loader.VelocityPluginContainer;
 import com.velocitypowered.proxy.plugin.loader.VelocityPluginDescription;
 import com.velocitypowered.proxy.plugin.virtual.VelocityVirtualPlugin;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.packet.chat.ChatType;
 import com.velocitypowered.proxy.protocol.util.FaviconSerializer;
 import com.velocitypowered.proxy.protocol.util.GameProfileSerializer;
 import com.velocitypowered.proxy.scheduler.VelocityScheduler;
+import com.velocitypowered.proxy.server.ServerBalancer;
+import com.velocitypowered.proxy.server.ServerHealthChecker;
 import com.velocitypowered.proxy.server.ServerMap;
+import com.velocitypowered.proxy.tablist.VelocitySharedTabList;
 import com.velocitypowered.proxy.util.AddressUtil;
 import com.velocitypowered.proxy.util.ClosestLocaleMatcher;
 import com.velocitypowered.proxy.util.ResourceUtils;
+import com.velocitypowered.proxy.util.TranslationRenderCache;
 import com.velocitypowered.proxy.util.VelocityChannelRegistrar;
-import com.velocitypowered.proxy.util.ratelimit.Ratelimiter;
-import com.velocitypowered.proxy.util.ratelimit.Ratelimiters;
+import com.velocitypowered.proxy.util.ratelimit.AdmissionController;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
@@ -100,6 +107,9 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.audience.ForwardingAudience;
+import net.kyori.adventure.audience.MessageType;
+import net.kyori.adventure.identity.Identified;
+import net.kyori.adventure.identity.Identity;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.translation.GlobalTranslator;
@@ -154,6 +164,10 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
   private @MonotonicNonNull VelocityConfiguration configuration;
   private @MonotonicNonNull KeyPair serverKeyPair;
   private final ServerMap servers;
+  private final ServerBalancer serverBalancer;
+  private final ServerHealthChecker serverHealthChecker;
+  private final BackendConnectionPool backendConnectionPool;
+  private final VelocitySharedTabList sharedTabList;
   private final VelocityCommandManager commandManager;
   private final AtomicBoolean shutdownInProgress = new AtomicBoolean(false);
   private boolean shutdown = false;
@@ -162,11 +176,12 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
   private final Map<UUID, ConnectedPlayer> connectionsByUuid = new ConcurrentHashMap<>();
   private final Map<String, ConnectedPlayer> connectionsByName = new ConcurrentHashMap<>();
   private final VelocityConsole console;
-  private @MonotonicNonNull Ratelimiter ipAttemptLimiter;
+  private @MonotonicNonNull AdmissionController admissionController;
   private final VelocityEventManager eventManager;
   private final VelocityScheduler scheduler;
   private final VelocityChannelRegistrar channelRegistrar = new VelocityChannelRegistrar();
   private final ServerListPingHandler serverListPingHandler;
+  private final BungeeCordResponseCache bungeeCordResponseCache;
 
   VelocityServer(final ProxyOptions options) {
     pluginManager = new VelocityPluginManager(this);
@@ -176,7 +191,12 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     console = new VelocityConsole(this);
     cm = new ConnectionManager(this);
     servers = new ServerMap(this);
+    serverBalancer = new ServerBalancer(servers);
+    serverHealthChecker = new ServerHealthChecker(this);
+    backendConnectionPool = new BackendConnectionPool(this, cm);
+    sharedTabList = new VelocitySharedTabList(cm);
     serverListPingHandler = new ServerListPingHandler(this);
+    bungeeCordResponseCache = new BungeeCordResponseCache(this);
     this.options = options;
   }
 
@@ -238,8 +258,6 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
 
     serverKeyPair = EncryptionUtils.createRsaKeyPair(1024);
 
-    cm.logChannelInformation();
-
     // Initialize commands first
     final BrigadierCommand velocityParentCommand = VelocityCommand.create(this);
     commandManager.register(
@@ -274,6 +292,8 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     new SendCommand(this).register();
 
     this.doStartupConfigLoad();
+    cm.initialize(configuration);
+    cm.logChannelInformation();
 
     for (ServerInfo cliServer : options.getServers()) {
       servers.register(cliServer);
@@ -285,7 +305,9 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       }
     }
 
-    ipAttemptLimiter = Ratelimiters.createWithMilliseconds(configuration.getLoginRatelimit());
+    admissionController = AdmissionController.fromConfiguration(configuration);
+    serverHealthChecker.reload(configuration);
+    backendConnectionPool.reload(configuration);
     loadPlugins();
 
     // Go ahead and fire the proxy initialization event. We block since plugins should have a chance
@@ -377,6 +399,7 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       return;
     }
     GlobalTranslator.translator().addSource(translationRegistry);
+    TranslationRenderCache.INSTANCE.setSource(translationRegistry);
   }
 
   @SuppressFBWarnings("DM_EXIT")
@@ -449,6 +472,10 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     return serverListPingHandler;
   }
 
+  public BungeeCordResponseCache getBungeeCordResponseCache() {
+    return bungeeCordResponseCache;
+  }
+
   public boolean isShutdown() {
     return shutdown;
   }
@@ -535,8 +562,12 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     }
 
     commandManager.setAnnounceProxyCommands(newConfiguration.isAnnounceProxyCommands());
-    ipAttemptLimiter = Ratelimiters.createWithMilliseconds(newConfiguration.getLoginRatelimit());
+    admissionController = AdmissionController.fromConfiguration(newConfiguration);
     this.configuration = newConfiguration;
+    serverHealthChecker.reload(newConfiguration);
+    backendConnectionPool.reload(newConfiguration);
+    serverListPingHandler.invalidateStatusResponses();
+    bungeeCordResponseCache.invalidateServers();
     eventManager.fireAndForget(new ProxyReloadEvent());
     return true;
   }
@@ -562,6 +593,8 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       // Shutdown the connection manager, this should be
       // done first to refuse new connections
       cm.shutdown();
+      serverHealthChecker.shutdown();
+      backendConnectionPool.shutdown();
 
       ImmutableList<ConnectedPlayer> players = ImmutableList.copyOf(connectionsByUuid.values());
       for (ConnectedPlayer player : players) {
@@ -588,6 +621,7 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
         }
 
         eventManager.fire(new ProxyShutdownEvent()).join();
+        eventManager.shutdown();
 
         timedOut = !scheduler.shutdown() || timedOut;
 
@@ -645,8 +679,25 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     return cm.createHttpClient();
   }
 
-  public Ratelimiter getIpAttemptLimiter() {
-    return ipAttemptLimiter;
+  public ServerBalancer getServerBalancer() {
+    return serverBalancer;
+  }
+
+  public ServerHealthChecker getServerHealthChecker() {
+    return serverHealthChecker;
+  }
+
+  public BackendConnectionPool getBackendConnectionPool() {
+    return backendConnectionPool;
+  }
+
+  @Override
+  public VelocitySharedTabList getSharedTabList() {
+    return sharedTabList;
+  }
+
+  public AdmissionController getAdmissionController() {
+    return admissionController;
   }
 
   /**
@@ -691,6 +742,7 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
       connectionsByName.put(lowerName, connection);
       connectionsByUuid.put(connection.getUniqueId(), connection);
     }
+    bungeeCordResponseCache.invalidatePlayers();
     return true;
   }
 
@@ -702,6 +754,8 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
   public void unregisterConnection(ConnectedPlayer connection) {
     connectionsByName.remove(connection.getUsername().toLowerCase(Locale.US), connection);
     connectionsByUuid.remove(connection.getUniqueId(), connection);
+    bungeeCordResponseCache.invalidatePlayers();
+    sharedTabList.viewerDisconnected(connection);
     connection.disconnected();
   }
 
@@ -762,12 +816,17 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
 
   @Override
   public RegisteredServer registerServer(ServerInfo server) {
-    return servers.register(server);
+    RegisteredServer registered = servers.register(server);
+    serverListPingHandler.invalidateStatusResponses();
+    bungeeCordResponseCache.invalidateServers();
+    return registered;
   }
 
   @Override
   public void unregisterServer(ServerInfo server) {
     servers.unregister(server);
+    serverListPingHandler.invalidateStatusResponses();
+    bungeeCordResponseCache.invalidateServers();
   }
 
   @Override
@@ -812,6 +871,47 @@ public class VelocityServer implements ProxyServer, ForwardingAudience {
     return audiences;
   }
 
+  // Broadcasts are rendered and serialized once per locale and protocol, instead of once for every
+  // player, which is what forwarding them to each audience would do.
+
+  @Override
+  public void sendMessage(@NonNull Component message) {
+    this.console.sendMessage(message);
+    this.broadcastMessage(Identity.nil(), message, ChatType.SYSTEM);
+  }
+
+  @Override
+  public void sendMessage(@NonNull Identity source, @NonNull Component message) {
+    this.console.sendMessage(source, message);
+    this.broadcastMessage(source, message, ChatType.CHAT);
+  }
+
+  @Override
+  public void sendMessage(@NonNull Identified source, @NonNull Component message) {
+    this.sendMessage(source.identity(), message);
+  }
+
+  @Override
+  public void sendMessage(@NonNull Identity source, @NonNull Component message,
+      @NonNull MessageType type) {
+    this.console.sendMessage(source, message, type);
+    this.broadcastMessage(source, message,
+        type == MessageType.CHAT ? ChatType.CHAT : ChatType.SYSTEM);
+  }
+
+  @Override
+  public void sendMessage(@NonNull Identified source, @NonNull Component message,
+      @NonNull MessageType type) {
+    this.sendMessage(source.identity(), message, type);
+  }
+
+  private void broadcastMessage(Identity source, Component message, ChatType type) {
+    BroadcastRenderCache cache = new BroadcastRenderCache(message);
+    for (ConnectedPlayer player : connectionsByUuid.values()) {
+      player.sendBroadcastMessage(source, cache, type);
+    }
+  }
+
   /**
    * Returns a Gson instance for use in serializing server ping instances.
    *
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.adventure;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
+import com.velocitypowered.proxy.util.ClosestLocaleMatcher;
+import com.velocitypowered.proxy.util.TranslationRenderCache;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import net.kyori.adventure.text.Component;
+
+/**
+ * Renders and serializes a component that is broadcast to many players. Each locale is rendered
+ * only once, and each rendering is only serialized once per serialization format, instead of once
+ * for every recipient.
+ *
+ * <p>An instance lives for a single broadcast, and must only be used by the thread that sends it.
+ * The serialized components it hands out may be written by any thread.
+ */
+public final class BroadcastRenderCache {
+
+  private final Component message;
+  private final Map<Locale, Component> rendered = new HashMap<>();
+  private final Map<SerializedKey, ComponentHolder> serialized = new HashMap<>();
+
+  public BroadcastRenderCache(Component message) {
+    this.message = message;
+  }
+
+  /**
+   * Renders the message in the Velocity locale closest to {@code locale}.
+   *
+   * @param locale the locale of the recipient
+   * @return the rendered message
+   */
+  public Component render(Locale locale) {
+    return rendered.computeIfAbsent(ClosestLocaleMatcher.INSTANCE.lookupClosest(locale),
+        closest -> TranslationRenderCache.INSTANCE.render(message, closest));
+  }
+
+  /**
+   * Renders the message in the Velocity locale closest to {@code locale}, and serializes it for
+   * the given protocol version.
+   *
+   * @param locale the locale of the recipient
+   * @param version the protocol version of the recipient
+   * @return the serialized message, which can be shared between packets
+   */
+  public ComponentHolder serialize(Locale locale, ProtocolVersion version) {
+    ProtocolVersion format = serializationFormat(version);
+    Locale closest = ClosestLocaleMatcher.INSTANCE.lookupClosest(locale);
+    return serialized.computeIfAbsent(new SerializedKey(closest, format), key -> {
+      ComponentHolder holder = new ComponentHolder(format, render(closest));
+      // Serialize right away, so that the event loops of the recipients only ever read the holder
+      if (format.noLessThan(ProtocolVersion.MINECRAFT_1_20_3)) {
+        holder.getBinaryTag();
+      } else {
+        holder.getJson();
+      }
+      return holder;
+    });
+  }
+
+  /**
+   * Returns the oldest protocol version that serializes components the same way as
+   * {@code version}.
+   *
+   * @param version the protocol version
+   * @return the first version of the serialization format used by {@code version}
+   */
+  static ProtocolVersion serializationFormat(ProtocolVersion version) {
+    if (version.noLessThan(ProtocolVersion.MINECRAFT_1_20_3)) {
+      return ProtocolVersion.MINECRAFT_1_20_3;
+    }
+    if (version.noLessThan(ProtocolVersion.MINECRAFT_1_16)) {
+      return ProtocolVersion.MINECRAFT_1_16;
+    }
+    return ProtocolVersion.MINIMUM_VERSION;
+  }
+
+  private record SerializedKey(Locale locale, ProtocolVersion format) {
+  }
+}
@@ -18,26 +18,44 @@
 package com.velocitypowered.proxy.adventure;
 
 import com.google.common.collect.MapMaker;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
 import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.bossbar.BossBarImplementation;
 import net.kyori.adventure.text.Component;
 
 /**
- * Implementation of a {@link BossBarImplementation}.
+ * Implementation of a {@link BossBarImplementation}. Changes to the bar are not sent right away,
+ * but coalesced and sent together on the event loop of one of its viewers, so that a bar that is
+ * changed many times in a row is only sent once.
  */
 @SuppressWarnings("MissingJavadocMethod")
 public final class VelocityBossBarImplementation implements BossBar.Listener,
     BossBarImplementation {
+  private static final int CHANGED_NAME = 1;
+  private static final int CHANGED_PROGRESS = 1 << 1;
+  private static final int CHANGED_STYLE = 1 << 2;
+  private static final int CHANGED_PROPERTIES = 1 << 3;
+
   private final Set<ConnectedPlayer> viewers = Collections.newSetFromMap(
       new MapMaker().weakKeys().makeMap());
   private final UUID id = UUID.randomUUID();
   private final BossBar bar;
+  private final AtomicInteger pendingChanges = new AtomicInteger();
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
 
   public static VelocityBossBarImplementation get(final BossBar bar) {
     return BossBarImplementation.get(bar, VelocityBossBarImplementation.class);
@@ -77,15 +95,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final Component oldName,
       final Component newName
   ) {
-    for (final ConnectedPlayer viewer : this.viewers) {
-      final Component translated = viewer.translateMessage(newName);
-      final BossBarPacket packet = BossBarPacket.createUpdateNamePacket(
-          this.id,
-          this.bar,
-          new ComponentHolder(viewer.getProtocolVersion(), translated)
-      );
-      viewer.getConnection().write(packet);
-    }
+    this.queueChange(CHANGED_NAME);
   }
 
   @Override
@@ -94,10 +104,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final float oldProgress,
       final float newProgress
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdateProgressPacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getConnection().write(packet);
-    }
+    this.queueChange(CHANGED_PROGRESS);
   }
 
   @Override
@@ -106,10 +113,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final BossBar.Color oldColor,
       final BossBar.Color newColor
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdateStylePacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getConnection().write(packet);
-    }
+    this.queueChange(CHANGED_STYLE);
   }
 
   @Override
@@ -118,10 +122,7 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final BossBar.Overlay oldOverlay,
       final BossBar.Overlay newOverlay
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdateStylePacket(this.id, this.bar);
-    for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getConnection().write(packet);
-    }
+    this.queueChange(CHANGED_STYLE);
   }
 
   @Override
@@ -130,9 +131,62 @@ public final class VelocityBossBarImplementation implements BossBar.Listener,
       final Set<BossBar.Flag> flagsAdded,
       final Set<BossBar.Flag> flagsRemoved
   ) {
-    final BossBarPacket packet = BossBarPacket.createUpdatePropertiesPacket(this.id, this.bar);
+    this.queueChange(CHANGED_PROPERTIES);
+  }
+
+  private void queueChange(final int change) {
+    final Iterator<ConnectedPlayer> viewers = this.viewers.iterator();
+    if (!viewers.hasNext()) {
+      // New viewers are sent the whole bar anyway
+      return;
+    }
+    this.pendingChanges.getAndAccumulate(change, (pending, added) -> pending | added);
+    if (this.flushScheduled.compareAndSet(false, true)) {
+      viewers.next().getConnection().eventLoop().execute(this::flushChanges);
+    }
+  }
+
+  private void flushChanges() {
+    this.flushScheduled.set(false);
+    final int changes = this.pendingChanges.getAndSet(0);
+    if (changes == 0) {
+      return;
+    }
+
+    // Only the name depends on the viewer, the other packets are the same for everyone
+    final List<BossBarPacket> packets = new ArrayList<>(3);
+    if ((changes & CHANGED_PROGRESS) != 0) {
+      packets.add(BossBarPacket.preEncoded(
+          BossBarPacket.createUpdateProgressPacket(this.id, this.bar)));
+    }
+    if ((changes & CHANGED_STYLE) != 0) {
+      packets.add(BossBarPacket.preEncoded(
+          BossBarPacket.createUpdateStylePacket(this.id, this.bar)));
+    }
+    if ((changes & CHANGED_PROPERTIES) != 0) {
+      packets.add(BossBarPacket.preEncoded(
+          BossBarPacket.createUpdatePropertiesPacket(this.id, this.bar)));
+    }
+    final BroadcastRenderCache name = (changes & CHANGED_NAME) != 0
+        ? new BroadcastRenderCache(this.bar.name()) : null;
+    // The render cache hands out the same holder to every viewer with the same locale and
+    // serialization format, so each of those groups shares a single name packet
+    final Map<ComponentHolder, BossBarPacket> namePackets = new IdentityHashMap<>();
+
     for (final ConnectedPlayer viewer : this.viewers) {
-      viewer.getConnection().write(packet);
+      final MinecraftConnection connection = viewer.getConnection();
+      if (name != null) {
+        final Locale locale = viewer.getEffectiveLocale() == null
+            ? Locale.getDefault() : viewer.getEffectiveLocale();
+        final ComponentHolder holder = name.serialize(locale, viewer.getProtocolVersion());
+        connection.delayedWrite(namePackets.computeIfAbsent(holder,
+            ignored -> BossBarPacket.preEncoded(
+                BossBarPacket.createUpdateNamePacket(this.id, this.bar, holder))));
+      }
+      for (final BossBarPacket packet : packets) {
+        connection.delayedWrite(packet);
+      }
+      connection.flush();
     }
   }
 }
@@ -17,6 +17,8 @@
 
 package com.velocitypowered.proxy.command;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.Preconditions;
 import com.mojang.brigadier.CommandDispatcher;
 import com.mojang.brigadier.StringReader;
@@ -27,29 +29,51 @@ import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import com.mojang.brigadier.tree.RootCommandNode;
 import com.velocitypowered.proxy.command.brigadier.VelocityArgumentCommandNode;
+import com.velocitypowered.proxy.protocol.packet.AvailableCommandsPacket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.locks.Lock;
-import org.checkerframework.checker.lock.qual.GuardedBy;
+import java.util.Set;
+import java.util.function.Supplier;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Copies the nodes of a {@link RootCommandNode} to a possibly non-empty destination
  * {@link RootCommandNode}, respecting the requirements satisfied by a given command source.
  *
+ * <p>Since requirements are arbitrary predicates, the injector cannot know in advance which
+ * nodes a source may use. Instead, it evaluates every requirement it would otherwise check while
+ * copying, and uses the results as a fingerprint to look up a previously filtered copy of the
+ * graph. Sources that satisfy the same requirements (which is the common case for players with
+ * the same permissions) therefore share the same copied nodes, and the graph is only copied once
+ * per distinct fingerprint. The cache is discarded whenever a new snapshot of the dispatcher is
+ * published. Graphs that are handed to plugins, which may modify them, are injected through
+ * {@link #injectModifiable(RootCommandNode, Object)} instead, which copies the nodes every time.
+ *
  * @param <S> the type of the source to inject the nodes for
  */
 public final class CommandGraphInjector<S> {
 
   private static final StringRange ALIAS_RANGE = StringRange.at(0);
   private static final StringReader ALIAS_READER = new StringReader("");
+  private static final int MAX_CACHED_FINGERPRINTS = 256;
 
-  private final @GuardedBy("lock") CommandDispatcher<S> dispatcher;
-  private final Lock lock;
+  private final Supplier<CommandDispatcher<S>> dispatcher;
+  private volatile @Nullable GraphIndex index;
 
-  CommandGraphInjector(final CommandDispatcher<S> dispatcher, final Lock lock) {
+  /**
+   * Creates a graph injector.
+   *
+   * @param dispatcher supplies the current snapshot of the dispatcher, whose graph must not be
+   *                   modified once published
+   */
+  CommandGraphInjector(final Supplier<CommandDispatcher<S>> dispatcher) {
     this.dispatcher = Preconditions.checkNotNull(dispatcher, "dispatcher");
-    this.lock = Preconditions.checkNotNull(lock, "lock");
   }
 
   // The term "source" is ambiguous here. We use "origin" when referring to
@@ -62,19 +86,121 @@ public final class CommandGraphInjector<S> {
    * <p>Prior to adding a literal with the same name as one previously contained
    * in the destination node, the old node is removed from the destination node.
    *
+   * <p>The added nodes may be shared with other destination nodes and must not be modified.
+   *
    * @param dest   the root node to add the permissible nodes to
    * @param source the command source to inject the nodes for
    */
   public void inject(final RootCommandNode<S> dest, final S source) {
-    lock.lock();
-    try {
-      final Map<CommandNode<S>, CommandNode<S>> done = new IdentityHashMap<>();
-      final RootCommandNode<S> origin = this.dispatcher.getRoot();
+    for (final LiteralCommandNode<S> alias : this.filteredAliases(source)) {
+      this.addAlias(alias, dest);
+    }
+  }
+
+  /**
+   * Adds the node from the root node of this injector to the given root node, respecting the
+   * requirements satisfied by the given source. Unlike {@link #inject(RootCommandNode, Object)},
+   * the added nodes are copied for this destination only, so they may be modified afterwards.
+   *
+   * @param dest   the root node to add the permissible nodes to
+   * @param source the command source to inject the nodes for
+   */
+  public void injectModifiable(final RootCommandNode<S> dest, final S source) {
+    final GraphIndex index = this.currentIndex();
+    for (final LiteralCommandNode<S> alias : index.build(index.evaluate(source), false)) {
+      this.addAlias(alias, dest);
+    }
+  }
+
+  /**
+   * Returns the copies of the alias nodes the given source may use, in the order they appear in
+   * the origin graph. The returned list is shared and must not be modified.
+   *
+   * @param source the command source to filter the nodes for
+   * @return the filtered alias nodes
+   */
+  List<LiteralCommandNode<S>> filteredAliases(final S source) {
+    final GraphIndex index = this.currentIndex();
+    final Fingerprint fingerprint = index.evaluate(source);
+    return index.filtered.get(fingerprint, key -> index.build(key, true));
+  }
+
+  private GraphIndex currentIndex() {
+    final CommandDispatcher<S> dispatcher = this.dispatcher.get();
+    GraphIndex index = this.index;
+    if (index == null || index.dispatcher != dispatcher) {
+      // Racing threads may build the same index, which is harmless.
+      index = new GraphIndex(dispatcher);
+      this.index = index;
+    }
+    return index;
+  }
+
+  private void addAlias(final LiteralCommandNode<S> node, final RootCommandNode<S> dest) {
+    dest.removeChildByName(node.getName());
+    dest.addChild(node);
+  }
+
+  /**
+   * The requirement results of a source. The first bits correspond to the alias nodes, in order,
+   * followed by the nodes identified in {@link GraphIndex#ids}. Since the traversal only depends on
+   * the requirement results, the set of usable nodes fully determines the filtered graph.
+   */
+  private record Fingerprint(BitSet usable) {
+  }
+
+  /**
+   * Assigns a stable identifier to every node the injector may check, and caches the filtered
+   * graph for each fingerprint.
+   */
+  private final class GraphIndex {
+
+    private final CommandDispatcher<S> dispatcher;
+    private final Map<CommandNode<S>, Integer> ids = new IdentityHashMap<>();
+    private final List<CommandNode<S>> aliases;
+    private final Cache<Fingerprint, List<LiteralCommandNode<S>>> filtered = Caffeine.newBuilder()
+        .maximumSize(MAX_CACHED_FINGERPRINTS)
+        .build();
+
+    GraphIndex(final CommandDispatcher<S> dispatcher) {
+      this.dispatcher = dispatcher;
+      this.aliases = List.copyOf(dispatcher.getRoot().getChildren());
+      // Alias nodes are checked differently from the nodes below them, so an alias that is also
+      // reachable from another command (e.g. through a redirect) gets a second identifier.
+      final Set<CommandNode<S>> expanded = Collections.newSetFromMap(new IdentityHashMap<>());
+      for (final CommandNode<S> node : aliases) {
+        if (VelocityCommands.getArgumentsNode((LiteralCommandNode<S>) node) == null) {
+          // This literal is associated to a BrigadierCommand, its children may be filtered.
+          for (final CommandNode<S> child : node.getChildren()) {
+            this.assignIds(child, expanded);
+          }
+        }
+      }
+    }
+
+    private void assignIds(final CommandNode<S> node, final Set<CommandNode<S>> expanded) {
+      ids.putIfAbsent(node, aliases.size() + ids.size());
+      if (!expanded.add(node)) {
+        return;
+      }
+      if (node.getRedirect() != null) {
+        this.assignIds(node.getRedirect(), expanded);
+      }
+      for (final CommandNode<S> child : node.getChildren()) {
+        this.assignIds(child, expanded);
+      }
+    }
+
+    Fingerprint evaluate(final S source) {
+      final int size = aliases.size() + ids.size();
+      final BitSet visited = new BitSet(size);
+      final BitSet usable = new BitSet(size);
       final CommandContextBuilder<S> rootContext =
-          new CommandContextBuilder<>(this.dispatcher, source, origin, 0);
+          new CommandContextBuilder<>(dispatcher, source, dispatcher.getRoot(), 0);
 
       // Filter alias nodes
-      for (final CommandNode<S> node : origin.getChildren()) {
+      for (int i = 0; i < aliases.size(); i++) {
+        final CommandNode<S> node = aliases.get(i);
         if (!node.canUse(source)) {
           continue;
         }
@@ -85,63 +211,115 @@ public final class CommandGraphInjector<S> {
           continue;
         }
 
+        usable.set(i);
+        if (VelocityCommands.getArgumentsNode((LiteralCommandNode<S>) node) == null) {
+          // This literal is associated to a BrigadierCommand, filter normally.
+          for (final CommandNode<S> child : node.getChildren()) {
+            this.evaluateNode(child, source, visited, usable);
+          }
+        }
+      }
+      return new Fingerprint(usable);
+    }
+
+    private void evaluateNode(final CommandNode<S> node, final S source, final BitSet visited,
+        final BitSet usable) {
+      final int id = ids.get(node);
+      if (visited.get(id)) {
+        return;
+      }
+      visited.set(id);
+      // We only check the non-context requirement when filtering alias nodes.
+      // Otherwise, we would need to manually craft context builder and reader instances,
+      // which is both incorrect and inefficient. The reason why we can do so for alias
+      // literals is due to the empty string being a valid and expected input by
+      // the context-aware requirement (when suggesting the literal name).
+      if (!node.canUse(source)) {
+        return;
+      }
+      usable.set(id);
+      if (node.getRedirect() != null) {
+        this.evaluateNode(node.getRedirect(), source, visited, usable);
+      }
+      for (final CommandNode<S> child : node.getChildren()) {
+        this.evaluateNode(child, source, visited, usable);
+      }
+    }
+
+    List<LiteralCommandNode<S>> build(final Fingerprint fingerprint, final boolean shared) {
+      final List<LiteralCommandNode<S>> result = new ArrayList<>();
+      final Map<CommandNode<S>, CommandNode<S>> done = new IdentityHashMap<>();
+      for (int i = 0; i < aliases.size(); i++) {
+        if (!fingerprint.usable().get(i)) {
+          continue;
+        }
+        final CommandNode<S> node = aliases.get(i);
         final LiteralCommandNode<S> asLiteral = (LiteralCommandNode<S>) node;
         final LiteralCommandNode<S> copy = asLiteral.createBuilder().build();
         final VelocityArgumentCommandNode<S, ?> argsNode =
             VelocityCommands.getArgumentsNode(asLiteral);
         if (argsNode == null) {
           // This literal is associated to a BrigadierCommand, filter normally.
-          this.copyChildren(node, copy, source, done);
+          this.copyChildren(node, copy, fingerprint, done);
         } else {
           // Copy all children nodes (arguments node and hints)
           for (final CommandNode<S> child : node.getChildren()) {
             copy.addChild(child);
           }
         }
-        this.addAlias(copy, dest);
+        result.add(copy);
+      }
+      if (!shared) {
+        return result;
       }
-    } finally {
-      lock.unlock();
-    }
-  }
 
-  private @Nullable CommandNode<S> filterNode(final CommandNode<S> node, final S source, final Map<CommandNode<S>, CommandNode<S>> done) {
-    if (done.containsKey(node)) {
-      return done.get(node);
-    }
-    // We only check the non-context requirement when filtering alias nodes.
-    // Otherwise, we would need to manually craft context builder and reader instances,
-    // which is both incorrect and inefficient. The reason why we can do so for alias
-    // literals is due to the empty string being a valid and expected input by
-    // the context-aware requirement (when suggesting the literal name).
-    if (!node.canUse(source)) {
-      return null;
-    }
-    final ArgumentBuilder<S, ?> builder = node.createBuilder();
-    if (node.getRedirect() != null) {
-      // Redirects to non-Brigadier commands are not supported. Luckily,
-      // we don't expose the root node to API users, so they can't access
-      // nodes associated to other commands.
-      final CommandNode<S> target = this.filterNode(node.getRedirect(), source, done);
-      builder.forward(target, builder.getRedirectModifier(), builder.isFork());
+      // The filtered nodes are shared by every source with the same fingerprint, so let the
+      // packet encoder cache their serialized form as well.
+      final Set<CommandNode<S>> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+      final Deque<CommandNode<S>> queue = new ArrayDeque<>(result);
+      while (!queue.isEmpty()) {
+        final CommandNode<S> node = queue.poll();
+        if (seen.add(node)) {
+          AvailableCommandsPacket.cacheSerializedNode(node);
+          queue.addAll(node.getChildren());
+          if (node.getRedirect() != null) {
+            queue.add(node.getRedirect());
+          }
+        }
+      }
+      return List.copyOf(result);
     }
-    final CommandNode<S> result = builder.build();
-    done.put(node, result);
-    this.copyChildren(node, result, source, done);
-    return result;
-  }
 
-  private void copyChildren(final CommandNode<S> parent, final CommandNode<S> dest, final S source, final Map<CommandNode<S>, CommandNode<S>> done) {
-    for (final CommandNode<S> child : parent.getChildren()) {
-      final CommandNode<S> filtered = this.filterNode(child, source, done);
-      if (filtered != null) {
-        dest.addChild(filtered);
+    private @Nullable CommandNode<S> filterNode(final CommandNode<S> node,
+        final Fingerprint fingerprint, final Map<CommandNode<S>, CommandNode<S>> done) {
+      if (done.containsKey(node)) {
+        return done.get(node);
+      }
+      if (!fingerprint.usable().get(ids.get(node))) {
+        return null;
+      }
+      final ArgumentBuilder<S, ?> builder = node.createBuilder();
+      if (node.getRedirect() != null) {
+        // Redirects to non-Brigadier commands are not supported. Luckily,
+        // we don't expose the root node to API users, so they can't access
+        // nodes associated to other commands.
+        final CommandNode<S> target = this.filterNode(node.getRedirect(), fingerprint, done);
+        builder.forward(target, builder.getRedirectModifier(), builder.isFork());
       }
+      final CommandNode<S> result = builder.build();
+      done.put(node, result);
+      this.copyChildren(node, result, fingerprint, done);
+      return result;
     }
-  }
 
-  private void addAlias(final LiteralCommandNode<S> node, final RootCommandNode<S> dest) {
-    dest.removeChildByName(node.getName());
-    dest.addChild(node);
+    private void copyChildren(final CommandNode<S> parent, final CommandNode<S> dest,
+        final Fingerprint fingerprint, final Map<CommandNode<S>, CommandNode<S>> done) {
+      for (final CommandNode<S> child : parent.getChildren()) {
+        final CommandNode<S> filtered = this.filterNode(child, fingerprint, done);
+        if (filtered != null) {
+          dest.addChild(filtered);
+        }
+      }
+    }
   }
 }
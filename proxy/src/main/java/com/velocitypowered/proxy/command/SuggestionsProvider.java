@@ -41,10 +41,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.locks.Lock;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.checkerframework.checker.lock.qual.GuardedBy;
 
 /**
  * Provides suggestions for a given command input.
@@ -61,13 +60,17 @@ final class SuggestionsProvider<S> {
 
   private static final StringRange ALIAS_SUGGESTION_RANGE = StringRange.at(0);
 
-  private final @GuardedBy("lock") CommandDispatcher<S> dispatcher;
-  private final Lock lock;
+  private final Supplier<CommandDispatcher<S>> dispatcher;
   private boolean announceProxyCommands;
 
-  SuggestionsProvider(final CommandDispatcher<S> dispatcher, final Lock lock) {
+  /**
+   * Creates a suggestions provider.
+   *
+   * @param dispatcher supplies the current snapshot of the dispatcher. Each request uses a single
+   *                   snapshot throughout, so the graph it walks must not be modified.
+   */
+  SuggestionsProvider(final Supplier<CommandDispatcher<S>> dispatcher) {
     this.dispatcher = Preconditions.checkNotNull(dispatcher, "dispatcher");
-    this.lock = Preconditions.checkNotNull(lock, "lock");
     this.announceProxyCommands = true;
   }
 
@@ -79,8 +82,9 @@ final class SuggestionsProvider<S> {
    * @return a future that completes with the suggestions
    */
   public CompletableFuture<Suggestions> provideSuggestions(final String input, final S source) {
+    final CommandDispatcher<S> dispatcher = this.dispatcher.get();
     final CommandContextBuilder<S> context = new CommandContextBuilder<>(
-        this.dispatcher, source, this.dispatcher.getRoot(), 0);
+        dispatcher, source, dispatcher.getRoot(), 0);
     return this.provideSuggestions(new StringReader(input), context);
   }
 
@@ -93,27 +97,22 @@ final class SuggestionsProvider<S> {
    */
   private CompletableFuture<Suggestions> provideSuggestions(
       final StringReader reader, final CommandContextBuilder<S> context) {
-    lock.lock();
-    try {
-      final StringRange aliasRange = this.consumeAlias(reader);
-      final String alias = aliasRange.get(reader).toLowerCase(Locale.ENGLISH);
-      final LiteralCommandNode<S> literal =
-          (LiteralCommandNode<S>) context.getRootNode().getChild(alias);
+    final StringRange aliasRange = this.consumeAlias(reader);
+    final String alias = aliasRange.get(reader).toLowerCase(Locale.ENGLISH);
+    final LiteralCommandNode<S> literal =
+        (LiteralCommandNode<S>) context.getRootNode().getChild(alias);
 
-      final boolean hasArguments = reader.canRead();
-      if (hasArguments) {
-        if (literal == null) {
-          // Input has arguments for non-registered alias
-          return Suggestions.empty();
-        }
-        context.withNode(literal, aliasRange);
-        reader.skip(); // separator
-        return this.provideArgumentsSuggestions(literal, reader, context);
-      } else {
-        return this.provideAliasSuggestions(reader, context);
+    final boolean hasArguments = reader.canRead();
+    if (hasArguments) {
+      if (literal == null) {
+        // Input has arguments for non-registered alias
+        return Suggestions.empty();
       }
-    } finally {
-      lock.unlock();
+      context.withNode(literal, aliasRange);
+      reader.skip(); // separator
+      return this.provideArgumentsSuggestions(literal, reader, context);
+    } else {
+      return this.provideAliasSuggestions(reader, context);
     }
   }
 
@@ -198,9 +197,10 @@ final class SuggestionsProvider<S> {
     if (argsNode == null) {
       // This is a BrigadierCommand, fallback to regular suggestions
       reader.setCursor(0);
-      final ParseResults<S> parse = this.dispatcher.parse(reader, source);
+      final CommandDispatcher<S> dispatcher = contextSoFar.getDispatcher();
+      final ParseResults<S> parse = dispatcher.parse(reader, source);
       try {
-        return this.dispatcher.getCompletionSuggestions(parse);
+        return dispatcher.getCompletionSuggestions(parse);
       } catch (final Throwable e) {
         // Ugly, ugly swallowing of everything Throwable, because plugins are naughty.
         LOGGER.error("Command node cannot provide suggestions for " + fullInput, e);
@@ -281,7 +281,7 @@ final class SuggestionsProvider<S> {
       final CommandContextBuilder<S> context) {
     final ParseResults<S> parse = this.parseHints(alias, reader, context);
     try {
-      return this.dispatcher.getCompletionSuggestions(parse);
+      return context.getDispatcher().getCompletionSuggestions(parse);
     } catch (final Throwable e) {
       // Yet again, plugins are naughty.
       LOGGER.error("Hint node cannot provide suggestions", e);
@@ -55,22 +55,28 @@ import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.checkerframework.checker.lock.qual.GuardedBy;
+import org.checkerframework.checker.lock.qual.Holding;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jetbrains.annotations.VisibleForTesting;
 
 /**
  * Implements Velocity's command handler.
+ *
+ * <p>Commands are registered into a root node guarded by {@code lock}. After every change, a
+ * shallow copy of that root is published as an immutable snapshot, which is used for parsing,
+ * suggestions and injection without any locking.
  */
 public class VelocityCommandManager implements CommandManager {
 
-  private final @GuardedBy("lock") CommandDispatcher<CommandSource> dispatcher;
-  private final ReadWriteLock lock;
+  private final @GuardedBy("lock") RootCommandNode<CommandSource> root;
+  private final Lock lock;
+  private volatile CommandDispatcher<CommandSource> dispatcher;
 
   private final VelocityEventManager eventManager;
   private final List<CommandRegistrar<?>> registrars;
@@ -87,19 +93,32 @@ public class VelocityCommandManager implements CommandManager {
   public VelocityCommandManager(final VelocityEventManager eventManager,
       PluginManager pluginManager) {
     this.pluginManager = pluginManager;
-    this.lock = new ReentrantReadWriteLock();
+    this.lock = new ReentrantLock();
+    this.root = new RootCommandNode<>();
     this.dispatcher = new CommandDispatcher<>();
     this.eventManager = Preconditions.checkNotNull(eventManager);
-    final RootCommandNode<CommandSource> root = this.dispatcher.getRoot();
     this.registrars = ImmutableList.of(
-        new BrigadierCommandRegistrar(root, this.lock.writeLock()),
-        new SimpleCommandRegistrar(root, this.lock.writeLock()),
-        new RawCommandRegistrar(root, this.lock.writeLock()));
-    this.suggestionsProvider = new SuggestionsProvider<>(this.dispatcher, this.lock.readLock());
-    this.injector = new CommandGraphInjector<>(this.dispatcher, this.lock.readLock());
+        new BrigadierCommandRegistrar(this.root, this.lock),
+        new SimpleCommandRegistrar(this.root, this.lock),
+        new RawCommandRegistrar(this.root, this.lock));
+    this.suggestionsProvider = new SuggestionsProvider<>(() -> this.dispatcher);
+    this.injector = new CommandGraphInjector<>(() -> this.dispatcher);
     this.commandMetas = new ConcurrentHashMap<>();
   }
 
+  /**
+   * Publishes a new snapshot of the registered commands. The registered nodes themselves are
+   * shared with the snapshot, only the root node is copied.
+   */
+  @Holding("lock")
+  private void publishSnapshot() {
+    final RootCommandNode<CommandSource> snapshot = new RootCommandNode<>();
+    for (final CommandNode<CommandSource> child : this.root.getChildren()) {
+      snapshot.addChild(child);
+    }
+    this.dispatcher = new CommandDispatcher<>(snapshot);
+  }
+
   public void setAnnounceProxyCommands(boolean announceProxyCommands) {
     this.suggestionsProvider.setAnnounceProxyCommands(announceProxyCommands);
   }
@@ -158,9 +177,15 @@ public class VelocityCommandManager implements CommandManager {
   private <T extends Command> void internalRegister(final CommandRegistrar<T> registrar,
       final Command command, final CommandMeta meta) {
     final Class<T> superInterface = registrar.registrableSuperInterface();
-    registrar.register(meta, superInterface.cast(command));
-    for (String alias : meta.getAliases()) {
-      commandMetas.put(alias, meta);
+    lock.lock();
+    try {
+      registrar.register(meta, superInterface.cast(command));
+      for (String alias : meta.getAliases()) {
+        commandMetas.put(alias, meta);
+      }
+      publishSnapshot();
+    } finally {
+      lock.unlock();
     }
   }
 
@@ -178,32 +203,34 @@ public class VelocityCommandManager implements CommandManager {
   @Override
   public void unregister(final String alias) {
     Preconditions.checkNotNull(alias, "alias");
-    lock.writeLock().lock();
+    lock.lock();
     try {
       // The literals of secondary aliases will preserve the children of
       // the removed literal in the graph.
-      dispatcher.getRoot().removeChildByName(alias.toLowerCase(Locale.ENGLISH));
+      root.removeChildByName(alias.toLowerCase(Locale.ENGLISH));
       commandMetas.remove(alias);
+      publishSnapshot();
     } finally {
-      lock.writeLock().unlock();
+      lock.unlock();
     }
   }
 
   @Override
   public void unregister(CommandMeta meta) {
     Preconditions.checkNotNull(meta, "meta");
-    lock.writeLock().lock();
+    lock.lock();
     try {
       // The literals of secondary aliases will preserve the children of
       // the removed literal in the graph.
       for (String alias : meta.getAliases()) {
         final String lowercased = alias.toLowerCase(Locale.ENGLISH);
         if (commandMetas.remove(lowercased, meta)) {
-          dispatcher.getRoot().removeChildByName(lowercased);
+          root.removeChildByName(lowercased);
         }
       }
+      publishSnapshot();
     } finally {
-      lock.writeLock().unlock();
+      lock.unlock();
     }
   }
 
@@ -340,25 +367,15 @@ public class VelocityCommandManager implements CommandManager {
    */
   private ParseResults<CommandSource> parse(final String input, final CommandSource source) {
     final String normalizedInput = VelocityCommands.normalizeInput(input, true);
-    lock.readLock().lock();
-    try {
-      return dispatcher.parse(normalizedInput, source);
-    } finally {
-      lock.readLock().unlock();
-    }
+    return dispatcher.parse(normalizedInput, source);
   }
 
   @Override
   public Collection<String> getAliases() {
-    lock.readLock().lock();
-    try {
-      // A RootCommandNode may only contain LiteralCommandNode children instances
-      return dispatcher.getRoot().getChildren().stream()
-          .map(CommandNode::getName)
-          .collect(ImmutableList.toImmutableList());
-    } finally {
-      lock.readLock().unlock();
-    }
+    // A RootCommandNode may only contain LiteralCommandNode children instances
+    return dispatcher.getRoot().getChildren().stream()
+        .map(CommandNode::getName)
+        .collect(ImmutableList.toImmutableList());
   }
 
   @Override
@@ -378,7 +395,7 @@ public class VelocityCommandManager implements CommandManager {
     return dispatcher.getRoot().getChild(alias.toLowerCase(Locale.ENGLISH));
   }
 
-  @VisibleForTesting // this constitutes unsafe publication
+  @VisibleForTesting
   RootCommandNode<CommandSource> getRoot() {
     return dispatcher.getRoot();
   }
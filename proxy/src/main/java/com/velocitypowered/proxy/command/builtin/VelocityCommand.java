@@ -27,6 +27,7 @@ import com.mojang.brigadier.tree.CommandNode;
 import com.mojang.brigadier.tree.LiteralCommandNode;
 import com.velocitypowered.api.command.BrigadierCommand;
 import com.velocitypowered.api.command.CommandSource;
+import com.velocitypowered.api.event.EventProfiler.HandlerStatistics;
 import com.velocitypowered.api.permission.Tristate;
 import com.velocitypowered.api.plugin.PluginContainer;
 import com.velocitypowered.api.plugin.PluginDescription;
@@ -34,6 +35,7 @@ import com.velocitypowered.api.proxy.ProxyServer;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
 import com.velocitypowered.api.util.ProxyVersion;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.event.EventHandlerProfiler;
 import com.velocitypowered.proxy.util.InformationUtils;
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -50,6 +52,7 @@ import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -90,6 +93,38 @@ public final class VelocityCommand {
         .requires(source -> source.getPermissionValue("velocity.command.plugins") == Tristate.TRUE)
         .executes(new Plugins(server))
         .build();
+    final Predicate<CommandSource> eventsRequirement =
+        source -> source.getPermissionValue("velocity.command.events") == Tristate.TRUE;
+    final EventHandlerProfiler profiler = server.getEventManager().getProfiler();
+    final LiteralCommandNode<CommandSource> events = BrigadierCommand
+        .literalArgumentBuilder("events")
+        .requires(eventsRequirement)
+        .executes(new Events(profiler))
+        .then(BrigadierCommand.literalArgumentBuilder("start")
+            .requires(eventsRequirement)
+            .executes(ctx -> {
+              profiler.setEnabled(true);
+              ctx.getSource().sendMessage(Component.text(
+                  "Event handler profiling started.", NamedTextColor.GREEN));
+              return Command.SINGLE_SUCCESS;
+            }))
+        .then(BrigadierCommand.literalArgumentBuilder("stop")
+            .requires(eventsRequirement)
+            .executes(ctx -> {
+              profiler.setEnabled(false);
+              ctx.getSource().sendMessage(Component.text(
+                  "Event handler profiling stopped.", NamedTextColor.GREEN));
+              return Command.SINGLE_SUCCESS;
+            }))
+        .then(BrigadierCommand.literalArgumentBuilder("reset")
+            .requires(eventsRequirement)
+            .executes(ctx -> {
+              profiler.reset();
+              ctx.getSource().sendMessage(Component.text(
+                  "Event handler statistics have been reset.", NamedTextColor.GREEN));
+              return Command.SINGLE_SUCCESS;
+            }))
+        .build();
     final LiteralCommandNode<CommandSource> reload = BrigadierCommand
         .literalArgumentBuilder("reload")
         .requires(source -> source.getPermissionValue("velocity.command.reload") == Tristate.TRUE)
@@ -97,7 +132,7 @@ public final class VelocityCommand {
         .build();
 
     final List<LiteralCommandNode<CommandSource>> commands = List
-            .of(dump, heap, info, plugins, reload);
+            .of(dump, events, heap, info, plugins, reload);
     return new BrigadierCommand(
       commands.stream()
         .reduce(
@@ -146,6 +181,59 @@ public final class VelocityCommand {
     }
   }
 
+  private record Events(EventHandlerProfiler profiler) implements Command<CommandSource> {
+
+    private static final int MAX_ENTRIES = 15;
+
+    @Override
+    public int run(final CommandContext<CommandSource> context) {
+      final CommandSource source = context.getSource();
+      final List<HandlerStatistics> snapshots = profiler.snapshot();
+      if (snapshots.isEmpty()) {
+        source.sendMessage(Component.text(profiler.isEnabled()
+                ? "No event handlers have been invoked since profiling was started."
+                : "Event handler profiling is not running. Use /velocity events start.",
+            NamedTextColor.YELLOW));
+        return Command.SINGLE_SUCCESS;
+      }
+
+      final TextComponent.Builder output = Component.text()
+          .content("Slowest event handlers by total time")
+          .color(NamedTextColor.YELLOW);
+      if (profiler.isEnabled()) {
+        output.append(Component.text(" (last "
+            + profiler.getWindow().toSeconds() + "s)"));
+      } else {
+        output.append(Component.text(" (profiling stopped)"));
+      }
+      for (int i = 0; i < Math.min(MAX_ENTRIES, snapshots.size()); i++) {
+        final HandlerStatistics snapshot = snapshots.get(i);
+        output.append(Component.newline())
+            .append(Component.text(snapshot.plugin().getDescription().getId() + " ",
+                NamedTextColor.GRAY))
+            .append(Component.text(snapshot.eventType().getSimpleName() + " ",
+                NamedTextColor.WHITE))
+            .append(Component.text(snapshot.invocations() + " calls, p50 "
+                    + formatNanos(snapshot.p50Nanos()) + ", p99 "
+                    + formatNanos(snapshot.p99Nanos()) + ", total "
+                    + formatNanos(snapshot.totalNanos()) + ", suspended "
+                    + formatNanos(snapshot.suspendedNanos()) + ", errors "
+                    + snapshot.failures(),
+                snapshot.failures() > 0 ? NamedTextColor.RED : NamedTextColor.GREEN)
+                .hoverEvent(HoverEvent.showText(Component.text(snapshot.handler()))));
+      }
+      source.sendMessage(output.build());
+      return Command.SINGLE_SUCCESS;
+    }
+
+    private static String formatNanos(final long nanos) {
+      if (nanos < 1_000_000) {
+        return String.format(Locale.ROOT, "%.1fus", nanos / 1_000.0);
+      }
+      return String.format(Locale.ROOT, "%.2fms", nanos / 1_000_000.0);
+    }
+  }
+
   private record Info(ProxyServer server) implements Command<CommandSource> {
 
     private static final TextColor VELOCITY_COLOR = TextColor.color(0x09add3);
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.config;
+
+/**
+ * Strategies for picking a server out of a server group.
+ */
+public enum BalancingStrategy {
+  /**
+   * Tries the servers in the order they are listed, like a regular server list.
+   */
+  FIRST_AVAILABLE,
+  /**
+   * Picks the server with the fewest players relative to its weight.
+   */
+  LEAST_CONNECTIONS,
+  /**
+   * Cycles through the servers, picking each in proportion to its weight.
+   */
+  ROUND_ROBIN,
+  /**
+   * Picks two servers at random and uses the one with fewer players relative to its weight. This
+   * spreads out bursts of joins better than {@link #LEAST_CONNECTIONS}, as player counts only
+   * update once a player has actually connected.
+   */
+  POWER_OF_TWO_CHOICES,
+  /**
+   * Picks the server that the proxy can establish connections to the fastest.
+   */
+  LOWEST_LATENCY
+}
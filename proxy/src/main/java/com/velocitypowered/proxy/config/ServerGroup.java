@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.config;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A group of interchangeable servers that players are balanced across. A group can be used
+ * wherever a server name is accepted in the {@code try} list or a forced host.
+ */
+public final class ServerGroup {
+
+  private final String name;
+  private final List<String> servers;
+  private final BalancingStrategy strategy;
+  private final Map<String, Integer> weights;
+
+  /**
+   * Creates a new server group.
+   *
+   * @param name the name of the group
+   * @param servers the servers in the group
+   * @param strategy how to pick a server from the group
+   * @param weights the weights of servers that don't have the default weight of 1
+   */
+  public ServerGroup(String name, List<String> servers, BalancingStrategy strategy,
+      Map<String, Integer> weights) {
+    this.name = name;
+    this.servers = ImmutableList.copyOf(servers);
+    this.strategy = strategy;
+    this.weights = ImmutableMap.copyOf(weights);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public List<String> getServers() {
+    return servers;
+  }
+
+  public BalancingStrategy getStrategy() {
+    return strategy;
+  }
+
+  public int getWeight(String server) {
+    return weights.getOrDefault(server, 1);
+  }
+
+  Map<String, Integer> getWeights() {
+    return weights;
+  }
+
+  @Override
+  public String toString() {
+    return "ServerGroup{"
+        + "name='" + name + '\''
+        + ", servers=" + servers
+        + ", strategy=" + strategy
+        + ", weights=" + weights
+        + '}';
+  }
+}
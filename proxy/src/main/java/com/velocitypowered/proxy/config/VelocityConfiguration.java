@@ -31,6 +31,7 @@ import com.velocitypowered.proxy.config.migration.ForwardingMigration;
 import com.velocitypowered.proxy.config.migration.KeyAuthenticationMigration;
 import com.velocitypowered.proxy.config.migration.MotdMigration;
 import com.velocitypowered.proxy.config.migration.TransferIntegrationMigration;
+import com.velocitypowered.proxy.network.TransportType;
 import com.velocitypowered.proxy.util.AddressUtil;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.io.IOException;
@@ -80,10 +81,13 @@ public class VelocityConfiguration implements ProxyConfig {
   private PingPassthroughMode pingPassthrough = PingPassthroughMode.DISABLED;
   private final Servers servers;
   private final ForcedHosts forcedHosts;
+  private final ServerGroups serverGroups;
   @Expose
   private final Advanced advanced;
   @Expose
   private final Query query;
+  @Expose
+  private final Network network;
   private final Metrics metrics;
   @Expose
   private boolean enablePlayerAddressLogging = true;
@@ -96,8 +100,10 @@ public class VelocityConfiguration implements ProxyConfig {
       Query query, Metrics metrics) {
     this.servers = servers;
     this.forcedHosts = forcedHosts;
+    this.serverGroups = new ServerGroups();
     this.advanced = advanced;
     this.query = query;
+    this.network = new Network();
     this.metrics = metrics;
   }
 
@@ -106,7 +112,8 @@ public class VelocityConfiguration implements ProxyConfig {
       PlayerInfoForwarding playerInfoForwardingMode, byte[] forwardingSecret,
       boolean onlineModeKickExistingPlayers, PingPassthroughMode pingPassthrough,
       boolean enablePlayerAddressLogging, Servers servers, ForcedHosts forcedHosts,
-      Advanced advanced, Query query, Metrics metrics, boolean forceKeyAuthentication) {
+      ServerGroups serverGroups, Advanced advanced, Query query, Network network, Metrics metrics,
+      boolean forceKeyAuthentication) {
     this.bind = bind;
     this.motd = motd;
     this.showMaxPlayers = showMaxPlayers;
@@ -120,8 +127,10 @@ public class VelocityConfiguration implements ProxyConfig {
     this.enablePlayerAddressLogging = enablePlayerAddressLogging;
     this.servers = servers;
     this.forcedHosts = forcedHosts;
+    this.serverGroups = serverGroups;
     this.advanced = advanced;
     this.query = query;
+    this.network = network;
     this.metrics = metrics;
     this.forceKeyAuthentication = forceKeyAuthentication;
   }
@@ -180,8 +189,34 @@ public class VelocityConfiguration implements ProxyConfig {
       }
     }
 
+    for (ServerGroup group : serverGroups.getServerGroups().values()) {
+      if (servers.getServers().containsKey(group.getName())) {
+        logger.error("Server group '{}' has the same name as a server", group.getName());
+        valid = false;
+      }
+      if (group.getServers().isEmpty()) {
+        logger.error("Server group '{}' does not contain any servers", group.getName());
+        valid = false;
+      }
+      for (String server : group.getServers()) {
+        if (!servers.getServers().containsKey(server)) {
+          logger.error("Server '{}' in server group '{}' does not exist", server,
+              group.getName());
+          valid = false;
+        }
+      }
+      for (Map.Entry<String, Integer> weight : group.getWeights().entrySet()) {
+        if (weight.getValue() <= 0) {
+          logger.error("Server '{}' in server group '{}' must have a positive weight",
+              weight.getKey(), group.getName());
+          valid = false;
+        }
+      }
+    }
+
     for (String s : servers.getAttemptConnectionOrder()) {
-      if (!servers.getServers().containsKey(s)) {
+      if (!servers.getServers().containsKey(s)
+          && !serverGroups.getServerGroups().containsKey(s)) {
         logger.error("Fallback server " + s + " is not registered in your configuration!");
         valid = false;
       }
@@ -195,7 +230,8 @@ public class VelocityConfiguration implements ProxyConfig {
       }
 
       for (String server : entry.getValue()) {
-        if (!servers.getServers().containsKey(server)) {
+        if (!servers.getServers().containsKey(server)
+            && !serverGroups.getServerGroups().containsKey(server)) {
           logger.error("Server '{}' for forced host '{}' does not exist", server, entry.getKey());
           valid = false;
         }
@@ -230,11 +266,95 @@ public class VelocityConfiguration implements ProxyConfig {
       valid = false;
     }
 
+    if (advanced.ratelimitIpv4Prefix < 0 || advanced.ratelimitIpv4Prefix > 32) {
+      logger.error("Invalid ratelimit IPv4 prefix /{}, must be between 0 and 32",
+          advanced.ratelimitIpv4Prefix);
+      valid = false;
+    }
+
+    if (advanced.ratelimitIpv6Prefix < 0 || advanced.ratelimitIpv6Prefix > 128) {
+      logger.error("Invalid ratelimit IPv6 prefix /{}, must be between 0 and 128",
+          advanced.ratelimitIpv6Prefix);
+      valid = false;
+    }
+
+    if (advanced.healthCheckInterval > 0) {
+      if (advanced.healthCheckTimeout <= 0) {
+        logger.error("Invalid health check timeout {}ms", advanced.healthCheckTimeout);
+        valid = false;
+      }
+      if (advanced.healthCheckFailureThreshold < 1 || advanced.healthCheckRecoveryThreshold < 1) {
+        logger.error("Health check thresholds must be at least 1");
+        valid = false;
+      }
+    }
+
+    if (advanced.backendConnectionPoolSize > 0 && advanced.backendConnectionPoolMaxIdle <= 0) {
+      logger.error("Invalid backend connection pool max idle time {}ms",
+          advanced.backendConnectionPoolMaxIdle);
+      valid = false;
+    }
+
+    valid &= validateNetwork();
+
     loadFavicon();
 
     return valid;
   }
 
+  private boolean validateNetwork() {
+    boolean valid = true;
+    TransportType transport = null;
+    try {
+      transport = TransportType.fromName(network.transport);
+    } catch (IllegalArgumentException e) {
+      logger.error("Invalid transport: {}", e.getMessage());
+      valid = false;
+    }
+
+    if (network.bossThreads < 0 || network.workerThreads < 0) {
+      logger.error("Thread counts must not be negative");
+      valid = false;
+    }
+    if (network.acceptThreads < 1) {
+      logger.error("There must be at least one accept thread");
+      valid = false;
+    } else if (network.acceptThreads > 1) {
+      if (transport != null && !transport.supportsReusePort()) {
+        logger.error("Multiple accept threads require the epoll or io_uring transport, but {} is "
+            + "in use", transport);
+        valid = false;
+      }
+      if (network.bossThreads > 0 && network.bossThreads < network.acceptThreads) {
+        logger.error("There must be at least as many boss threads as accept threads");
+        valid = false;
+      }
+    }
+    if (network.busyPoll < 0 || network.tcpUserTimeout < 0 || network.sendBufferSize < 0
+        || network.receiveBufferSize < 0) {
+      logger.error("Socket options must not be negative");
+      valid = false;
+    }
+    if (!network.epollMode.equalsIgnoreCase("edge")
+        && !network.epollMode.equalsIgnoreCase("level")) {
+      logger.error("Invalid epoll mode {}, must be edge or level", network.epollMode);
+      valid = false;
+    }
+
+    if (transport != null && transport != TransportType.EPOLL
+        && (network.busyPoll > 0 || isEpollLevelTriggered())) {
+      logger.warn("busy-poll and epoll-mode only apply to the epoll transport, and will be "
+          + "ignored by {}", transport);
+    }
+    if (transport != null && transport != TransportType.EPOLL
+        && transport != TransportType.IO_URING
+        && (network.tcpQuickAck || network.tcpUserTimeout > 0)) {
+      logger.warn("tcp-quickack and tcp-user-timeout only apply to the epoll and io_uring "
+          + "transports, and will be ignored by {}", transport);
+    }
+    return valid;
+  }
+
   private void loadFavicon() {
     Path faviconPath = Path.of("server-icon.png");
     if (Files.exists(faviconPath)) {
@@ -250,6 +370,46 @@ public class VelocityConfiguration implements ProxyConfig {
     return AddressUtil.parseAndResolveAddress(bind);
   }
 
+  public String getTransport() {
+    return network.transport;
+  }
+
+  public int getBossThreads() {
+    return network.bossThreads;
+  }
+
+  public int getWorkerThreads() {
+    return network.workerThreads;
+  }
+
+  public int getAcceptThreads() {
+    return network.acceptThreads;
+  }
+
+  public boolean isTcpQuickAck() {
+    return network.tcpQuickAck;
+  }
+
+  public int getBusyPoll() {
+    return network.busyPoll;
+  }
+
+  public int getTcpUserTimeout() {
+    return network.tcpUserTimeout;
+  }
+
+  public boolean isEpollLevelTriggered() {
+    return network.epollMode.equalsIgnoreCase("level");
+  }
+
+  public int getSendBufferSize() {
+    return network.sendBufferSize;
+  }
+
+  public int getReceiveBufferSize() {
+    return network.receiveBufferSize;
+  }
+
   @Override
   public boolean isQueryEnabled() {
     return query.isQueryEnabled();
@@ -316,6 +476,16 @@ public class VelocityConfiguration implements ProxyConfig {
     return forcedHosts.getForcedHosts();
   }
 
+  /**
+   * Returns the configured server groups, which can be used in place of a server in the
+   * {@code try} list and forced hosts.
+   *
+   * @return the server groups by name
+   */
+  public Map<String, ServerGroup> getServerGroups() {
+    return serverGroups.getServerGroups();
+  }
+
   @Override
   public int getCompressionThreshold() {
     return advanced.getCompressionThreshold();
@@ -403,6 +573,66 @@ public class VelocityConfiguration implements ProxyConfig {
     return this.advanced.isAcceptTransfers();
   }
 
+  public int getPingPassthroughRefreshInterval() {
+    return advanced.getPingPassthroughRefreshInterval();
+  }
+
+  public int getStatusResponseCacheGranularity() {
+    return advanced.getStatusResponseCacheGranularity();
+  }
+
+  public int getAcceptRatelimit() {
+    return advanced.getAcceptRatelimit();
+  }
+
+  public int getStatusRatelimit() {
+    return advanced.getStatusRatelimit();
+  }
+
+  public int getQueryRatelimit() {
+    return advanced.getQueryRatelimit();
+  }
+
+  public int getRatelimitIpv4Prefix() {
+    return advanced.getRatelimitIpv4Prefix();
+  }
+
+  public int getRatelimitIpv6Prefix() {
+    return advanced.getRatelimitIpv6Prefix();
+  }
+
+  public int getHealthCheckInterval() {
+    return advanced.getHealthCheckInterval();
+  }
+
+  public HealthCheckType getHealthCheckType() {
+    return advanced.getHealthCheckType();
+  }
+
+  public int getHealthCheckTimeout() {
+    return advanced.getHealthCheckTimeout();
+  }
+
+  public int getHealthCheckFailureThreshold() {
+    return advanced.getHealthCheckFailureThreshold();
+  }
+
+  public int getHealthCheckRecoveryThreshold() {
+    return advanced.getHealthCheckRecoveryThreshold();
+  }
+
+  public int getBackendConnectionPoolSize() {
+    return advanced.getBackendConnectionPoolSize();
+  }
+
+  public int getBackendConnectionPoolMaxIdle() {
+    return advanced.getBackendConnectionPoolMaxIdle();
+  }
+
+  public int getInitialConnectHedgeDelay() {
+    return advanced.getInitialConnectHedgeDelay();
+  }
+
   public boolean isForceKeyAuthentication() {
     return forceKeyAuthentication;
   }
@@ -419,8 +649,10 @@ public class VelocityConfiguration implements ProxyConfig {
         .add("announceForge", announceForge)
         .add("servers", servers)
         .add("forcedHosts", forcedHosts)
+        .add("serverGroups", serverGroups)
         .add("advanced", advanced)
         .add("query", query)
+        .add("network", network)
         .add("favicon", favicon)
         .add("enablePlayerAddressLogging", enablePlayerAddressLogging)
         .add("forceKeyAuthentication", forceKeyAuthentication)
@@ -495,8 +727,10 @@ public class VelocityConfiguration implements ProxyConfig {
       // Read the rest of the config
       final CommentedConfig serversConfig = config.get("servers");
       final CommentedConfig forcedHostsConfig = config.get("forced-hosts");
+      final CommentedConfig serverGroupsConfig = config.get("server-groups");
       final CommentedConfig advancedConfig = config.get("advanced");
       final CommentedConfig queryConfig = config.get("query");
+      final CommentedConfig networkConfig = config.get("network");
       final CommentedConfig metricsConfig = config.get("metrics");
       final PlayerInfoForwarding forwardingMode = config.getEnumOrElse(
               "player-info-forwarding-mode", PlayerInfoForwarding.NONE);
@@ -536,8 +770,10 @@ public class VelocityConfiguration implements ProxyConfig {
               enablePlayerAddressLogging,
               new Servers(serversConfig),
               new ForcedHosts(forcedHostsConfig),
+              new ServerGroups(serverGroupsConfig),
               new Advanced(advancedConfig),
               new Query(queryConfig),
+              new Network(networkConfig),
               new Metrics(metricsConfig),
               forceKeyAuthentication
       );
@@ -686,6 +922,50 @@ public class VelocityConfiguration implements ProxyConfig {
     }
   }
 
+  private static class ServerGroups {
+
+    private Map<String, ServerGroup> serverGroups = ImmutableMap.of();
+
+    private ServerGroups() {
+    }
+
+    private ServerGroups(CommentedConfig config) {
+      if (config != null) {
+        Map<String, ServerGroup> serverGroups = new HashMap<>();
+        for (UnmodifiableConfig.Entry entry : config.entrySet()) {
+          if (!(entry.getValue() instanceof UnmodifiableConfig group)) {
+            throw new IllegalStateException(
+                "Server group " + entry.getKey() + " is not a table!");
+          }
+          Map<String, Integer> weights = new HashMap<>();
+          UnmodifiableConfig weightsConfig = group.get("weights");
+          if (weightsConfig != null) {
+            for (UnmodifiableConfig.Entry weight : weightsConfig.entrySet()) {
+              weights.put(weight.getKey(), weight.getInt());
+            }
+          }
+          String name = entry.getKey().replace("\"", "");
+          serverGroups.put(name, new ServerGroup(name,
+              group.getOrElse("servers", ImmutableList.of()),
+              group.getEnumOrElse("strategy", BalancingStrategy.FIRST_AVAILABLE),
+              weights));
+        }
+        this.serverGroups = ImmutableMap.copyOf(serverGroups);
+      }
+    }
+
+    private Map<String, ServerGroup> getServerGroups() {
+      return serverGroups;
+    }
+
+    @Override
+    public String toString() {
+      return "ServerGroups{"
+          + "serverGroups=" + serverGroups
+          + '}';
+    }
+  }
+
   private static class Advanced {
 
     @Expose
@@ -716,6 +996,36 @@ public class VelocityConfiguration implements ProxyConfig {
     private boolean logPlayerConnections = true;
     @Expose
     private boolean acceptTransfers = false;
+    @Expose
+    private int pingPassthroughRefreshInterval = 5000;
+    @Expose
+    private int statusResponseCacheGranularity = 1;
+    @Expose
+    private int acceptRatelimit = 0;
+    @Expose
+    private int statusRatelimit = 100;
+    @Expose
+    private int queryRatelimit = 100;
+    @Expose
+    private int ratelimitIpv4Prefix = 24;
+    @Expose
+    private int ratelimitIpv6Prefix = 64;
+    @Expose
+    private int healthCheckInterval = 0;
+    @Expose
+    private HealthCheckType healthCheckType = HealthCheckType.PING;
+    @Expose
+    private int healthCheckTimeout = 2000;
+    @Expose
+    private int healthCheckFailureThreshold = 3;
+    @Expose
+    private int healthCheckRecoveryThreshold = 2;
+    @Expose
+    private int backendConnectionPoolSize = 0;
+    @Expose
+    private int backendConnectionPoolMaxIdle = 10000;
+    @Expose
+    private int initialConnectHedgeDelay = 0;
 
     private Advanced() {
     }
@@ -741,6 +1051,26 @@ public class VelocityConfiguration implements ProxyConfig {
         this.logCommandExecutions = config.getOrElse("log-command-executions", false);
         this.logPlayerConnections = config.getOrElse("log-player-connections", true);
         this.acceptTransfers = config.getOrElse("accepts-transfers", false);
+        this.pingPassthroughRefreshInterval = config
+            .getIntOrElse("ping-passthrough-refresh-interval", 5000);
+        this.statusResponseCacheGranularity = config
+            .getIntOrElse("status-response-cache-granularity", 1);
+        this.acceptRatelimit = config.getIntOrElse("accept-ratelimit", 0);
+        this.statusRatelimit = config.getIntOrElse("status-ratelimit", 100);
+        this.queryRatelimit = config.getIntOrElse("query-ratelimit", 100);
+        this.ratelimitIpv4Prefix = config.getIntOrElse("ratelimit-ipv4-prefix", 24);
+        this.ratelimitIpv6Prefix = config.getIntOrElse("ratelimit-ipv6-prefix", 64);
+        this.healthCheckInterval = config.getIntOrElse("health-check-interval", 0);
+        this.healthCheckType = config.getEnumOrElse("health-check-type", HealthCheckType.PING);
+        this.healthCheckTimeout = config.getIntOrElse("health-check-timeout", 2000);
+        this.healthCheckFailureThreshold = config
+            .getIntOrElse("health-check-failure-threshold", 3);
+        this.healthCheckRecoveryThreshold = config
+            .getIntOrElse("health-check-recovery-threshold", 2);
+        this.backendConnectionPoolSize = config.getIntOrElse("backend-connection-pool-size", 0);
+        this.backendConnectionPoolMaxIdle = config
+            .getIntOrElse("backend-connection-pool-max-idle", 10000);
+        this.initialConnectHedgeDelay = config.getIntOrElse("initial-connect-hedge-delay", 0);
       }
     }
 
@@ -804,6 +1134,66 @@ public class VelocityConfiguration implements ProxyConfig {
       return this.acceptTransfers;
     }
 
+    public int getPingPassthroughRefreshInterval() {
+      return pingPassthroughRefreshInterval;
+    }
+
+    public int getStatusResponseCacheGranularity() {
+      return statusResponseCacheGranularity;
+    }
+
+    public int getAcceptRatelimit() {
+      return acceptRatelimit;
+    }
+
+    public int getStatusRatelimit() {
+      return statusRatelimit;
+    }
+
+    public int getQueryRatelimit() {
+      return queryRatelimit;
+    }
+
+    public int getRatelimitIpv4Prefix() {
+      return ratelimitIpv4Prefix;
+    }
+
+    public int getRatelimitIpv6Prefix() {
+      return ratelimitIpv6Prefix;
+    }
+
+    public int getHealthCheckInterval() {
+      return healthCheckInterval;
+    }
+
+    public HealthCheckType getHealthCheckType() {
+      return healthCheckType;
+    }
+
+    public int getHealthCheckTimeout() {
+      return healthCheckTimeout;
+    }
+
+    public int getHealthCheckFailureThreshold() {
+      return healthCheckFailureThreshold;
+    }
+
+    public int getHealthCheckRecoveryThreshold() {
+      return healthCheckRecoveryThreshold;
+    }
+
+    public int getBackendConnectionPoolSize() {
+      return backendConnectionPoolSize;
+    }
+
+    public int getBackendConnectionPoolMaxIdle() {
+      return backendConnectionPoolMaxIdle;
+    }
+
+    public int getInitialConnectHedgeDelay() {
+      return initialConnectHedgeDelay;
+    }
+
     @Override
     public String toString() {
       return "Advanced{"
@@ -821,6 +1211,21 @@ public class VelocityConfiguration implements ProxyConfig {
           + ", logCommandExecutions=" + logCommandExecutions
           + ", logPlayerConnections=" + logPlayerConnections
           + ", acceptTransfers=" + acceptTransfers
+          + ", pingPassthroughRefreshInterval=" + pingPassthroughRefreshInterval
+          + ", statusResponseCacheGranularity=" + statusResponseCacheGranularity
+          + ", acceptRatelimit=" + acceptRatelimit
+          + ", statusRatelimit=" + statusRatelimit
+          + ", queryRatelimit=" + queryRatelimit
+          + ", ratelimitIpv4Prefix=" + ratelimitIpv4Prefix
+          + ", ratelimitIpv6Prefix=" + ratelimitIpv6Prefix
+          + ", healthCheckInterval=" + healthCheckInterval
+          + ", healthCheckType=" + healthCheckType
+          + ", healthCheckTimeout=" + healthCheckTimeout
+          + ", healthCheckFailureThreshold=" + healthCheckFailureThreshold
+          + ", healthCheckRecoveryThreshold=" + healthCheckRecoveryThreshold
+          + ", backendConnectionPoolSize=" + backendConnectionPoolSize
+          + ", backendConnectionPoolMaxIdle=" + backendConnectionPoolMaxIdle
+          + ", initialConnectHedgeDelay=" + initialConnectHedgeDelay
           + '}';
     }
   }
@@ -882,6 +1287,64 @@ public class VelocityConfiguration implements ProxyConfig {
     }
   }
 
+  private static class Network {
+
+    @Expose
+    private String transport = "auto";
+    @Expose
+    private int bossThreads = 0;
+    @Expose
+    private int workerThreads = 0;
+    @Expose
+    private int acceptThreads = 1;
+    @Expose
+    private boolean tcpQuickAck = false;
+    @Expose
+    private int busyPoll = 0;
+    @Expose
+    private int tcpUserTimeout = 0;
+    @Expose
+    private String epollMode = "edge";
+    @Expose
+    private int sendBufferSize = 0;
+    @Expose
+    private int receiveBufferSize = 0;
+
+    private Network() {
+    }
+
+    private Network(CommentedConfig config) {
+      if (config != null) {
+        this.transport = config.getOrElse("transport", "auto");
+        this.bossThreads = config.getIntOrElse("boss-threads", 0);
+        this.workerThreads = config.getIntOrElse("worker-threads", 0);
+        this.acceptThreads = config.getIntOrElse("accept-threads", 1);
+        this.tcpQuickAck = config.getOrElse("tcp-quickack", false);
+        this.busyPoll = config.getIntOrElse("busy-poll", 0);
+        this.tcpUserTimeout = config.getIntOrElse("tcp-user-timeout", 0);
+        this.epollMode = config.getOrElse("epoll-mode", "edge");
+        this.sendBufferSize = config.getIntOrElse("send-buffer-size", 0);
+        this.receiveBufferSize = config.getIntOrElse("receive-buffer-size", 0);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "Network{"
+          + "transport='" + transport + '\''
+          + ", bossThreads=" + bossThreads
+          + ", workerThreads=" + workerThreads
+          + ", acceptThreads=" + acceptThreads
+          + ", tcpQuickAck=" + tcpQuickAck
+          + ", busyPoll=" + busyPoll
+          + ", tcpUserTimeout=" + tcpUserTimeout
+          + ", epollMode='" + epollMode + '\''
+          + ", sendBufferSize=" + sendBufferSize
+          + ", receiveBufferSize=" + receiveBufferSize
+          + '}';
+    }
+  }
+
   /**
    * Configuration for metrics.
    */
@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.backend;
+
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerHealth;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.network.ConnectionManager;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.EventExecutor;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Keeps TCP connections to backend servers open ahead of time, so that switching servers doesn't
+ * have to wait for a connection to be established. Pooled connections haven't sent anything yet,
+ * so they can be used for any player. A player's connections to the client and to the server must
+ * be handled by the same event loop, so there is a separate pool for every event loop, and a player
+ * is only ever given a connection from the pool of their own event loop.
+ *
+ * <p>Servers close connections that don't send a handshake after a while, so idle connections are
+ * replaced with fresh ones well before that happens.
+ */
+public final class BackendConnectionPool {
+
+  private final VelocityServer server;
+  private final ConnectionManager connectionManager;
+  private final Map<PoolKey, Pool> pools = new ConcurrentHashMap<>();
+  private volatile @Nullable Settings settings;
+
+  public BackendConnectionPool(VelocityServer server, ConnectionManager connectionManager) {
+    this.server = server;
+    this.connectionManager = connectionManager;
+  }
+
+  /**
+   * Applies the pool settings of the configuration. Connections that are already pooled are
+   * closed, and the pools of all registered servers are filled again.
+   *
+   * @param configuration the configuration to apply
+   */
+  public synchronized void reload(VelocityConfiguration configuration) {
+    int size = configuration.getBackendConnectionPoolSize();
+    // Pooled connections must not run into the read timeout, which would close them noisily
+    Settings settings = size <= 0 ? null : new Settings(size,
+        Math.min(configuration.getBackendConnectionPoolMaxIdle(),
+            configuration.getReadTimeout() / 2));
+    this.settings = settings;
+    closeAll();
+
+    if (settings != null) {
+      for (RegisteredServer registered : server.getAllServers()) {
+        VelocityRegisteredServer target = (VelocityRegisteredServer) registered;
+        for (EventExecutor loop : connectionManager.getWorkerGroup()) {
+          fill(new PoolKey(target, (EventLoop) loop), settings);
+        }
+      }
+    }
+  }
+
+  /**
+   * Closes all pooled connections and stops pooling new ones.
+   */
+  public synchronized void shutdown() {
+    this.settings = null;
+    closeAll();
+  }
+
+  /**
+   * Takes an established connection to {@code target} out of the pool, and starts establishing a
+   * replacement.
+   *
+   * @param target the server to connect to
+   * @param eventLoop the event loop of the player that connects to the server
+   * @return an active channel to the server that is registered on {@code eventLoop}, or
+   *     {@code null} if none is available
+   */
+  public @Nullable Channel take(VelocityRegisteredServer target, EventLoop eventLoop) {
+    Settings settings = this.settings;
+    if (settings == null) {
+      return null;
+    }
+    PoolKey key = new PoolKey(target, eventLoop);
+    Pool pool = pools.get(key);
+    Channel channel = pool == null ? null : pool.poll();
+    fill(key, settings);
+    return channel;
+  }
+
+  private void closeAll() {
+    for (Pool pool : pools.values()) {
+      Channel channel;
+      while ((channel = pool.poll()) != null) {
+        channel.close();
+      }
+    }
+    pools.clear();
+  }
+
+  private void fill(PoolKey key, Settings settings) {
+    VelocityRegisteredServer target = key.server();
+    if (server.getServer(target.getServerInfo().getName()).orElse(null) != target) {
+      pools.remove(key);
+      return;
+    }
+    if (this.settings != settings || target.getHealth() == ServerHealth.DOWN) {
+      return;
+    }
+    Pool pool = pools.computeIfAbsent(key, Pool::new);
+    while (true) {
+      int current = pool.size.get();
+      if (current >= settings.size()) {
+        return;
+      }
+      if (pool.size.compareAndSet(current, current + 1)) {
+        connect(pool, settings);
+      }
+    }
+  }
+
+  private void connect(Pool pool, Settings settings) {
+    VelocityRegisteredServer target = pool.key.server();
+    long connectStart = System.nanoTime();
+    server.createBootstrap(pool.key.eventLoop())
+        .handler(server.getBackendChannelInitializer())
+        .connect(target.getServerInfo().getAddress())
+        .addListener((ChannelFutureListener) future -> {
+          Channel channel = future.channel();
+          if (future.isSuccess()) {
+            target.recordConnectLatency(System.nanoTime() - connectStart);
+          }
+          server.getServerHealthChecker().recordConnection(target, future.isSuccess());
+          if (!future.isSuccess() || this.settings != settings) {
+            // Don't retry right away, the next connection taken from the pool will
+            pool.size.decrementAndGet();
+            channel.close();
+            return;
+          }
+
+          pool.idle.addLast(channel);
+          channel.closeFuture().addListener(closed -> pool.remove(channel));
+          channel.eventLoop().schedule(() -> {
+            if (pool.remove(channel)) {
+              channel.close();
+              fill(pool.key, settings);
+            }
+          }, settings.maxIdleMillis(), TimeUnit.MILLISECONDS);
+        });
+  }
+
+  private static final class Pool {
+
+    private final PoolKey key;
+    private final Deque<Channel> idle = new ConcurrentLinkedDeque<>();
+    // Idle connections plus the ones still being established
+    private final AtomicInteger size = new AtomicInteger();
+
+    private Pool(PoolKey key) {
+      this.key = key;
+    }
+
+    @Nullable Channel poll() {
+      Channel channel;
+      while ((channel = idle.pollFirst()) != null) {
+        size.decrementAndGet();
+        if (channel.isActive()) {
+          return channel;
+        }
+        channel.close();
+      }
+      return null;
+    }
+
+    boolean remove(Channel channel) {
+      if (idle.remove(channel)) {
+        size.decrementAndGet();
+        return true;
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Keyed on the server instance, so a server that is re-registered under a different address
+   * doesn't receive connections to its predecessor.
+   */
+  private record PoolKey(VelocityRegisteredServer server, EventLoop eventLoop) {
+  }
+
+  private record Settings(int size, int maxIdleMillis) {
+  }
+}
@@ -44,6 +44,7 @@ import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.connection.player.resourcepack.VelocityResourcePackInfo;
 import com.velocitypowered.proxy.connection.player.resourcepack.handler.ResourcePackHandler;
 import com.velocitypowered.proxy.connection.util.ConnectionMessages;
+import com.velocitypowered.proxy.event.VelocityEventManager;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.netty.MinecraftDecoder;
@@ -70,7 +71,6 @@ import com.velocitypowered.proxy.protocol.packet.config.StartUpdatePacket;
 import com.velocitypowered.proxy.protocol.util.PluginMessageUtil;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
-import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.handler.timeout.ReadTimeoutException;
 import java.net.InetSocketAddress;
@@ -200,6 +200,19 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
     }
 
     final ResourcePackInfo resourcePackInfo = builder.build();
+    if (!server.getEventManager().hasSubscribers(ServerResourcePackSendEvent.class)
+        && playerConnection.eventLoop().inEventLoop()) {
+      // No plugin can replace or deny the pack, so there is no need to wait for the event
+      if (server.getEventManager().hasOnlyBatchedSubscribers(ServerResourcePackSendEvent.class)) {
+        server.getEventManager().fireAndForget(
+            new ServerResourcePackSendEvent(resourcePackInfo, this.serverConn));
+      }
+      if (!playerConnection.isClosed()) {
+        sendResourcePack(packet, resourcePackInfo, false);
+      }
+      return true;
+    }
+
     final ServerResourcePackSendEvent event = new ServerResourcePackSendEvent(
             resourcePackInfo, this.serverConn);
     server.getEventManager().fire(event).thenAcceptAsync(serverResourcePackSendEvent -> {
@@ -214,27 +227,7 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
               .setOriginalOrigin(ResourcePackInfo.Origin.DOWNSTREAM_SERVER);
           modifiedPack = true;
         }
-        if (serverConn.getPlayer().resourcePackHandler().hasPackAppliedByHash(toSend.getHash())) {
-          // Do not apply a resource pack that has already been applied
-          if (serverConn.getConnection() != null) {
-            serverConn.getConnection().write(new ResourcePackResponsePacket(
-                    packet.getId(), packet.getHash(), PlayerResourcePackStatusEvent.Status.ACCEPTED));
-            if (serverConn.getConnection().getProtocolVersion().noLessThan(ProtocolVersion.MINECRAFT_1_20_3)) {
-              serverConn.getConnection().write(new ResourcePackResponsePacket(
-                  packet.getId(), packet.getHash(),
-                  PlayerResourcePackStatusEvent.Status.DOWNLOADED));
-            }
-            serverConn.getConnection().write(new ResourcePackResponsePacket(
-                packet.getId(), packet.getHash(),
-                PlayerResourcePackStatusEvent.Status.SUCCESSFUL));
-          }
-          if (modifiedPack) {
-            logger.warn("A plugin has tried to modify a ResourcePack provided by the backend server "
-                    + "with a ResourcePack already applied, the applying of the resource pack will be skipped.");
-          }
-        } else {
-          serverConn.getPlayer().resourcePackHandler().queueResourcePack(toSend);
-        }
+        sendResourcePack(packet, toSend, modifiedPack);
       } else if (serverConn.getConnection() != null) {
         serverConn.getConnection().write(new ResourcePackResponsePacket(
             packet.getId(),
@@ -257,6 +250,31 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
     return true;
   }
 
+  private void sendResourcePack(final ResourcePackRequestPacket packet,
+      final ResourcePackInfo toSend, final boolean modifiedPack) {
+    if (serverConn.getPlayer().resourcePackHandler().hasPackAppliedByHash(toSend.getHash())) {
+      // Do not apply a resource pack that has already been applied
+      if (serverConn.getConnection() != null) {
+        serverConn.getConnection().write(new ResourcePackResponsePacket(
+                packet.getId(), packet.getHash(), PlayerResourcePackStatusEvent.Status.ACCEPTED));
+        if (serverConn.getConnection().getProtocolVersion().noLessThan(ProtocolVersion.MINECRAFT_1_20_3)) {
+          serverConn.getConnection().write(new ResourcePackResponsePacket(
+              packet.getId(), packet.getHash(),
+              PlayerResourcePackStatusEvent.Status.DOWNLOADED));
+        }
+        serverConn.getConnection().write(new ResourcePackResponsePacket(
+            packet.getId(), packet.getHash(),
+            PlayerResourcePackStatusEvent.Status.SUCCESSFUL));
+      }
+      if (modifiedPack) {
+        logger.warn("A plugin has tried to modify a ResourcePack provided by the backend server "
+                + "with a ResourcePack already applied, the applying of the resource pack will be skipped.");
+      }
+    } else {
+      serverConn.getPlayer().resourcePackHandler().queueResourcePack(toSend);
+    }
+  }
+
   @Override
   public boolean handle(RemoveResourcePackPacket packet) {
     final ServerResourcePackRemoveEvent event = new ServerResourcePackRemoveEvent(
@@ -307,20 +325,32 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
     }
 
     ChannelIdentifier id = server.getChannelRegistrar().getFromId(packet.getChannel());
-    if (id == null) {
+    if (id == null || !server.getEventManager().hasSubscribers(PluginMessageEvent.class)) {
+      if (id != null && server.getEventManager()
+          .hasOnlyBatchedSubscribers(PluginMessageEvent.class)) {
+        server.getEventManager().fireAndForget(new PluginMessageEvent(serverConn,
+            serverConn.getPlayer(), id, ByteBufUtil.getBytes(packet.content())));
+      }
+      // Relay it right away, so it stays in order with the packets around it.
       return false;
     }
 
-    byte[] copy = ByteBufUtil.getBytes(packet.content());
-    PluginMessageEvent event = new PluginMessageEvent(serverConn, serverConn.getPlayer(), id, copy);
+    // The event reads the payload straight from the packet, which we forward as-is if allowed.
+    PluginMessagePacket retained = packet.retain();
+    PluginMessageEvent event = new PluginMessageEvent(serverConn, serverConn.getPlayer(), id,
+        PluginMessageUtil.payloadView(retained));
     server.getEventManager().fire(event).thenAcceptAsync(pme -> {
+      // Plugins may keep the event around, so it must not read from the packet anymore
+      pme.invalidateData();
       if (pme.getResult().isAllowed() && !playerConnection.isClosed()) {
-        PluginMessagePacket copied = new PluginMessagePacket(
-                packet.getChannel(), Unpooled.wrappedBuffer(copy));
-        playerConnection.write(copied);
+        playerConnection.write(retained);
+      } else {
+        retained.release();
       }
     }, playerConnection.eventLoop()).exceptionally((ex) -> {
       logger.error("Exception while handling plugin message {}", packet, ex);
+      event.invalidateData();
+      retained.release();
       return null;
     });
     return true;
@@ -346,8 +376,12 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
 
   @Override
   public boolean handle(RemovePlayerInfoPacket packet) {
-    serverConn.getPlayer().getTabList().processRemove(packet);
-    return false;
+    ConnectedPlayer player = serverConn.getPlayer();
+    player.getTabList().processRemove(packet);
+    handleGeneric(packet);
+    // Entries of the shared tab list with the same profile IDs were removed from the client too
+    server.getSharedTabList().restoreRemoved(player, packet.getProfilesToRemove());
+    return true;
   }
 
   @Override
@@ -356,7 +390,14 @@ public class BackendPlaySessionHandler implements MinecraftSessionHandler {
     if (server.getConfiguration().isAnnounceProxyCommands()) {
       // Inject commands from the proxy.
       final CommandGraphInjector<CommandSource> injector = server.getCommandManager().getInjector();
-      injector.inject(rootNode, serverConn.getPlayer());
+      final VelocityEventManager eventManager = server.getEventManager();
+      if (eventManager.hasSubscribers(PlayerAvailableCommandsEvent.class)
+          || eventManager.hasOnlyBatchedSubscribers(PlayerAvailableCommandsEvent.class)) {
+        // Listeners may modify the graph, so they can't be given the nodes shared with others.
+        injector.injectModifiable(rootNode, serverConn.getPlayer());
+      } else {
+        injector.inject(rootNode, serverConn.getPlayer());
+      }
       rootNode.removeChildByName("velocity:callback");
     }
 
@@ -36,7 +36,6 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import java.util.Optional;
-import java.util.StringJoiner;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.ComponentSerializer;
 import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
@@ -99,76 +98,27 @@ public class BungeeCordMessageResponder {
   }
 
   private void processPlayerCount(ByteBufDataInput in) {
-    ByteBuf buf = Unpooled.buffer();
-    ByteBufDataOutput out = new ByteBufDataOutput(buf);
-
+    BungeeCordResponseCache responses = proxy.getBungeeCordResponseCache();
     String target = in.readUTF();
     if (target.equals("ALL")) {
-      out.writeUTF("PlayerCount");
-      out.writeUTF("ALL");
-      out.writeInt(proxy.getPlayerCount());
-    } else {
-      proxy.getServer(target).ifPresent(rs -> {
-        int playersOnServer = rs.getPlayersConnected().size();
-        out.writeUTF("PlayerCount");
-        out.writeUTF(rs.getServerInfo().getName());
-        out.writeInt(playersOnServer);
-      });
-    }
-
-    if (buf.isReadable()) {
-      sendResponseOnConnection(buf);
+      sendResponseOnConnection(responses.playerCount());
     } else {
-      buf.release();
+      proxy.getServer(target).ifPresent(rs -> sendResponseOnConnection(responses.playerCount(rs)));
     }
   }
 
   private void processPlayerList(ByteBufDataInput in) {
-    ByteBuf buf = Unpooled.buffer();
-    ByteBufDataOutput out = new ByteBufDataOutput(buf);
-
+    BungeeCordResponseCache responses = proxy.getBungeeCordResponseCache();
     String target = in.readUTF();
     if (target.equals("ALL")) {
-      out.writeUTF("PlayerList");
-      out.writeUTF("ALL");
-
-      StringJoiner joiner = new StringJoiner(", ");
-      for (Player online : proxy.getAllPlayers()) {
-        joiner.add(online.getUsername());
-      }
-      out.writeUTF(joiner.toString());
+      sendResponseOnConnection(responses.playerList());
     } else {
-      proxy.getServer(target).ifPresent(info -> {
-        out.writeUTF("PlayerList");
-        out.writeUTF(info.getServerInfo().getName());
-
-        final StringJoiner joiner = new StringJoiner(", ");
-        for (Player online : info.getPlayersConnected()) {
-          joiner.add(online.getUsername());
-        }
-        out.writeUTF(joiner.toString());
-      });
-    }
-
-    if (buf.isReadable()) {
-      sendResponseOnConnection(buf);
-    } else {
-      buf.release();
+      proxy.getServer(target).ifPresent(rs -> sendResponseOnConnection(responses.playerList(rs)));
     }
   }
 
   private void processGetServers() {
-    StringJoiner joiner = new StringJoiner(", ");
-    for (RegisteredServer server : proxy.getAllServers()) {
-      joiner.add(server.getServerInfo().getName());
-    }
-
-    ByteBuf buf = Unpooled.buffer();
-    ByteBufDataOutput out = new ByteBufDataOutput(buf);
-    out.writeUTF("GetServers");
-    out.writeUTF(joiner.toString());
-
-    sendResponseOnConnection(buf);
+    sendResponseOnConnection(proxy.getBungeeCordResponseCache().servers());
   }
 
   private void processMessage(ByteBufDataInput in) {
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.backend;
+
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.proxy.protocol.util.ByteBufDataOutput;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Caches the responses to the BungeeCord {@code PlayerCount}, {@code PlayerList} and
+ * {@code GetServers} requests, which backend servers tend to poll for every player. Each response
+ * is only built again after the players or servers it lists have changed.
+ */
+public final class BungeeCordResponseCache {
+
+  private final ProxyServer proxy;
+  private final CachedResponse allPlayerCount = new CachedResponse();
+  private final CachedResponse allPlayerList = new CachedResponse();
+  private final CachedResponse servers = new CachedResponse();
+  private final Map<RegisteredServer, ServerResponses> serverResponses =
+      new ConcurrentHashMap<>();
+
+  public BungeeCordResponseCache(ProxyServer proxy) {
+    this.proxy = proxy;
+  }
+
+  /**
+   * Invalidates the responses listing every player on the proxy. Called when a player joins or
+   * leaves the proxy.
+   */
+  public void invalidatePlayers() {
+    allPlayerCount.invalidate();
+    allPlayerList.invalidate();
+  }
+
+  /**
+   * Invalidates the responses listing the players on {@code server}. Called when a player joins or
+   * leaves that server.
+   *
+   * @param server the server whose players changed
+   */
+  public void invalidatePlayers(RegisteredServer server) {
+    ServerResponses responses = serverResponses.get(server);
+    if (responses != null) {
+      responses.playerCount.invalidate();
+      responses.playerList.invalidate();
+    }
+  }
+
+  /**
+   * Invalidates the responses listing servers. Called when a server is registered or
+   * unregistered.
+   */
+  public void invalidateServers() {
+    servers.invalidate();
+    serverResponses.clear();
+  }
+
+  ByteBuf playerCount() {
+    return allPlayerCount.get(() -> playerCountResponse("ALL", proxy.getPlayerCount()));
+  }
+
+  ByteBuf playerCount(RegisteredServer server) {
+    return responses(server).playerCount.get(() -> playerCountResponse(
+        server.getServerInfo().getName(), server.getPlayersConnected().size()));
+  }
+
+  ByteBuf playerList() {
+    return allPlayerList.get(() -> playerListResponse("ALL", proxy.getAllPlayers()));
+  }
+
+  ByteBuf playerList(RegisteredServer server) {
+    return responses(server).playerList.get(() -> playerListResponse(
+        server.getServerInfo().getName(), server.getPlayersConnected()));
+  }
+
+  ByteBuf servers() {
+    return servers.get(() -> {
+      StringJoiner joiner = new StringJoiner(", ");
+      for (RegisteredServer server : proxy.getAllServers()) {
+        joiner.add(server.getServerInfo().getName());
+      }
+
+      ByteBuf buf = Unpooled.buffer();
+      ByteBufDataOutput out = new ByteBufDataOutput(buf);
+      out.writeUTF("GetServers");
+      out.writeUTF(joiner.toString());
+      return buf;
+    });
+  }
+
+  private ServerResponses responses(RegisteredServer server) {
+    return serverResponses.computeIfAbsent(server, ignored -> new ServerResponses());
+  }
+
+  private static ByteBuf playerCountResponse(String target, int count) {
+    ByteBuf buf = Unpooled.buffer();
+    ByteBufDataOutput out = new ByteBufDataOutput(buf);
+    out.writeUTF("PlayerCount");
+    out.writeUTF(target);
+    out.writeInt(count);
+    return buf;
+  }
+
+  private static ByteBuf playerListResponse(String target, Collection<Player> players) {
+    StringJoiner joiner = new StringJoiner(", ");
+    for (Player player : players) {
+      joiner.add(player.getUsername());
+    }
+
+    ByteBuf buf = Unpooled.buffer();
+    ByteBufDataOutput out = new ByteBufDataOutput(buf);
+    out.writeUTF("PlayerList");
+    out.writeUTF(target);
+    out.writeUTF(joiner.toString());
+    return buf;
+  }
+
+  private static final class ServerResponses {
+
+    private final CachedResponse playerCount = new CachedResponse();
+    private final CachedResponse playerList = new CachedResponse();
+  }
+
+  /**
+   * A response stamped with the version it was built at. Invalidating the response bumps the
+   * version, so a response built while it was being invalidated is never used again.
+   */
+  private static final class CachedResponse {
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile @Nullable Built built;
+
+    void invalidate() {
+      version.incrementAndGet();
+    }
+
+    ByteBuf get(Supplier<ByteBuf> builder) {
+      long current = version.get();
+      Built built = this.built;
+      if (built == null || built.version != current) {
+        // Readers may still be duplicating the previous buffer, so it is never released. It's
+        // a small heap buffer, so it's simply collected once it is no longer referenced.
+        built = new Built(current, Unpooled.unreleasableBuffer(builder.get()));
+        this.built = built;
+      }
+      return built.buf.retainedDuplicate();
+    }
+  }
+
+  private record Built(long version, ByteBuf buf) {
+  }
+}
@@ -145,6 +145,19 @@ public class ConfigSessionHandler implements MinecraftSessionHandler {
     final MinecraftConnection playerConnection = serverConn.getPlayer().getConnection();
 
     final ResourcePackInfo resourcePackInfo = packet.toServerPromptedPack();
+    if (!server.getEventManager().hasSubscribers(ServerResourcePackSendEvent.class)
+        && playerConnection.eventLoop().inEventLoop()) {
+      // No plugin can replace or deny the pack, so there is no need to wait for the event
+      if (server.getEventManager().hasOnlyBatchedSubscribers(ServerResourcePackSendEvent.class)) {
+        server.getEventManager().fireAndForget(
+            new ServerResourcePackSendEvent(resourcePackInfo, this.serverConn));
+      }
+      if (!playerConnection.isClosed()) {
+        sendResourcePack(packet, resourcePackInfo, false);
+      }
+      return true;
+    }
+
     final ServerResourcePackSendEvent event =
         new ServerResourcePackSendEvent(resourcePackInfo, this.serverConn);
 
@@ -160,25 +173,7 @@ public class ConfigSessionHandler implements MinecraftSessionHandler {
               ResourcePackInfo.Origin.DOWNSTREAM_SERVER);
           modifiedPack = true;
         }
-        if (serverConn.getPlayer().resourcePackHandler().hasPackAppliedByHash(toSend.getHash())) {
-          // Do not apply a resource pack that has already been applied
-          if (serverConn.getConnection() != null) {
-            // We can technically skip these first 2 states, however, for conformity to normal state flow expectations...
-            serverConn.getConnection().write(new ResourcePackResponsePacket(
-                    packet.getId(), packet.getHash(), PlayerResourcePackStatusEvent.Status.ACCEPTED));
-            serverConn.getConnection().write(new ResourcePackResponsePacket(
-                packet.getId(), packet.getHash(), PlayerResourcePackStatusEvent.Status.DOWNLOADED));
-            serverConn.getConnection().write(new ResourcePackResponsePacket(
-                packet.getId(), packet.getHash(), PlayerResourcePackStatusEvent.Status.SUCCESSFUL));
-          }
-          if (modifiedPack) {
-            logger.warn("A plugin has tried to modify a ResourcePack provided by the backend server "
-                    + "with a ResourcePack already applied, the applying of the resource pack will be skipped.");
-          }
-        } else {
-          resourcePackToApply = null;
-          serverConn.getPlayer().resourcePackHandler().queueResourcePack(toSend);
-        }
+        sendResourcePack(packet, toSend, modifiedPack);
       } else if (serverConn.getConnection() != null) {
         serverConn.getConnection().write(new ResourcePackResponsePacket(
                 packet.getId(), packet.getHash(), PlayerResourcePackStatusEvent.Status.DECLINED));
@@ -195,6 +190,29 @@ public class ConfigSessionHandler implements MinecraftSessionHandler {
     return true;
   }
 
+  private void sendResourcePack(final ResourcePackRequestPacket packet,
+      final ResourcePackInfo toSend, final boolean modifiedPack) {
+    if (serverConn.getPlayer().resourcePackHandler().hasPackAppliedByHash(toSend.getHash())) {
+      // Do not apply a resource pack that has already been applied
+      if (serverConn.getConnection() != null) {
+        // We can technically skip these first 2 states, however, for conformity to normal state flow expectations...
+        serverConn.getConnection().write(new ResourcePackResponsePacket(
+                packet.getId(), packet.getHash(), PlayerResourcePackStatusEvent.Status.ACCEPTED));
+        serverConn.getConnection().write(new ResourcePackResponsePacket(
+            packet.getId(), packet.getHash(), PlayerResourcePackStatusEvent.Status.DOWNLOADED));
+        serverConn.getConnection().write(new ResourcePackResponsePacket(
+            packet.getId(), packet.getHash(), PlayerResourcePackStatusEvent.Status.SUCCESSFUL));
+      }
+      if (modifiedPack) {
+        logger.warn("A plugin has tried to modify a ResourcePack provided by the backend server "
+                + "with a ResourcePack already applied, the applying of the resource pack will be skipped.");
+      }
+    } else {
+      resourcePackToApply = null;
+      serverConn.getPlayer().resourcePackHandler().queueResourcePack(toSend);
+    }
+  }
+
   @Override
   public boolean handle(RemoveResourcePackPacket packet) {
     final MinecraftConnection playerConnection = this.serverConn.getPlayer().getConnection();
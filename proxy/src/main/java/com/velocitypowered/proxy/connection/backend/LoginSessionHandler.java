@@ -107,6 +107,12 @@ public class LoginSessionHandler implements MinecraftSessionHandler {
     } else {
       // Don't understand, fire event if we have subscribers
       if (!this.server.getEventManager().hasSubscribers(ServerLoginPluginMessageEvent.class)) {
+        if (this.server.getEventManager()
+            .hasOnlyBatchedSubscribers(ServerLoginPluginMessageEvent.class)) {
+          this.server.getEventManager().fireAndForget(new ServerLoginPluginMessageEvent(serverConn,
+              MinecraftChannelIdentifier.from(packet.getChannel()),
+              ByteBufUtil.getBytes(packet.content()), packet.getId()));
+        }
         mc.write(new LoginPluginResponsePacket(packet.getId(), false, Unpooled.EMPTY_BUFFER));
         return true;
       }
@@ -139,6 +139,8 @@ public class TransitionSessionHandler implements MinecraftSessionHandler {
 
           // Now set the connected server.
           serverConn.getPlayer().setConnectedServer(serverConn);
+          // Switching servers may have cleared the tab list of the client
+          server.getSharedTabList().resend(player);
 
           // Clean up disabling auto-read while the connected event was being processed.
           // Do this after setting the connection, so no incoming packets are processed before
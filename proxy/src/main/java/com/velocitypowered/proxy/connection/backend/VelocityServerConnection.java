@@ -48,7 +48,9 @@ import com.velocitypowered.proxy.protocol.util.ByteBufDataOutput;
 import com.velocitypowered.proxy.server.VelocityRegisteredServer;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoop;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -95,40 +97,74 @@ public class VelocityServerConnection implements MinecraftConnectionAssociation,
    *     representing whether the connection succeeded
    */
   public CompletableFuture<Impl> connect() {
+    return connect(null);
+  }
+
+  /**
+   * Connects to the server, using a channel that is already connected to it if there is one.
+   *
+   * @param established an active channel to the server that nothing has been sent over yet, or
+   *                    {@code null} to establish a new connection
+   * @return a {@link com.velocitypowered.api.proxy.ConnectionRequestBuilder.Result}
+   *     representing whether the connection succeeded
+   */
+  public CompletableFuture<Impl> connect(@Nullable Channel established) {
     CompletableFuture<Impl> result = new CompletableFuture<>();
     // Note: we use the event loop for the connection the player is on. This reduces context
     // switches.
-    server.createBootstrap(proxyPlayer.getConnection().eventLoop())
+    EventLoop eventLoop = proxyPlayer.getConnection().eventLoop();
+    Channel ready = established != null ? established
+        : server.getBackendConnectionPool().take(registeredServer, eventLoop);
+    if (ready != null) {
+      // Pooled and hedged connections are registered on the player's event loop too, so the
+      // session handlers of both connections never run concurrently.
+      if (eventLoop.inEventLoop()) {
+        startConnection(ready, result);
+      } else {
+        eventLoop.execute(() -> startConnection(ready, result));
+      }
+      return result;
+    }
+
+    long connectStart = System.nanoTime();
+    server.createBootstrap(eventLoop)
         .handler(server.getBackendChannelInitializer())
         .connect(registeredServer.getServerInfo().getAddress())
         .addListener((ChannelFutureListener) future -> {
           if (future.isSuccess()) {
-            connection = new MinecraftConnection(future.channel(), server);
-            connection.setAssociation(VelocityServerConnection.this);
-            future.channel().pipeline().addLast(HANDLER, connection);
-
-            // Kick off the connection process
-            if (!connection.setActiveSessionHandler(StateRegistry.HANDSHAKE)) {
-              MinecraftSessionHandler handler =
-                  new LoginSessionHandler(server, VelocityServerConnection.this, result);
-              connection.setActiveSessionHandler(StateRegistry.HANDSHAKE, handler);
-              connection.addSessionHandler(StateRegistry.LOGIN, handler);
-            }
-
-            // Set the connection phase, which may, for future forge (or whatever), be
-            // determined
-            // at this point already
-            connectionPhase = connection.getType().getInitialBackendPhase();
-            startHandshake();
+            registeredServer.recordConnectLatency(System.nanoTime() - connectStart);
+            server.getServerHealthChecker().recordConnection(registeredServer, true);
+            startConnection(future.channel(), result);
           } else {
             // Complete the result immediately. ConnectedPlayer will reset the in-flight
             // connection.
+            server.getServerHealthChecker().recordConnection(registeredServer, false);
             result.completeExceptionally(future.cause());
           }
         });
     return result;
   }
 
+  private void startConnection(Channel channel, CompletableFuture<Impl> result) {
+    connection = new MinecraftConnection(channel, server);
+    connection.setAssociation(VelocityServerConnection.this);
+    channel.pipeline().addLast(HANDLER, connection);
+
+    // Kick off the connection process
+    if (!connection.setActiveSessionHandler(StateRegistry.HANDSHAKE)) {
+      MinecraftSessionHandler handler =
+          new LoginSessionHandler(server, VelocityServerConnection.this, result);
+      connection.setActiveSessionHandler(StateRegistry.HANDSHAKE, handler);
+      connection.addSessionHandler(StateRegistry.LOGIN, handler);
+    }
+
+    // Set the connection phase, which may, for future forge (or whatever), be
+    // determined
+    // at this point already
+    connectionPhase = connection.getType().getInitialBackendPhase();
+    startHandshake();
+  }
+
   String getPlayerRemoteAddressAsString() {
     final String addr = proxyPlayer.getRemoteAddress().getAddress().getHostAddress();
     int ipv6ScopeIdx = addr.indexOf('%');
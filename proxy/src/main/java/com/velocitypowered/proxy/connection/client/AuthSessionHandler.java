@@ -27,6 +27,7 @@ import com.velocitypowered.api.event.permission.PermissionsSetupEvent;
 import com.velocitypowered.api.event.player.CookieReceiveEvent;
 import com.velocitypowered.api.event.player.GameProfileRequestEvent;
 import com.velocitypowered.api.event.player.PlayerChooseInitialServerEvent;
+import com.velocitypowered.api.event.player.ServerPreConnectEvent;
 import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.api.permission.PermissionFunction;
 import com.velocitypowered.api.proxy.crypto.IdentifiedKey;
@@ -44,6 +45,7 @@ import com.velocitypowered.proxy.protocol.packet.LoginAcknowledgedPacket;
 import com.velocitypowered.proxy.protocol.packet.ServerLoginSuccessPacket;
 import com.velocitypowered.proxy.protocol.packet.ServerboundCookieResponsePacket;
 import com.velocitypowered.proxy.protocol.packet.SetCompressionPacket;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
 import io.netty.buffer.ByteBuf;
 import java.util.Objects;
 import java.util.Optional;
@@ -253,7 +255,8 @@ public class AuthSessionHandler implements MinecraftSessionHandler {
   }
 
   private CompletableFuture<Void> connectToInitialServer(ConnectedPlayer player) {
-    Optional<RegisteredServer> initialFromConfig = player.getNextServerToTry();
+    // Only peek, the server is marked as tried once we know it is the one being connected to
+    Optional<RegisteredServer> initialFromConfig = player.peekNextServerToTry(null);
     PlayerChooseInitialServerEvent event =
         new PlayerChooseInitialServerEvent(player, initialFromConfig.orElse(null));
 
@@ -265,7 +268,35 @@ public class AuthSessionHandler implements MinecraftSessionHandler {
             true);
         return;
       }
-      player.createConnectionRequest(toTry.get()).fireAndForget();
+      RegisteredServer initial = toTry.get();
+      int hedgeDelay = server.getConfiguration().getInitialConnectHedgeDelay();
+      // Only hedge between servers from the try list, and only if no plugin gets to veto the
+      // connection after it has already been made. A server chosen by a plugin is always used.
+      Optional<RegisteredServer> alternative = hedgeDelay > 0
+          && initialFromConfig.orElse(null) == initial
+          && !server.getEventManager().hasSubscribers(ServerPreConnectEvent.class)
+          ? player.peekNextServerToTry(initial) : Optional.empty();
+      if (alternative.isEmpty()) {
+        player.markServerTried(initial);
+        player.createConnectionRequest(initial).fireAndForget();
+        return;
+      }
+
+      HedgedConnect.race(server, mcConnection.eventLoop(), (VelocityRegisteredServer) initial,
+          (VelocityRegisteredServer) alternative.get(), hedgeDelay)
+          .whenCompleteAsync((established, ex) -> {
+            if (ex != null) {
+              // Neither server is reachable. The alternative has been tried as well, so fail over
+              // to whatever comes after it.
+              player.markServerTried(initial);
+              player.markServerTried(alternative.get());
+              player.handleConnectionException(initial, ex, true);
+            } else {
+              player.markServerTried(established.server());
+              player.createConnectionRequest(established.server(), established.channel())
+                  .fireAndForget();
+            }
+          }, mcConnection.eventLoop());
     }, mcConnection.eventLoop());
   }
 
@@ -108,6 +108,9 @@ public class ClientConfigSessionHandler implements MinecraftSessionHandler {
   @Override
   public boolean handle(FinishedUpdatePacket packet) {
     player.getConnection().setActiveSessionHandler(StateRegistry.PLAY, new ClientPlaySessionHandler(server, player));
+    // The client cleared its tab list. If the player is being reconfigured by the server they are
+    // on, restore the shared tab list right away, otherwise this is done once they join the server.
+    server.getSharedTabList().resend(player);
 
     configSwitchFuture.complete(null);
     return true;
@@ -76,7 +76,6 @@ import com.velocitypowered.proxy.protocol.util.PluginMessageUtil;
 import com.velocitypowered.proxy.util.CharacterUtil;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufUtil;
-import io.netty.buffer.Unpooled;
 import io.netty.util.ReferenceCountUtil;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -341,8 +340,13 @@ public class ClientPlaySessionHandler implements MinecraftSessionHandler {
 
         if (!player.getPhase().handle(player, packet, serverConn)) {
           ChannelIdentifier id = server.getChannelRegistrar().getFromId(packet.getChannel());
-          if (id == null) {
+          if (id == null || !server.getEventManager().hasSubscribers(PluginMessageEvent.class)) {
             // We don't have any plugins listening on this channel, process the packet now.
+            if (id != null && server.getEventManager()
+                .hasOnlyBatchedSubscribers(PluginMessageEvent.class)) {
+              server.getEventManager().fireAndForget(new PluginMessageEvent(player, serverConn,
+                  id, ByteBufUtil.getBytes(packet.content())));
+            }
             if (!player.getPhase().consideredComplete() || !serverConn.getPhase()
                 .consideredComplete()) {
               // The client is trying to send messages too early. This is primarily caused by mods,
@@ -358,22 +362,25 @@ public class ClientPlaySessionHandler implements MinecraftSessionHandler {
               backendConn.write(packet.retain());
             }
           } else {
-            byte[] copy = ByteBufUtil.getBytes(packet.content());
-            PluginMessageEvent event = new PluginMessageEvent(player, serverConn, id, copy);
+            PluginMessagePacket retained = packet.retain();
+            PluginMessageEvent event = new PluginMessageEvent(player, serverConn, id,
+                PluginMessageUtil.payloadView(retained));
             server.getEventManager().fire(event).thenAcceptAsync(pme -> {
-              if (pme.getResult().isAllowed()) {
-                PluginMessagePacket message = new PluginMessagePacket(packet.getChannel(),
-                    Unpooled.wrappedBuffer(copy));
-                if (!player.getPhase().consideredComplete() || !serverConn.getPhase()
-                    .consideredComplete()) {
-                  // We're still processing the connection (see above), enqueue the packet for now.
-                  loginPluginMessages.add(message.retain());
-                } else {
-                  backendConn.write(message);
-                }
+              // Plugins may keep the event around, so it must not read from the packet anymore
+              pme.invalidateData();
+              if (!pme.getResult().isAllowed()) {
+                retained.release();
+              } else if (!player.getPhase().consideredComplete() || !serverConn.getPhase()
+                  .consideredComplete()) {
+                // We're still processing the connection (see above), enqueue the packet for now.
+                loginPluginMessages.add(retained);
+              } else {
+                backendConn.write(retained);
               }
             }, backendConn.eventLoop()).exceptionally((ex) -> {
               logger.error("Exception while handling plugin message packet for {}", player, ex);
+              event.invalidateData();
+              retained.release();
               return null;
             });
           }
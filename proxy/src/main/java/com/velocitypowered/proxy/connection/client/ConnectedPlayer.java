@@ -18,6 +18,7 @@
 package com.velocitypowered.proxy.connection.client;
 
 import static com.velocitypowered.api.proxy.ConnectionRequestBuilder.Status.ALREADY_CONNECTED;
+import static com.velocitypowered.proxy.connection.util.ConnectionRequestResults.forDisconnect;
 import static com.velocitypowered.proxy.connection.util.ConnectionRequestResults.plainResult;
 import static java.util.Objects.requireNonNull;
 import static java.util.concurrent.CompletableFuture.completedFuture;
@@ -53,11 +54,14 @@ import com.velocitypowered.api.proxy.messages.PluginMessageEncoder;
 import com.velocitypowered.api.proxy.player.PlayerSettings;
 import com.velocitypowered.api.proxy.player.ResourcePackInfo;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerHealth;
 import com.velocitypowered.api.util.GameProfile;
 import com.velocitypowered.api.util.ModInfo;
 import com.velocitypowered.api.util.ServerLink;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.adventure.BroadcastRenderCache;
 import com.velocitypowered.proxy.adventure.VelocityBossBarImplementation;
+import com.velocitypowered.proxy.config.ServerGroup;
 import com.velocitypowered.proxy.connection.MinecraftConnection;
 import com.velocitypowered.proxy.connection.MinecraftConnectionAssociation;
 import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
@@ -98,8 +102,10 @@ import com.velocitypowered.proxy.tablist.VelocityTabListLegacy;
 import com.velocitypowered.proxy.util.ClosestLocaleMatcher;
 import com.velocitypowered.proxy.util.DurationUtils;
 import com.velocitypowered.proxy.util.TranslatableMapper;
+import com.velocitypowered.proxy.util.TranslationRenderCache;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
 import java.net.InetSocketAddress;
 import java.util.Collection;
 import java.util.Collections;
@@ -131,7 +137,6 @@ import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.kyori.adventure.title.Title.Times;
 import net.kyori.adventure.title.TitlePart;
-import net.kyori.adventure.translation.GlobalTranslator;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -159,6 +164,7 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
   private GameProfile profile;
   private PermissionFunction permissionFunction;
   private int tryIndex = 0;
+  private final Set<String> triedGroupServers = new HashSet<>();
   private long ping = -1;
   private final boolean onlineMode;
   private @Nullable VelocityServerConnection connectedServer;
@@ -204,7 +210,7 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
     this.onlineMode = onlineMode;
 
     if (connection.getProtocolVersion().noLessThan(ProtocolVersion.MINECRAFT_1_19_3)) {
-      this.tabList = new VelocityTabList(this);
+      this.tabList = new VelocityTabList(this, server.getSharedTabList());
     } else if (connection.getProtocolVersion().noLessThan(ProtocolVersion.MINECRAFT_1_8)) {
       this.tabList = new KeyedVelocityTabList(this, server);
     } else {
@@ -386,7 +392,7 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
   public Component translateMessage(Component message) {
     Locale locale = ClosestLocaleMatcher.INSTANCE
         .lookupClosest(getEffectiveLocale() == null ? Locale.getDefault() : getEffectiveLocale());
-    return GlobalTranslator.render(message, locale);
+    return TranslationRenderCache.INSTANCE.render(message, locale);
   }
 
   @Override
@@ -411,6 +417,24 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
         .toClient());
   }
 
+  /**
+   * Sends a message that is broadcast to many players, sharing its rendering and serialization
+   * with the other recipients.
+   *
+   * @param identity the identity of the sender
+   * @param message the message being broadcast
+   * @param type the type of the message
+   */
+  public void sendBroadcastMessage(Identity identity, BroadcastRenderCache message,
+      ChatType type) {
+    Locale locale = getEffectiveLocale() == null ? Locale.getDefault() : getEffectiveLocale();
+    connection.write(getChatBuilderFactory().builder()
+        .component(message.serialize(locale, getProtocolVersion()))
+        .forIdentity(identity)
+        .setType(type)
+        .toClient());
+  }
+
   @Override
   public void sendActionBar(net.kyori.adventure.text.@NonNull Component message) {
     Component translated = translateMessage(message);
@@ -574,12 +598,25 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
 
   @Override
   public ConnectionRequestBuilder createConnectionRequest(RegisteredServer server) {
-    return new ConnectionRequestBuilderImpl(server, this.connectedServer);
+    return new ConnectionRequestBuilderImpl(server, this.connectedServer, null);
   }
 
   private ConnectionRequestBuilder createConnectionRequest(RegisteredServer server,
       @Nullable VelocityServerConnection previousConnection) {
-    return new ConnectionRequestBuilderImpl(server, previousConnection);
+    return new ConnectionRequestBuilderImpl(server, previousConnection, null);
+  }
+
+  /**
+   * Creates a connection request that uses a channel which is already connected to the server.
+   * The channel is closed if the request ends up connecting elsewhere, or not at all.
+   *
+   * @param server the server to connect to
+   * @param established an active channel to the server that nothing has been sent over yet
+   * @return the connection request
+   */
+  ConnectionRequestBuilder createConnectionRequest(RegisteredServer server,
+      Channel established) {
+    return new ConnectionRequestBuilderImpl(server, this.connectedServer, established);
   }
 
   @Override
@@ -872,9 +909,21 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
 
     for (int i = tryIndex; i < serversToTry.size(); i++) {
       String toTryName = serversToTry.get(i);
-      if ((connectedServer != null && hasSameName(connectedServer.getServer(), toTryName))
-          || (connectionInFlight != null && hasSameName(connectionInFlight.getServer(), toTryName))
-          || (current != null && hasSameName(current, toTryName))) {
+      ServerGroup group = server.getConfiguration().getServerGroups().get(toTryName);
+      if (group != null) {
+        // Stay on this entry until every server in the group has been tried
+        Optional<RegisteredServer> selected = server.getServerBalancer().select(group,
+            candidate -> !isUnavailable(candidate.getServerInfo().getName(), current)
+                && !triedGroupServers.contains(candidate.getServerInfo().getName()));
+        if (selected.isPresent()) {
+          tryIndex = i;
+          triedGroupServers.add(selected.get().getServerInfo().getName());
+          return selected;
+        }
+        continue;
+      }
+
+      if (isUnavailable(toTryName, current)) {
         continue;
       }
 
@@ -884,6 +933,58 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
     return Optional.empty();
   }
 
+  /**
+   * Determines which server {@link #getNextServerToTry()} would return if connecting to
+   * {@code current} failed, without marking it as tried.
+   *
+   * @param current the server that is being connected to, if any
+   * @return the server that would be tried next
+   */
+  Optional<RegisteredServer> peekNextServerToTry(@Nullable RegisteredServer current) {
+    int previousIndex = this.tryIndex;
+    Set<String> previousTried = new HashSet<>(this.triedGroupServers);
+    try {
+      return getNextServerToTry(current);
+    } finally {
+      this.tryIndex = previousIndex;
+      this.triedGroupServers.retainAll(previousTried);
+    }
+  }
+
+  /**
+   * Marks {@code tried} as already attempted, so that {@link #getNextServerToTry()} moves past it
+   * even though it isn't the server that is being failed over from.
+   *
+   * @param tried the server that is being connected to, or couldn't be connected to
+   */
+  void markServerTried(RegisteredServer tried) {
+    if (serversToTry == null) {
+      return;
+    }
+    String name = tried.getServerInfo().getName();
+    for (int i = tryIndex; i < serversToTry.size(); i++) {
+      String toTryName = serversToTry.get(i);
+      ServerGroup group = server.getConfiguration().getServerGroups().get(toTryName);
+      if (group != null) {
+        if (group.getServers().stream().anyMatch(name::equalsIgnoreCase)) {
+          tryIndex = i;
+          triedGroupServers.add(name);
+          return;
+        }
+      } else if (toTryName.equalsIgnoreCase(name)) {
+        tryIndex = i + 1;
+        return;
+      }
+    }
+  }
+
+  private boolean isUnavailable(String name, @Nullable RegisteredServer current) {
+    return (connectedServer != null && hasSameName(connectedServer.getServer(), name))
+        || (connectionInFlight != null && hasSameName(connectionInFlight.getServer(), name))
+        || (current != null && hasSameName(current, name))
+        || server.getServer(name).map(rs -> rs.getHealth() == ServerHealth.DOWN).orElse(false);
+  }
+
   private static boolean hasSameName(RegisteredServer server, String name) {
     return server.getServerInfo().getName().equalsIgnoreCase(name);
   }
@@ -896,6 +997,7 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
   public void setConnectedServer(@Nullable VelocityServerConnection serverConnection) {
     this.connectedServer = serverConnection;
     this.tryIndex = 0; // reset since we got connected to a server
+    this.triedGroupServers.clear();
 
     if (serverConnection == connectionInFlight) {
       connectionInFlight = null;
@@ -1339,11 +1441,28 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
 
     private final RegisteredServer toConnect;
     private final @Nullable VelocityRegisteredServer previousServer;
+    private @Nullable Channel established;
 
     ConnectionRequestBuilderImpl(RegisteredServer toConnect,
-                                 @Nullable VelocityServerConnection previousConnection) {
+                                 @Nullable VelocityServerConnection previousConnection,
+                                 @Nullable Channel established) {
       this.toConnect = Preconditions.checkNotNull(toConnect, "info");
       this.previousServer = previousConnection == null ? null : previousConnection.getServer();
+      this.established = established;
+    }
+
+    /**
+     * Hands out the channel that is already connected to {@code destination}, closing it if it is
+     * connected to a different server. A request may only use it once.
+     */
+    private @Nullable Channel takeEstablished(@Nullable RegisteredServer destination) {
+      Channel channel = this.established;
+      this.established = null;
+      if (channel != null && destination != toConnect) {
+        channel.close();
+        return null;
+      }
+      return channel;
     }
 
     @Override
@@ -1372,6 +1491,7 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
     private CompletableFuture<Impl> internalConnect() {
       return this.getInitialStatus().thenCompose(initialCheck -> {
         if (initialCheck.isPresent()) {
+          takeEstablished(null);
           return completedFuture(plainResult(initialCheck.get(), toConnect));
         }
 
@@ -1379,6 +1499,7 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
             new ServerPreConnectEvent(ConnectedPlayer.this, toConnect, previousServer);
         return server.getEventManager().fire(event).thenComposeAsync(newEvent -> {
           Optional<RegisteredServer> newDest = newEvent.getResult().getServer();
+          Channel ready = takeEstablished(newDest.orElse(null));
           if (newDest.isEmpty()) {
             return completedFuture(
                 plainResult(ConnectionRequestBuilder.Status.CONNECTION_CANCELLED, toConnect));
@@ -1387,15 +1508,26 @@ public class ConnectedPlayer implements MinecraftConnectionAssociation, Player,
           RegisteredServer realDestination = newDest.get();
           Optional<ConnectionRequestBuilder.Status> check = checkServer(realDestination);
           if (check.isPresent()) {
+            if (ready != null) {
+              ready.close();
+            }
             return completedFuture(plainResult(check.get(), realDestination));
           }
+          if (ready == null && realDestination.getHealth() == ServerHealth.DOWN) {
+            // Fail fast instead of waiting for the connection to time out, so that the player is
+            // moved on to the next server right away
+            return completedFuture(forDisconnect(
+                Component.translatable("velocity.error.connecting-server-error",
+                    Component.text(realDestination.getServerInfo().getName())),
+                realDestination));
+          }
 
           VelocityRegisteredServer vrs = (VelocityRegisteredServer) realDestination;
           VelocityServerConnection con =
               new VelocityServerConnection(vrs, previousServer, ConnectedPlayer.this, server);
           connectionInFlight = con;
-          return con.connect().whenCompleteAsync((result, exception) -> this.resetIfInFlightIs(con),
-              connection.eventLoop());
+          return con.connect(ready).whenCompleteAsync(
+              (result, exception) -> this.resetIfInFlightIs(con), connection.eventLoop());
         }, connection.eventLoop());
       });
     }
@@ -68,6 +68,10 @@ public class HandshakeSessionHandler implements MinecraftSessionHandler {
 
   @Override
   public boolean handle(LegacyPingPacket packet) {
+    if (!server.getAdmissionController().admitStatus(getRemoteInetAddress())) {
+      connection.close(true);
+      return true;
+    }
     connection.setProtocolVersion(ProtocolVersion.LEGACY);
     final StatusSessionHandler handler =
         new StatusSessionHandler(server, new LegacyInboundConnection(connection, packet));
@@ -103,8 +107,14 @@ public class HandshakeSessionHandler implements MinecraftSessionHandler {
       connection.setAssociation(ic);
 
       switch (nextState) {
-        case STATUS -> connection.setActiveSessionHandler(StateRegistry.STATUS,
+        case STATUS -> {
+          if (!server.getAdmissionController().admitStatus(getRemoteInetAddress())) {
+            connection.close(true);
+            return true;
+          }
+          connection.setActiveSessionHandler(StateRegistry.STATUS,
               new StatusSessionHandler(server, ic));
+        }
         case LOGIN -> this.handleLogin(handshake, ic);
         default ->
           // If you get this, it's a bug in Velocity.
@@ -134,8 +144,7 @@ public class HandshakeSessionHandler implements MinecraftSessionHandler {
       return;
     }
 
-    final InetAddress address = ((InetSocketAddress) connection.getRemoteAddress()).getAddress();
-    if (!server.getIpAttemptLimiter().attempt(address)) {
+    if (!server.getAdmissionController().admitLogin(getRemoteInetAddress())) {
       // Bump connection into correct protocol state so that we can send the disconnect packet.
       connection.setState(StateRegistry.LOGIN);
       ic.disconnectQuietly(Component.translatable("velocity.error.logging-in-too-fast"));
@@ -162,6 +171,10 @@ public class HandshakeSessionHandler implements MinecraftSessionHandler {
         new InitialLoginSessionHandler(server, connection, lic));
   }
 
+  private InetAddress getRemoteInetAddress() {
+    return ((InetSocketAddress) connection.getRemoteAddress()).getAddress();
+  }
+
   private ConnectionType getHandshakeConnectionType(HandshakePacket handshake) {
     if (handshake.getServerAddress().contains(ModernForgeConstants.MODERN_FORGE_TOKEN)
             && handshake.getProtocolVersion().noLessThan(ProtocolVersion.MINECRAFT_1_20_2)) {
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.client;
+
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Races TCP connections to two servers. The connection to the preferred server is started right
+ * away, and the one to the alternative server only if the first hasn't been established after a
+ * delay, or failed. Whichever connection is established first is used, and the other one is
+ * closed before anything is sent over it.
+ *
+ * <p>All state is only touched on the event loop of the player.
+ */
+final class HedgedConnect {
+
+  private final VelocityServer server;
+  private final EventLoop eventLoop;
+  private final VelocityRegisteredServer preferred;
+  private final VelocityRegisteredServer alternative;
+  private final CompletableFuture<Established> result = new CompletableFuture<>();
+  private @Nullable ChannelFuture preferredAttempt;
+  private @Nullable ChannelFuture alternativeAttempt;
+  private @Nullable ScheduledFuture<?> hedgeTimer;
+  private @Nullable Throwable preferredFailure;
+  private int pending;
+
+  private HedgedConnect(VelocityServer server, EventLoop eventLoop,
+      VelocityRegisteredServer preferred, VelocityRegisteredServer alternative) {
+    this.server = server;
+    this.eventLoop = eventLoop;
+    this.preferred = preferred;
+    this.alternative = alternative;
+  }
+
+  /**
+   * Connects to whichever of the two servers accepts a connection first.
+   *
+   * @param server the proxy
+   * @param eventLoop the event loop of the player
+   * @param preferred the server to connect to first
+   * @param alternative the server to connect to if {@code preferred} is slow or unreachable
+   * @param delayMillis how long to wait for {@code preferred} before connecting to
+   *                    {@code alternative} as well
+   * @return a future completed with the established connection, or completed exceptionally with
+   *         the reason {@code preferred} couldn't be connected to if neither server could be
+   */
+  static CompletableFuture<Established> race(VelocityServer server, EventLoop eventLoop,
+      VelocityRegisteredServer preferred, VelocityRegisteredServer alternative,
+      long delayMillis) {
+    HedgedConnect connect = new HedgedConnect(server, eventLoop, preferred, alternative);
+    eventLoop.execute(() -> connect.start(delayMillis));
+    return connect.result;
+  }
+
+  private void start(long delayMillis) {
+    preferredAttempt = attempt(preferred);
+    if (!result.isDone() && alternativeAttempt == null) {
+      hedgeTimer = eventLoop.schedule(this::startAlternative, delayMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void startAlternative() {
+    if (hedgeTimer != null) {
+      hedgeTimer.cancel(false);
+      hedgeTimer = null;
+    }
+    if (!result.isDone() && alternativeAttempt == null) {
+      alternativeAttempt = attempt(alternative);
+    }
+  }
+
+  private @Nullable ChannelFuture attempt(VelocityRegisteredServer target) {
+    Channel pooled = server.getBackendConnectionPool().take(target, eventLoop);
+    if (pooled != null) {
+      win(target, pooled);
+      return null;
+    }
+
+    pending++;
+    long connectStart = System.nanoTime();
+    return server.createBootstrap(eventLoop)
+        .handler(server.getBackendChannelInitializer())
+        .connect(target.getServerInfo().getAddress())
+        .addListener((ChannelFutureListener) future -> {
+          pending--;
+          if (result.isDone()) {
+            // Lost the race, or was cancelled because the other connection won it
+            future.channel().close();
+            return;
+          }
+          if (future.isSuccess()) {
+            target.recordConnectLatency(System.nanoTime() - connectStart);
+            server.getServerHealthChecker().recordConnection(target, true);
+            win(target, future.channel());
+            return;
+          }
+
+          server.getServerHealthChecker().recordConnection(target, false);
+          if (target == preferred) {
+            preferredFailure = future.cause();
+            // Don't wait for the timer, the preferred server is out of the race anyway
+            startAlternative();
+          }
+          if (pending == 0 && !result.isDone()) {
+            result.completeExceptionally(preferredFailure != null ? preferredFailure
+                : future.cause());
+          }
+        });
+  }
+
+  private void win(VelocityRegisteredServer target, Channel channel) {
+    if (hedgeTimer != null) {
+      hedgeTimer.cancel(false);
+      hedgeTimer = null;
+    }
+    result.complete(new Established(target, channel));
+    cancel(preferredAttempt, channel);
+    cancel(alternativeAttempt, channel);
+  }
+
+  private static void cancel(@Nullable ChannelFuture attempt, Channel winner) {
+    if (attempt != null && attempt.channel() != winner) {
+      attempt.channel().close();
+    }
+  }
+
+  /**
+   * A connection that won the race.
+   *
+   * @param server the server that was connected to
+   * @param channel the connected channel, which nothing has been sent over yet
+   */
+  record Established(VelocityRegisteredServer server, Channel channel) {
+  }
+}
@@ -24,8 +24,8 @@ import com.velocitypowered.proxy.connection.MinecraftSessionHandler;
 import com.velocitypowered.proxy.connection.backend.BungeeCordMessageResponder;
 import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
 import com.velocitypowered.proxy.protocol.packet.PluginMessagePacket;
+import com.velocitypowered.proxy.protocol.util.PluginMessageUtil;
 import io.netty.buffer.ByteBufUtil;
-import io.netty.buffer.Unpooled;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -59,24 +59,33 @@ public class InitialConnectSessionHandler implements MinecraftSessionHandler {
       }
 
       ChannelIdentifier id = server.getChannelRegistrar().getFromId(packet.getChannel());
-      if (id == null) {
+      if (id == null || !server.getEventManager().hasSubscribers(PluginMessageEvent.class)) {
+        if (id != null && server.getEventManager()
+            .hasOnlyBatchedSubscribers(PluginMessageEvent.class)) {
+          server.getEventManager().fireAndForget(new PluginMessageEvent(serverConn,
+              serverConn.getPlayer(), id, ByteBufUtil.getBytes(packet.content())));
+        }
         serverConn.ensureConnected().write(packet.retain());
         return true;
       }
 
-      byte[] copy = ByteBufUtil.getBytes(packet.content());
+      PluginMessagePacket retained = packet.retain();
       PluginMessageEvent event = new PluginMessageEvent(serverConn, serverConn.getPlayer(), id,
-          copy);
+          PluginMessageUtil.payloadView(retained));
       server.getEventManager().fire(event)
           .thenAcceptAsync(pme -> {
+            // Plugins may keep the event around, so it must not read from the packet anymore
+            pme.invalidateData();
             if (pme.getResult().isAllowed() && serverConn.isActive()) {
-              PluginMessagePacket copied = new PluginMessagePacket(packet.getChannel(),
-                  Unpooled.wrappedBuffer(copy));
-              serverConn.ensureConnected().write(copied);
+              serverConn.ensureConnected().write(retained);
+            } else {
+              retained.release();
             }
           }, player.getConnection().eventLoop())
           .exceptionally((ex) -> {
             logger.error("Exception while handling plugin message {}", packet, ex);
+            event.invalidateData();
+            retained.release();
             return null;
           });
     }
@@ -26,12 +26,12 @@ import com.velocitypowered.proxy.connection.util.VelocityInboundConnection;
 import com.velocitypowered.proxy.protocol.packet.DisconnectPacket;
 import com.velocitypowered.proxy.protocol.packet.HandshakePacket;
 import com.velocitypowered.proxy.util.ClosestLocaleMatcher;
+import com.velocitypowered.proxy.util.TranslationRenderCache;
 import java.net.InetSocketAddress;
 import java.util.Locale;
 import java.util.Optional;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.logger.slf4j.ComponentLogger;
-import net.kyori.adventure.translation.GlobalTranslator;
 
 /**
  * Implements {@link InboundConnection} for a newly-established connection.
@@ -104,8 +104,8 @@ public final class InitialInboundConnection implements VelocityInboundConnection
    * @param reason the reason for disconnecting
    */
   public void disconnect(Component reason) {
-    Component translated = GlobalTranslator.render(reason, ClosestLocaleMatcher.INSTANCE
-        .lookupClosest(Locale.getDefault()));
+    Component translated = TranslationRenderCache.INSTANCE.render(reason,
+        ClosestLocaleMatcher.INSTANCE.lookupClosest(Locale.getDefault()));
     if (connection.server.getConfiguration().isLogPlayerConnections()) {
       logger.info(Component.text(this + " has disconnected: ").append(translated));
     }
@@ -118,8 +118,8 @@ public final class InitialInboundConnection implements VelocityInboundConnection
    * @param reason the reason for disconnecting
    */
   public void disconnectQuietly(Component reason) {
-    Component translated = GlobalTranslator.render(reason, ClosestLocaleMatcher.INSTANCE
-        .lookupClosest(Locale.getDefault()));
+    Component translated = TranslationRenderCache.INSTANCE.render(reason,
+        ClosestLocaleMatcher.INSTANCE.lookupClosest(Locale.getDefault()));
     connection.closeWith(DisconnectPacket.create(translated, getProtocolVersion(), connection.getState()));
   }
 }
\ No newline at end of file
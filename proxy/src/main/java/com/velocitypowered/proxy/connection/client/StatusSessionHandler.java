@@ -95,6 +95,22 @@ public class StatusSessionHandler implements MinecraftSessionHandler {
     }
     this.pingReceived = true;
 
+    if (!server.getEventManager().hasSubscribers(ProxyPingEvent.class)) {
+      // Nothing can change the response, so it can be shared with other connections.
+      if (server.getEventManager().hasOnlyBatchedSubscribers(ProxyPingEvent.class)) {
+        this.server.getServerListPingHandler().getInitialPing(inbound)
+            .thenAccept(ping -> server.getEventManager()
+                .fireAndForget(new ProxyPingEvent(inbound, ping)));
+      }
+      this.server.getServerListPingHandler().getStatusResponse(inbound)
+          .thenAcceptAsync(connection::write, connection.eventLoop())
+          .exceptionally((ex) -> {
+            logger.error("Exception while handling status request {}", packet, ex);
+            return null;
+          });
+      return true;
+    }
+
     this.server.getServerListPingHandler().getInitialPing(inbound)
         .thenCompose(ping -> server.getEventManager().fire(new ProxyPingEvent(inbound, ping)))
         .thenAcceptAsync(
@@ -17,6 +17,7 @@
 
 package com.velocitypowered.proxy.connection.player.resourcepack.handler;
 
+import com.google.common.hash.HashCode;
 import com.velocitypowered.api.event.player.PlayerResourcePackStatusEvent;
 import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.api.proxy.player.ResourcePackInfo;
@@ -24,7 +25,6 @@ import com.velocitypowered.proxy.VelocityServer;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.connection.player.resourcepack.ResourcePackResponseBundle;
 import java.util.ArrayDeque;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Queue;
@@ -43,6 +43,7 @@ public sealed class LegacyResourcePackHandler extends ResourcePackHandler
   protected final Queue<ResourcePackInfo> outstandingResourcePacks = new ArrayDeque<>();
   private @Nullable ResourcePackInfo pendingResourcePack;
   private @Nullable ResourcePackInfo appliedResourcePack;
+  private @Nullable HashCode appliedResourcePackKey;
 
   LegacyResourcePackHandler(final ConnectedPlayer player, final VelocityServer server) {
     super(player, server);
@@ -79,7 +80,12 @@ public sealed class LegacyResourcePackHandler extends ResourcePackHandler
   @Override
   public void clearAppliedResourcePacks() {
     // This is valid only for players with 1.20.2 versions
-    this.appliedResourcePack = null;
+    setAppliedResourcePack(null);
+  }
+
+  private void setAppliedResourcePack(final @Nullable ResourcePackInfo pack) {
+    this.appliedResourcePack = pack;
+    this.appliedResourcePackKey = pack == null ? null : hashKey(pack.getHash());
   }
 
   @Override
@@ -149,7 +155,7 @@ public sealed class LegacyResourcePackHandler extends ResourcePackHandler
       }
       case DECLINED -> previousResourceResponse = false;
       case SUCCESSFUL -> {
-        appliedResourcePack = queued;
+        setAppliedResourcePack(queued);
         pendingResourcePack = null;
       }
       case FAILED_DOWNLOAD -> pendingResourcePack = null;
@@ -157,7 +163,7 @@ public sealed class LegacyResourcePackHandler extends ResourcePackHandler
         if (queued != null && queued.getId() != null
                 && appliedResourcePack != null
                 && appliedResourcePack.getId().equals(queued.getId())) {
-          appliedResourcePack = null;
+          setAppliedResourcePack(null);
         }
       }
       default -> {
@@ -173,12 +179,8 @@ public sealed class LegacyResourcePackHandler extends ResourcePackHandler
 
   @Override
   public boolean hasPackAppliedByHash(final byte[] hash) {
-    if (hash == null) {
-      return false;
-    }
-
-    return this.appliedResourcePack != null
-            && Arrays.equals(this.appliedResourcePack.getHash(), hash);
+    final HashCode key = hashKey(hash);
+    return key != null && key.equals(this.appliedResourcePackKey);
   }
 
   protected boolean shouldDisconnectForForcePack(final PlayerResourcePackStatusEvent event) {
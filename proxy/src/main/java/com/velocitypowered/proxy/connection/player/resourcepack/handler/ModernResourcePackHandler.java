@@ -19,12 +19,12 @@ package com.velocitypowered.proxy.connection.player.resourcepack.handler;
 
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimaps;
+import com.google.common.hash.HashCode;
 import com.velocitypowered.api.event.player.PlayerResourcePackStatusEvent;
 import com.velocitypowered.api.proxy.player.ResourcePackInfo;
 import com.velocitypowered.proxy.VelocityServer;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.connection.player.resourcepack.ResourcePackResponseBundle;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
@@ -44,6 +44,8 @@ public final class ModernResourcePackHandler extends ResourcePackHandler {
       Multimaps.newListMultimap(new ConcurrentHashMap<>(), LinkedList::new);
   private final Map<UUID, ResourcePackInfo> pendingResourcePacks = new ConcurrentHashMap<>();
   private final Map<UUID, ResourcePackInfo> appliedResourcePacks = new ConcurrentHashMap<>();
+  // The keys of the applied packs, with how many applied packs share each of them
+  private final Map<HashCode, Integer> appliedPackKeys = new ConcurrentHashMap<>();
 
   ModernResourcePackHandler(final ConnectedPlayer player, final VelocityServer server) {
     super(player, server);
@@ -80,12 +82,40 @@ public final class ModernResourcePackHandler extends ResourcePackHandler {
     this.outstandingResourcePacks.clear();
     this.pendingResourcePacks.clear();
     this.appliedResourcePacks.clear();
+    this.appliedPackKeys.clear();
   }
 
   @Override
   public boolean remove(final @NotNull UUID uuid) {
     outstandingResourcePacks.removeAll(uuid);
-    return appliedResourcePacks.remove(uuid) != null | pendingResourcePacks.remove(uuid) != null;
+    return removeAppliedPack(uuid) | pendingResourcePacks.remove(uuid) != null;
+  }
+
+  private void addAppliedPack(final UUID uuid, final ResourcePackInfo pack) {
+    final ResourcePackInfo previous = appliedResourcePacks.put(uuid, pack);
+    if (previous != null) {
+      forgetAppliedKey(previous);
+    }
+    final HashCode key = hashKey(pack.getHash());
+    if (key != null) {
+      appliedPackKeys.merge(key, 1, Integer::sum);
+    }
+  }
+
+  private boolean removeAppliedPack(final UUID uuid) {
+    final ResourcePackInfo removed = appliedResourcePacks.remove(uuid);
+    if (removed == null) {
+      return false;
+    }
+    forgetAppliedKey(removed);
+    return true;
+  }
+
+  private void forgetAppliedKey(final ResourcePackInfo pack) {
+    final HashCode key = hashKey(pack.getHash());
+    if (key != null) {
+      appliedPackKeys.computeIfPresent(key, (ignored, count) -> count == 1 ? null : count - 1);
+    }
   }
 
   @Override
@@ -149,7 +179,7 @@ public final class ModernResourcePackHandler extends ResourcePackHandler {
       case SUCCESSFUL -> {
         pendingResourcePacks.remove(uuid);
         if (queued != null) {
-          appliedResourcePacks.put(uuid, queued);
+          addAppliedPack(uuid, queued);
         } else {
           // When transitioning to another server that has a resource pack to apply,
           // if one or more resource packs have already been applied from Velocity,
@@ -166,7 +196,7 @@ public final class ModernResourcePackHandler extends ResourcePackHandler {
       // so the resource pack cannot be applied.
       case DISCARDED, DECLINED, FAILED_RELOAD, FAILED_DOWNLOAD, INVALID_URL -> {
         pendingResourcePacks.remove(uuid);
-        appliedResourcePacks.remove(uuid);
+        removeAppliedPack(uuid);
       }
       // The other cases in which no action is taken are documented in the javadocs.
       default -> {
@@ -182,14 +212,7 @@ public final class ModernResourcePackHandler extends ResourcePackHandler {
 
   @Override
   public boolean hasPackAppliedByHash(final byte[] hash) {
-    if (hash == null) {
-      return false;
-    }
-    for (final Map.Entry<UUID, ResourcePackInfo> appliedPack : appliedResourcePacks.entrySet()) {
-      if (Arrays.equals(appliedPack.getValue().getHash(), hash)) {
-        return true;
-      }
-    }
-    return false;
+    final HashCode key = hashKey(hash);
+    return key != null && appliedPackKeys.containsKey(key);
   }
 }
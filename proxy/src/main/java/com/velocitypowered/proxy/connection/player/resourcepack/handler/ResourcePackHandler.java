@@ -17,6 +17,7 @@
 
 package com.velocitypowered.proxy.connection.player.resourcepack.handler;
 
+import com.google.common.hash.HashCode;
 import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.api.proxy.player.ResourcePackInfo;
 import com.velocitypowered.proxy.VelocityServer;
@@ -171,6 +172,16 @@ public abstract sealed class ResourcePackHandler
    */
   public abstract boolean hasPackAppliedByHash(final byte[] hash);
 
+  /**
+   * Returns the key an applied pack with the given SHA-1 hash is tracked under.
+   *
+   * @param hash the resource pack hash, which may be {@code null}
+   * @return the key, or {@code null} if the pack has no hash
+   */
+  static @Nullable HashCode hashKey(final byte[] hash) {
+    return hash == null || hash.length == 0 ? null : HashCode.fromBytes(hash);
+  }
+
   @SuppressWarnings("checkstyle:MissingJavadocMethod")
   public void checkAlreadyAppliedPack(final byte[] hash) {
     if (this.hasPackAppliedByHash(hash)) {
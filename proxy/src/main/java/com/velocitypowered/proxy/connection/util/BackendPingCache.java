@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.util;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.PingOptions;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the server list pings of backend servers used for ping passthrough, so that status
+ * requests from clients don't each open a new connection to every backend.
+ *
+ * <p>Once a response is older than the refresh interval, the next lookup returns it as-is and
+ * triggers a single background refresh. Concurrent lookups for a missing entry share the same
+ * in-flight ping. Failed pings are cached as well, so an unreachable backend is not retried more
+ * than once per interval.
+ */
+final class BackendPingCache {
+
+  /**
+   * Entries that haven't been refreshed for this many intervals are dropped instead of being
+   * served, which happens once nobody has pinged the proxy for a while.
+   */
+  private static final int EXPIRY_INTERVALS = 6;
+
+  private final long refreshIntervalMillis;
+  private final AsyncLoadingCache<Key, Optional<ServerPing>> pings;
+
+  BackendPingCache(final long refreshIntervalMillis) {
+    this.refreshIntervalMillis = refreshIntervalMillis;
+    this.pings = Caffeine.newBuilder()
+        .refreshAfterWrite(refreshIntervalMillis, TimeUnit.MILLISECONDS)
+        .expireAfterWrite(refreshIntervalMillis * EXPIRY_INTERVALS, TimeUnit.MILLISECONDS)
+        .buildAsync((key, executor) -> key.server()
+            .ping(null, PingOptions.builder().version(key.version()).build())
+            .handle((ping, ex) -> Optional.ofNullable(ex == null ? ping : null)));
+  }
+
+  long getRefreshIntervalMillis() {
+    return refreshIntervalMillis;
+  }
+
+  /**
+   * Returns the most recent ping of {@code server} claiming to be {@code version}, pinging the
+   * server only if no response is cached yet.
+   *
+   * @param server the server to ping
+   * @param version the protocol version to ping the server with
+   * @return a future completed with the ping, or completed exceptionally if the server could not
+   *         be pinged
+   */
+  CompletableFuture<ServerPing> get(final VelocityRegisteredServer server,
+      final ProtocolVersion version) {
+    return pings.get(new Key(server, version)).thenApply(ping -> ping.orElseThrow(
+        () -> new IllegalStateException("Unable to ping " + server.getServerInfo().getName())));
+  }
+
+  /**
+   * Keyed on the server instance, so a server that is re-registered under the same name doesn't
+   * inherit the responses of its predecessor.
+   */
+  private record Key(VelocityRegisteredServer server, ProtocolVersion version) {
+  }
+}
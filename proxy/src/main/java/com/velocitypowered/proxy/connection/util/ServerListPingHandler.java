@@ -22,18 +22,26 @@ import com.spotify.futures.CompletableFutures;
 import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.api.proxy.server.PingOptions;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerHealth;
 import com.velocitypowered.api.proxy.server.ServerPing;
 import com.velocitypowered.api.util.ModInfo;
 import com.velocitypowered.proxy.VelocityServer;
 import com.velocitypowered.proxy.config.PingPassthroughMode;
+import com.velocitypowered.proxy.config.ServerGroup;
 import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.protocol.packet.StatusResponsePacket;
 import com.velocitypowered.proxy.server.VelocityRegisteredServer;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Common utilities for handling server list ping results.
@@ -41,11 +49,29 @@ import java.util.concurrent.CompletableFuture;
 public class ServerListPingHandler {
 
   private final VelocityServer server;
+  private volatile @Nullable BackendPingCache pingCache;
+  private final Map<StatusKey, CachedStatusResponse> statusResponses = new ConcurrentHashMap<>();
+  private final AtomicInteger statusGeneration = new AtomicInteger();
 
   public ServerListPingHandler(VelocityServer server) {
     this.server = server;
   }
 
+  private @Nullable BackendPingCache getPingCache() {
+    int interval = server.getConfiguration().getPingPassthroughRefreshInterval();
+    if (interval <= 0) {
+      this.pingCache = null;
+      return null;
+    }
+    BackendPingCache cache = this.pingCache;
+    if (cache == null || cache.getRefreshIntervalMillis() != interval) {
+      // Either the first passthrough ping or the interval was changed by a reload.
+      cache = new BackendPingCache(interval);
+      this.pingCache = cache;
+    }
+    return cache;
+  }
+
   private ServerPing constructLocalPing(ProtocolVersion version) {
     if (version == ProtocolVersion.UNKNOWN) {
       version = ProtocolVersion.MAXIMUM_VERSION;
@@ -65,15 +91,20 @@ public class ServerListPingHandler {
   private CompletableFuture<ServerPing> attemptPingPassthrough(VelocityInboundConnection connection,
       PingPassthroughMode mode, List<String> servers, ProtocolVersion responseProtocolVersion) {
     ServerPing fallback = constructLocalPing(connection.getProtocolVersion());
+    BackendPingCache cache = getPingCache();
     List<CompletableFuture<ServerPing>> pings = new ArrayList<>();
-    for (String s : servers) {
+    for (String s : expandServerGroups(servers)) {
       Optional<RegisteredServer> rs = server.getServer(s);
-      if (rs.isEmpty()) {
+      if (rs.isEmpty() || rs.get().getHealth() == ServerHealth.DOWN) {
         continue;
       }
       VelocityRegisteredServer vrs = (VelocityRegisteredServer) rs.get();
-      pings.add(vrs.ping(connection.getConnection().eventLoop(), PingOptions.builder()
-              .version(responseProtocolVersion).build()));
+      if (cache != null) {
+        pings.add(cache.get(vrs, responseProtocolVersion));
+      } else {
+        pings.add(vrs.ping(connection.getConnection().eventLoop(), PingOptions.builder()
+            .version(responseProtocolVersion).build()));
+      }
     }
     if (pings.isEmpty()) {
       return CompletableFuture.completedFuture(fallback);
@@ -135,6 +166,23 @@ public class ServerListPingHandler {
     }
   }
 
+  private List<String> expandServerGroups(List<String> servers) {
+    Map<String, ServerGroup> groups = server.getConfiguration().getServerGroups();
+    if (groups.isEmpty()) {
+      return servers;
+    }
+    List<String> expanded = new ArrayList<>(servers.size());
+    for (String s : servers) {
+      ServerGroup group = groups.get(s);
+      if (group != null) {
+        expanded.addAll(group.getServers());
+      } else {
+        expanded.add(s);
+      }
+    }
+    return expanded;
+  }
+
   /**
    * Fetches the "default" server ping for a player.
    *
@@ -150,12 +198,106 @@ public class ServerListPingHandler {
     if (passthroughMode == PingPassthroughMode.DISABLED) {
       return CompletableFuture.completedFuture(constructLocalPing(shownVersion));
     } else {
-      String virtualHostStr = connection.getVirtualHost().map(InetSocketAddress::getHostString)
-          .map(str -> str.toLowerCase(Locale.ROOT))
-          .orElse("");
-      List<String> serversToTry = server.getConfiguration().getForcedHosts().getOrDefault(
-          virtualHostStr, server.getConfiguration().getAttemptConnectionOrder());
+      String forcedHost = getForcedHost(connection);
+      List<String> serversToTry = forcedHost == null
+          ? configuration.getAttemptConnectionOrder()
+          : configuration.getForcedHosts().get(forcedHost);
       return attemptPingPassthrough(connection, passthroughMode, serversToTry, shownVersion);
     }
   }
+
+  /**
+   * Returns the encoded status response for a connection, for use when no plugin listens to
+   * {@link com.velocitypowered.api.event.proxy.ProxyPingEvent}. Responses are shared between
+   * connections with the same protocol version and forced host until the player count changes by
+   * more than the configured granularity, the response is {@link #invalidateStatusResponses()
+   * invalidated}, or, with ping passthrough, the backend pings are due for a refresh. Only one
+   * response is built at a time for each protocol version and forced host; concurrent requests
+   * share it.
+   *
+   * @param connection the connection
+   * @return a future with the status response
+   */
+  public CompletableFuture<StatusResponsePacket> getStatusResponse(
+      VelocityInboundConnection connection) {
+    VelocityConfiguration configuration = server.getConfiguration();
+    int granularity = configuration.getStatusResponseCacheGranularity();
+    long maxAgeMillis = configuration.getPingPassthrough() == PingPassthroughMode.DISABLED
+        ? Long.MAX_VALUE : configuration.getPingPassthroughRefreshInterval();
+    ProtocolVersion version = connection.getProtocolVersion();
+    if (granularity <= 0 || maxAgeMillis <= 0) {
+      return getInitialPing(connection).thenApply(ping -> encode(ping, version, false));
+    }
+
+    StatusKey key = new StatusKey(version, getForcedHost(connection));
+    int generation = statusGeneration.get();
+    int playerBucket = server.getPlayerCount() / granularity;
+    long now = System.nanoTime();
+    long maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+    CachedStatusResponse cached = statusResponses.get(key);
+    if (cached != null && cached.isValid(generation, playerBucket, now, maxAgeNanos)) {
+      return cached.response();
+    }
+
+    // Make sure only one request rebuilds the response, everyone else waits for it
+    CompletableFuture<StatusResponsePacket> rebuilt = new CompletableFuture<>();
+    CachedStatusResponse entry = statusResponses.compute(key, (k, existing) ->
+        existing != null && existing.isValid(generation, playerBucket, now, maxAgeNanos)
+            ? existing : new CachedStatusResponse(rebuilt, generation, playerBucket, now));
+    if (entry.response() != rebuilt) {
+      return entry.response();
+    }
+    getInitialPing(connection).thenApply(ping -> encode(ping, version, true))
+        .whenComplete((response, ex) -> {
+          if (ex != null) {
+            // Let the next request try again
+            statusResponses.remove(key, entry);
+            rebuilt.completeExceptionally(ex);
+          } else {
+            rebuilt.complete(response);
+          }
+        });
+    return rebuilt;
+  }
+
+  /**
+   * Discards all cached status responses, so the next status request builds a new one. This is
+   * called when the configuration is reloaded or the registered servers change.
+   */
+  public void invalidateStatusResponses() {
+    statusGeneration.incrementAndGet();
+    statusResponses.clear();
+  }
+
+  private static StatusResponsePacket encode(ServerPing ping, ProtocolVersion version,
+      boolean shared) {
+    StringBuilder json = new StringBuilder();
+    VelocityServer.getPingGsonInstance(version).toJson(ping, json);
+    return shared ? StatusResponsePacket.preEncoded(json) : new StatusResponsePacket(json);
+  }
+
+  /**
+   * Returns the forced host the connection was made to, or {@code null} if the virtual host is not
+   * a forced host. Unknown hosts all share the same key, so clients can't grow the status response
+   * cache by making up host names.
+   */
+  private @Nullable String getForcedHost(VelocityInboundConnection connection) {
+    String virtualHostStr = connection.getVirtualHost().map(InetSocketAddress::getHostString)
+        .map(str -> str.toLowerCase(Locale.ROOT))
+        .orElse("");
+    return server.getConfiguration().getForcedHosts().containsKey(virtualHostStr)
+        ? virtualHostStr : null;
+  }
+
+  private record StatusKey(ProtocolVersion version, @Nullable String forcedHost) {
+  }
+
+  private record CachedStatusResponse(CompletableFuture<StatusResponsePacket> response,
+      int generation, int playerBucket, long createdAt) {
+
+    boolean isValid(int generation, int playerBucket, long now, long maxAgeNanos) {
+      return this.generation == generation && this.playerBucket == playerBucket
+          && now - this.createdAt < maxAgeNanos;
+    }
+  }
 }
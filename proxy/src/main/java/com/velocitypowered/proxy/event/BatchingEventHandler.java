@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.event;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.velocitypowered.api.event.BatchedEventHandler;
+import com.velocitypowered.api.event.EventHandler;
+import com.velocitypowered.api.plugin.PluginContainer;
+import com.velocitypowered.api.plugin.PluginDescription;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Adapts a {@link BatchedEventHandler} to a regular {@link EventHandler}. Incoming events are only
+ * appended to a buffer on the firing thread, which is swapped out and handed to the plugin's
+ * executor once the batch window elapses or the batch is full. Once the handler is
+ * {@linkplain #close() closed}, buffered events are dropped and no further batches are delivered.
+ *
+ * @param <E> the event type
+ */
+final class BatchingEventHandler<E> implements EventHandler<E> {
+
+  private static final Logger logger = LogManager.getLogger(BatchingEventHandler.class);
+
+  private final PluginContainer plugin;
+  private final Class<E> eventType;
+  private final BatchedEventHandler<E> handler;
+  private final ScheduledExecutorService timer;
+  private final Executor deliveryExecutor;
+  private final long windowNanos;
+  private final int maxBatchSize;
+
+  private final Object lock = new Object();
+  private @Nullable List<E> pending;
+  private @Nullable ScheduledFuture<?> scheduledFlush;
+  private volatile boolean closed;
+
+  BatchingEventHandler(final PluginContainer plugin, final Class<E> eventType,
+      final BatchedEventHandler<E> handler, final ScheduledExecutorService timer,
+      final long windowNanos, final int maxBatchSize) {
+    this.plugin = plugin;
+    this.eventType = eventType;
+    this.handler = handler;
+    this.timer = timer;
+    // Batches must reach the handler in order, even though the plugin executor is multithreaded.
+    this.deliveryExecutor = MoreExecutors.newSequentialExecutor(plugin.getExecutorService());
+    this.windowNanos = windowNanos;
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  @Override
+  public void execute(final E event) {
+    List<E> full = null;
+    synchronized (lock) {
+      if (closed) {
+        return;
+      }
+      if (pending == null) {
+        final List<E> batch = new ArrayList<>(Math.min(maxBatchSize, 64));
+        pending = batch;
+        if (maxBatchSize > 1) {
+          scheduledFlush = timer.schedule(() -> flush(batch), windowNanos, TimeUnit.NANOSECONDS);
+        }
+      }
+      pending.add(event);
+      if (pending.size() >= maxBatchSize) {
+        full = pending;
+        takePending();
+      }
+    }
+    if (full != null) {
+      deliver(full);
+    }
+  }
+
+  private void flush(final List<E> batch) {
+    synchronized (lock) {
+      // The batch may have been delivered early because it filled up
+      if (pending != batch) {
+        return;
+      }
+      takePending();
+    }
+    deliver(batch);
+  }
+
+  /**
+   * Detaches the pending batch, and cancels its flush in case the batch is delivered early.
+   */
+  private void takePending() {
+    pending = null;
+    if (scheduledFlush != null) {
+      scheduledFlush.cancel(false);
+      scheduledFlush = null;
+    }
+  }
+
+  /**
+   * Drops any buffered events and stops delivering batches, including ones that were already
+   * handed to the plugin's executor. Called when the handler is unregistered.
+   */
+  void close() {
+    synchronized (lock) {
+      closed = true;
+      takePending();
+    }
+  }
+
+  private void deliver(final List<E> batch) {
+    deliveryExecutor.execute(() -> {
+      if (closed) {
+        return;
+      }
+      try {
+        handler.handle(batch);
+      } catch (final Throwable t) {
+        final PluginDescription description = plugin.getDescription();
+        logger.error("Couldn't pass batch of {} {} to {} {}", batch.size(),
+            eventType.getSimpleName(), description.getId(),
+            description.getVersion().orElse(""), t);
+      }
+    });
+  }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.event;
+
+import com.velocitypowered.api.event.EventProfiler;
+import com.velocitypowered.proxy.event.VelocityEventManager.HandlerRegistration;
+import com.velocitypowered.proxy.util.VelocityProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-handler statistics for the {@link VelocityEventManager}. Profiling is disabled by
+ * default and costs a single volatile read per handler invocation while disabled. It can be
+ * enabled at startup with the {@code velocity.event-profiling} system property or at runtime
+ * through {@code /velocity events}.
+ */
+public final class EventHandlerProfiler implements EventProfiler {
+
+  /**
+   * Latencies are recorded in power-of-two nanosecond buckets, so bucket {@code i} holds
+   * samples in the range {@code [2^(i-1), 2^i)}.
+   */
+  private static final int BUCKETS = 64;
+
+  private final Map<HandlerRegistration, Recorder> statistics =
+      new ConcurrentHashMap<>();
+  private volatile boolean enabled =
+      VelocityProperties.readBoolean("velocity.event-profiling", false);
+  private volatile long enabledSince = enabled ? System.nanoTime() : 0;
+
+  EventHandlerProfiler() {
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @Override
+  public void setEnabled(final boolean enabled) {
+    if (enabled && !this.enabled) {
+      this.enabledSince = System.nanoTime();
+    }
+    this.enabled = enabled;
+  }
+
+  @Override
+  public void reset() {
+    statistics.clear();
+    if (enabled) {
+      this.enabledSince = System.nanoTime();
+    }
+  }
+
+  @Override
+  public Duration getWindow() {
+    return enabled ? Duration.ofNanos(System.nanoTime() - enabledSince) : Duration.ZERO;
+  }
+
+  void record(final HandlerRegistration registration, final long latencyNanos,
+      final long suspendedNanos, final boolean failed) {
+    if (registration.unregistered) {
+      return;
+    }
+    statistics.computeIfAbsent(registration, Recorder::new)
+        .record(latencyNanos, suspendedNanos, failed);
+  }
+
+  /**
+   * Discards the statistics of handlers that have been unregistered. Snapshots also skip them, in
+   * case an invocation that was still running recorded them again in the meantime.
+   *
+   * @param registrations the registrations that were removed
+   */
+  void forget(final Collection<HandlerRegistration> registrations) {
+    for (final HandlerRegistration registration : registrations) {
+      statistics.remove(registration);
+    }
+  }
+
+  @Override
+  public List<HandlerStatistics> snapshot() {
+    final List<HandlerStatistics> snapshots = new ArrayList<>(statistics.size());
+    for (final Recorder recorder : statistics.values()) {
+      if (recorder.registration.unregistered) {
+        statistics.remove(recorder.registration, recorder);
+        continue;
+      }
+      snapshots.add(recorder.snapshot());
+    }
+    snapshots.sort(Comparator.comparingLong(HandlerStatistics::totalNanos).reversed());
+    return snapshots;
+  }
+
+  private static int bucketFor(final long nanos) {
+    return nanos <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+  }
+
+  private static final class Recorder {
+
+    private final HandlerRegistration registration;
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder suspendedNanos = new LongAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    private Recorder(final HandlerRegistration registration) {
+      this.registration = registration;
+    }
+
+    void record(final long latencyNanos, final long suspendedNanos, final boolean failed) {
+      invocations.increment();
+      totalNanos.add(latencyNanos);
+      if (suspendedNanos > 0) {
+        this.suspendedNanos.add(suspendedNanos);
+      }
+      if (failed) {
+        failures.increment();
+      }
+      histogram.incrementAndGet(bucketFor(latencyNanos));
+    }
+
+    HandlerStatistics snapshot() {
+      final long[] counts = new long[BUCKETS];
+      long samples = 0;
+      for (int i = 0; i < BUCKETS; i++) {
+        counts[i] = histogram.get(i);
+        samples += counts[i];
+      }
+      return new HandlerStatistics(registration.plugin, registration.eventType,
+          registration.name, invocations.sum(), failures.sum(), totalNanos.sum(),
+          suspendedNanos.sum(), percentile(counts, samples, 0.50),
+          percentile(counts, samples, 0.99));
+    }
+
+    private static long percentile(final long[] counts, final long samples,
+        final double percentile) {
+      if (samples == 0) {
+        return 0;
+      }
+      final long rank = (long) Math.ceil(samples * percentile);
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          // Report the upper bound of the bucket, which overestimates by at most a factor of two.
+          return i == 0 ? 0 : (1L << Math.min(i, 62)) - 1;
+        }
+      }
+      return Long.MAX_VALUE;
+    }
+  }
+}
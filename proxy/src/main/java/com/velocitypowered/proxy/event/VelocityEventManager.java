@@ -17,6 +17,7 @@
 
 package com.velocitypowered.proxy.event;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
@@ -25,6 +26,8 @@ import com.google.common.base.VerifyException;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.velocitypowered.api.event.BatchedEventHandler;
 import com.velocitypowered.api.event.Continuation;
 import com.velocitypowered.api.event.EventHandler;
 import com.velocitypowered.api.event.EventManager;
@@ -43,6 +46,7 @@ import java.lang.invoke.MethodHandles;
 import java.lang.invoke.VarHandle;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -55,6 +59,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
@@ -108,6 +114,8 @@ public class VelocityEventManager implements EventManager {
 
   private final List<CustomHandlerAdapter<?>> handlerAdapters = new ArrayList<>();
   private final EventTypeTracker eventTypeTracker = new EventTypeTracker();
+  private final EventHandlerProfiler profiler = new EventHandlerProfiler();
+  private @Nullable ScheduledExecutorService batchTimer;
 
   /**
    * Initializes the Velocity event manager.
@@ -148,15 +156,27 @@ public class VelocityEventManager implements EventManager {
      */
     final Object instance;
 
+    /**
+     * A human-readable description of the handler, used for diagnostics.
+     */
+    final String name;
+
+    /**
+     * Set once the handler has been unregistered, so that invocations that were still running
+     * don't record statistics for it anymore.
+     */
+    volatile boolean unregistered;
+
     public HandlerRegistration(final PluginContainer plugin, final short order,
         final Class<?> eventType, final Object instance, final EventHandler<Object> handler,
-        final AsyncType asyncType) {
+        final AsyncType asyncType, final String name) {
       this.plugin = plugin;
       this.order = order;
       this.eventType = eventType;
       this.instance = instance;
       this.handler = handler;
       this.asyncType = asyncType;
+      this.name = name;
     }
   }
 
@@ -181,9 +201,16 @@ public class VelocityEventManager implements EventManager {
     final AsyncType asyncType;
     final HandlerRegistration[] handlers;
 
-    HandlersCache(AsyncType asyncType, final HandlerRegistration[] handlers) {
+    /**
+     * Whether all handlers are batched, so none of them can influence the outcome of the event.
+     */
+    final boolean onlyBatched;
+
+    HandlersCache(AsyncType asyncType, final HandlerRegistration[] handlers,
+        final boolean onlyBatched) {
       this.asyncType = asyncType;
       this.handlers = handlers;
+      this.onlyBatched = onlyBatched;
     }
   }
 
@@ -207,13 +234,17 @@ public class VelocityEventManager implements EventManager {
     baked.sort(handlerComparator);
 
     AsyncType asyncType = AsyncType.NEVER;
+    boolean onlyBatched = true;
     for (HandlerRegistration registration : baked) {
       if (registration.asyncType.compareTo(asyncType) > 0) {
         asyncType = registration.asyncType;
       }
+      if (!(registration.handler instanceof BatchingEventHandler)) {
+        onlyBatched = false;
+      }
     }
 
-    return new HandlersCache(asyncType, baked.toArray(new HandlerRegistration[0]));
+    return new HandlersCache(asyncType, baked.toArray(new HandlerRegistration[0]), onlyBatched);
   }
 
   /**
@@ -418,10 +449,51 @@ public class VelocityEventManager implements EventManager {
 
     final HandlerRegistration registration = new HandlerRegistration(pluginContainer,
         postOrder, eventClass, handler, (EventHandler<Object>) handler,
-        AsyncType.ALWAYS);
+        AsyncType.ALWAYS, handler.getClass().getName());
     register(Collections.singletonList(registration));
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <E> void registerBatched(final Object plugin, final Class<E> eventClass,
+      final Duration window, final int maxBatchSize, final BatchedEventHandler<E> handler) {
+    final PluginContainer pluginContainer = pluginManager.ensurePluginContainer(plugin);
+    requireNonNull(eventClass, "eventClass");
+    requireNonNull(window, "window");
+    requireNonNull(handler, "handler");
+    checkArgument(!window.isNegative() && !window.isZero(), "window must be positive");
+    checkArgument(maxBatchSize > 0, "maxBatchSize must be positive");
+
+    final BatchingEventHandler<E> batching = new BatchingEventHandler<>(pluginContainer,
+        eventClass, handler, batchTimer(), window.toNanos(), maxBatchSize);
+    // Enqueueing is cheap, so it is done on the firing thread after every other handler has run.
+    // The registration instance is the plugin's handler so unregisterListener() can find it.
+    final HandlerRegistration registration = new HandlerRegistration(pluginContainer,
+        (short) POST_ORDER_MAP.get(PostOrder.LAST), eventClass, handler,
+        (EventHandler<Object>) batching, AsyncType.NEVER, handler.getClass().getName());
+    register(Collections.singletonList(registration));
+  }
+
+  private synchronized ScheduledExecutorService batchTimer() {
+    if (batchTimer == null) {
+      batchTimer = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+          .setDaemon(true)
+          .setNameFormat("Velocity Event Batch Timer")
+          .build());
+    }
+    return batchTimer;
+  }
+
+  /**
+   * Stops the timer that delivers batched events, if any handler ever started it. Batches that
+   * are still being collected are dropped.
+   */
+  public synchronized void shutdown() {
+    if (batchTimer != null) {
+      batchTimer.shutdownNow();
+    }
+  }
+
   /**
    * Registers the listener for a given plugin.
    *
@@ -448,7 +520,8 @@ public class VelocityEventManager implements EventManager {
 
       final EventHandler<Object> handler = untargetedHandler.buildHandler(listener);
       registrations.add(new HandlerRegistration(pluginContainer, info.order,
-          info.eventType, listener, handler, info.asyncType));
+          info.eventType, listener, handler, info.asyncType,
+          targetClass.getName() + "#" + info.method.getName()));
     }
 
     register(registrations);
@@ -489,6 +562,14 @@ public class VelocityEventManager implements EventManager {
       lock.writeLock().unlock();
     }
 
+    for (final HandlerRegistration registration : removed) {
+      registration.unregistered = true;
+      if (registration.handler instanceof BatchingEventHandler<?> batching) {
+        batching.close();
+      }
+    }
+    profiler.forget(removed);
+
     // Invalidate all the affected event subtypes
     handlersCache.invalidateAll(removed.stream()
         .flatMap(registration -> eventTypeTracker.getFriendsOf(registration.eventType).stream())
@@ -496,8 +577,16 @@ public class VelocityEventManager implements EventManager {
         .collect(Collectors.toList()));
   }
 
+  @Override
+  public EventHandlerProfiler getProfiler() {
+    return profiler;
+  }
+
   /**
-   * Determines whether the given event class has any subscribers. This may bake the list of event
+   * Determines whether the given event class has any subscribers that may influence the outcome of
+   * the event. Batched handlers only observe events, so they are not counted; call sites that skip
+   * firing an event when this returns {@code false} should still fire it if
+   * {@link #hasOnlyBatchedSubscribers(Class)} returns {@code true}. This may bake the list of event
    * handlers.
    *
    * @param eventClass the class of the event to check
@@ -506,7 +595,21 @@ public class VelocityEventManager implements EventManager {
   public boolean hasSubscribers(final Class<?> eventClass) {
     requireNonNull(eventClass, "eventClass");
     final HandlersCache handlersCache = this.handlersCache.get(eventClass);
-    return handlersCache != null && handlersCache.handlers.length > 0;
+    return handlersCache != null && !handlersCache.onlyBatched;
+  }
+
+  /**
+   * Determines whether the given event class only has batched subscribers, which need to be sent
+   * the event even though they can't influence its outcome. This may bake the list of event
+   * handlers.
+   *
+   * @param eventClass the class of the event to check
+   * @return {@code true} if all subscribers are batched, else {@code false}
+   */
+  public boolean hasOnlyBatchedSubscribers(final Class<?> eventClass) {
+    requireNonNull(eventClass, "eventClass");
+    final HandlersCache handlersCache = this.handlersCache.get(eventClass);
+    return handlersCache != null && handlersCache.onlyBatched;
   }
 
   @Override
@@ -571,6 +674,13 @@ public class VelocityEventManager implements EventManager {
     private final boolean currentlyAsync;
     private final E event;
     private final Thread firedOnThread;
+    private final boolean profiled;
+
+    // Only written while profiling. Reset when the task runs on the plugin's executor, so that
+    // the time spent waiting in the executor's queue isn't attributed to the handler.
+    private volatile long startedAt;
+    // Only written while profiling, when the handler returns without having resumed yet.
+    private volatile long suspendedAt;
 
     // This field is modified via a VarHandle, so this field is used and cannot be final.
     @SuppressWarnings({"UnusedVariable", "FieldMayBeFinal", "FieldCanBeLocal"})
@@ -586,7 +696,9 @@ public class VelocityEventManager implements EventManager {
         final @Nullable CompletableFuture<E> future,
         final E event,
         final int index,
-        final boolean currentlyAsync) {
+        final boolean currentlyAsync,
+        final boolean profiled,
+        final long startedAt) {
       this.task = task;
       this.registrations = registrations;
       this.future = future;
@@ -594,10 +706,15 @@ public class VelocityEventManager implements EventManager {
       this.index = index;
       this.currentlyAsync = currentlyAsync;
       this.firedOnThread = Thread.currentThread();
+      this.profiled = profiled;
+      this.startedAt = startedAt;
     }
 
     @Override
     public void run() {
+      if (profiled) {
+        startedAt = System.nanoTime();
+      }
       if (execute()) {
         fire(future, event, index + 1, currentlyAsync, registrations);
       }
@@ -616,6 +733,9 @@ public class VelocityEventManager implements EventManager {
         // continuation was resumed before
         resume(t, false);
       }
+      if (profiled && !resumed) {
+        suspendedAt = System.nanoTime();
+      }
       return !CONTINUATION_TASK_STATE.compareAndSet(
           this, TASK_STATE_EXECUTING, TASK_STATE_DEFAULT);
     }
@@ -638,6 +758,12 @@ public class VelocityEventManager implements EventManager {
       if (!changed) {
         return;
       }
+      if (profiled) {
+        final long now = System.nanoTime();
+        final long suspendedAt = this.suspendedAt;
+        profiler.record(registration, now - startedAt,
+            suspendedAt == 0 ? 0 : now - suspendedAt, exception != null);
+      }
       if (index + 1 == registrations.length) {
         // Optimization: don't schedule a task just to complete the future
         if (future != null) {
@@ -670,15 +796,20 @@ public class VelocityEventManager implements EventManager {
 
   private <E> void fire(final @Nullable CompletableFuture<E> future, final E event,
       final int offset, final boolean currentlyAsync, final HandlerRegistration[] registrations) {
+    final boolean profiled = profiler.isEnabled();
     for (int i = offset; i < registrations.length; i++) {
       final HandlerRegistration registration = registrations[i];
+      final long startedAt = profiled ? System.nanoTime() : 0;
       try {
         final EventTask eventTask = registration.handler.executeAsync(event);
         if (eventTask == null) {
+          if (profiled) {
+            profiler.record(registration, System.nanoTime() - startedAt, 0, false);
+          }
           continue;
         }
         final ContinuationTask<E> continuationTask = new ContinuationTask<>(eventTask,
-            registrations, future, event, i, currentlyAsync);
+            registrations, future, event, i, currentlyAsync, profiled, startedAt);
         if (currentlyAsync || !eventTask.requiresAsync()) {
           if (continuationTask.execute()) {
             continue;
@@ -690,6 +821,9 @@ public class VelocityEventManager implements EventManager {
         // executed and the continuation is resumed
         return;
       } catch (final Throwable t) {
+        if (profiled) {
+          profiler.record(registration, System.nanoTime() - startedAt, 0, true);
+        }
         logHandlerException(registration, t);
       }
     }
@@ -23,6 +23,7 @@ import com.velocitypowered.api.event.proxy.ListenerCloseEvent;
 import com.velocitypowered.api.network.ListenerType;
 import com.velocitypowered.natives.util.Natives;
 import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
 import com.velocitypowered.proxy.network.netty.SeparatePoolInetNameResolver;
 import com.velocitypowered.proxy.protocol.netty.GameSpyQueryHandler;
 import io.netty.bootstrap.Bootstrap;
@@ -35,10 +36,11 @@ import io.netty.channel.WriteBufferWaterMark;
 import io.netty.util.concurrent.GlobalEventExecutor;
 import java.net.InetSocketAddress;
 import java.net.http.HttpClient;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
@@ -49,10 +51,10 @@ public final class ConnectionManager {
   private static final WriteBufferWaterMark SERVER_WRITE_MARK = new WriteBufferWaterMark(1 << 20,
       1 << 21);
   private static final Logger LOGGER = LogManager.getLogger(ConnectionManager.class);
-  private final Map<InetSocketAddress, Endpoint> endpoints = new HashMap<>();
-  private final TransportType transportType;
-  private final EventLoopGroup bossGroup;
-  private final EventLoopGroup workerGroup;
+  private final Map<InetSocketAddress, Endpoint> endpoints = new ConcurrentHashMap<>();
+  private @MonotonicNonNull TransportType transportType;
+  private @MonotonicNonNull EventLoopGroup bossGroup;
+  private @MonotonicNonNull EventLoopGroup workerGroup;
   private final VelocityServer server;
   // These are intentionally made public for plugins like ViaVersion, which inject their own
   // protocol logic into the proxy.
@@ -70,9 +72,6 @@ public final class ConnectionManager {
    */
   public ConnectionManager(VelocityServer server) {
     this.server = server;
-    this.transportType = TransportType.bestType();
-    this.bossGroup = this.transportType.createEventLoopGroup(TransportType.Type.BOSS);
-    this.workerGroup = this.transportType.createEventLoopGroup(TransportType.Type.WORKER);
     this.serverChannelInitializer = new ServerChannelInitializerHolder(
         new ServerChannelInitializer(this.server));
     this.backendChannelInitializer = new BackendChannelInitializerHolder(
@@ -80,6 +79,27 @@ public final class ConnectionManager {
     this.resolver = new SeparatePoolInetNameResolver(GlobalEventExecutor.INSTANCE);
   }
 
+  /**
+   * Creates the event loop groups, using the transport and thread counts from the
+   * {@code [network]} section of the configuration. Changes to these only take effect after a
+   * restart.
+   *
+   * @param configuration the configuration to use
+   */
+  public void initialize(VelocityConfiguration configuration) {
+    Preconditions.checkState(this.transportType == null, "Already initialized");
+    this.transportType = TransportType.fromName(configuration.getTransport());
+    // Every listener sharing an address through SO_REUSEPORT needs its own accept thread
+    int bossThreads = configuration.getBossThreads();
+    if (bossThreads == 0 && configuration.getAcceptThreads() > 1) {
+      bossThreads = configuration.getAcceptThreads();
+    }
+    this.bossGroup = this.transportType.createEventLoopGroup(TransportType.Type.BOSS,
+        bossThreads);
+    this.workerGroup = this.transportType.createEventLoopGroup(TransportType.Type.WORKER,
+        configuration.getWorkerThreads());
+  }
+
   public void logChannelInformation() {
     LOGGER.info("Connections will use {} channels, {} compression, {} ciphers", this.transportType,
         Natives.compress.getLoadedVariant(), Natives.cipher.getLoadedVariant());
@@ -104,11 +124,29 @@ public final class ConnectionManager {
       bootstrap.option(ChannelOption.TCP_FASTOPEN, 3);
     }
 
+    // With SO_REUSEPORT, the kernel spreads connections across several listeners on the same
+    // address, each of which is registered to a different accept thread.
+    final int listeners = this.transportType.supportsReusePort()
+        ? Math.max(1, server.getConfiguration().getAcceptThreads()) : 1;
+    new SocketTuning(this.transportType, server.getConfiguration())
+        .applyToListener(bootstrap, listeners > 1);
+    for (int i = 0; i < listeners; i++) {
+      bindListener(bootstrap, address);
+    }
+  }
+
+  private void bindListener(final ServerBootstrap bootstrap, final InetSocketAddress address) {
     bootstrap.bind()
         .addListener((ChannelFutureListener) future -> {
           final Channel channel = future.channel();
           if (future.isSuccess()) {
-            this.endpoints.put(address, new Endpoint(channel, ListenerType.MINECRAFT));
+            final Endpoint endpoint = this.endpoints.merge(address,
+                new Endpoint(channel, ListenerType.MINECRAFT),
+                (existing, added) -> existing.withChannel(channel));
+            if (endpoint.getChannel() != channel) {
+              // Another listener sharing the address through SO_REUSEPORT, already announced
+              return;
+            }
             
             // Warn people with console access that HAProxy is in use, see PR: #1436
             if (this.server.getConfiguration().isProxyProtocol()) {
@@ -172,6 +210,7 @@ public final class ConnectionManager {
     if (server.getConfiguration().useTcpFastOpen()) {
       bootstrap.option(ChannelOption.TCP_FASTOPEN_CONNECT, true);
     }
+    new SocketTuning(this.transportType, server.getConfiguration()).applyToClient(bootstrap);
     return bootstrap;
   }
 
@@ -187,11 +226,11 @@ public final class ConnectionManager {
     // should have a chance to be notified before the server stops accepting connections.
     server.getEventManager().fire(new ListenerCloseEvent(oldBind, endpoint.getType())).join();
 
-    Channel serverChannel = endpoint.getChannel();
-
-    Preconditions.checkState(serverChannel != null, "Endpoint %s not registered", oldBind);
-    LOGGER.info("Closing endpoint {}", serverChannel.localAddress());
-    serverChannel.close().syncUninterruptibly();
+    Preconditions.checkState(endpoint != null, "Endpoint %s not registered", oldBind);
+    LOGGER.info("Closing endpoint {}", endpoint.getChannel().localAddress());
+    for (Channel serverChannel : endpoint.getChannels()) {
+      serverChannel.close().syncUninterruptibly();
+    }
   }
 
   /**
@@ -209,15 +248,17 @@ public final class ConnectionManager {
       server.getEventManager().fire(new ListenerCloseEvent(address, endpoint.getType())).join();
 
       LOGGER.info("Closing endpoint {}", address);
-      if (interrupt) {
-        try {
-          endpoint.getChannel().close().sync();
-        } catch (final InterruptedException e) {
-          LOGGER.info("Interrupted whilst closing endpoint", e);
-          Thread.currentThread().interrupt();
+      for (final Channel channel : endpoint.getChannels()) {
+        if (interrupt) {
+          try {
+            channel.close().sync();
+          } catch (final InterruptedException e) {
+            LOGGER.info("Interrupted whilst closing endpoint", e);
+            Thread.currentThread().interrupt();
+          }
+        } else {
+          channel.close().syncUninterruptibly();
         }
-      } else {
-        endpoint.getChannel().close().syncUninterruptibly();
       }
     }
     this.endpoints.clear();
@@ -236,6 +277,10 @@ public final class ConnectionManager {
     return bossGroup;
   }
 
+  public EventLoopGroup getWorkerGroup() {
+    return workerGroup;
+  }
+
   public ServerChannelInitializerHolder getServerChannelInitializer() {
     return this.serverChannelInitializer;
   }
@@ -18,24 +18,51 @@
 package com.velocitypowered.proxy.network;
 
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import com.velocitypowered.api.network.ListenerType;
 import io.netty.channel.Channel;
+import java.util.List;
 
 /**
  * Represents a listener endpoint.
  */
 public final class Endpoint {
 
-  private final Channel channel;
+  private final List<Channel> channels;
   private final ListenerType type;
 
   public Endpoint(Channel channel, ListenerType type) {
-    this.channel = Preconditions.checkNotNull(channel, "channel");
+    this(ImmutableList.of(Preconditions.checkNotNull(channel, "channel")), type);
+  }
+
+  private Endpoint(List<Channel> channels, ListenerType type) {
+    this.channels = channels;
     this.type = Preconditions.checkNotNull(type, "type");
   }
 
   public Channel getChannel() {
-    return channel;
+    return channels.get(0);
+  }
+
+  /**
+   * Returns all channels listening on this endpoint. There is more than one if several listeners
+   * share the address using {@code SO_REUSEPORT}.
+   *
+   * @return the channels of this endpoint
+   */
+  public List<Channel> getChannels() {
+    return channels;
+  }
+
+  /**
+   * Returns a copy of this endpoint with another channel listening on it.
+   *
+   * @param channel the channel to add
+   * @return the new endpoint
+   */
+  public Endpoint withChannel(Channel channel) {
+    return new Endpoint(ImmutableList.<Channel>builder().addAll(channels)
+        .add(Preconditions.checkNotNull(channel, "channel")).build(), type);
   }
 
   public ListenerType getType() {
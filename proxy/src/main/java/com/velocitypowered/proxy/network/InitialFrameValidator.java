@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network;
+
+import static io.netty.util.ByteProcessor.FIND_NON_NUL;
+
+import com.velocitypowered.proxy.protocol.packet.HandshakePacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.util.ReferenceCountUtil;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The only handler installed on a freshly accepted connection. It waits until the client has sent
+ * enough to tell whether the first frame is a plausible handshake or legacy ping, and only then
+ * sets up the rest of the pipeline, removes itself and passes on everything it has buffered.
+ * Connections that send anything else are closed without ever allocating a decoder or a
+ * {@link com.velocitypowered.proxy.connection.MinecraftConnection}.
+ */
+final class InitialFrameValidator extends ByteToMessageDecoder {
+
+  private static final int LEGACY_PING = 0xFE;
+  private static final int LEGACY_HANDSHAKE = 0x02;
+  private static final int HANDSHAKE_ID = 0x00;
+
+  private final Consumer<ChannelHandlerContext> pipelineInitializer;
+  private final List<Object> heldMessages = new ArrayList<>(1);
+
+  InitialFrameValidator(final Consumer<ChannelHandlerContext> pipelineInitializer) {
+    this.pipelineInitializer = pipelineInitializer;
+  }
+
+  @Override
+  public void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+    if (msg instanceof ByteBuf) {
+      super.channelRead(ctx, msg);
+    } else {
+      // Decoded PROXY protocol headers arrive before the handshake and must reach the
+      // MinecraftConnection, which doesn't exist yet.
+      heldMessages.add(msg);
+    }
+  }
+
+  @Override
+  protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out) {
+    if (!ctx.channel().isActive()) {
+      in.clear();
+      return;
+    }
+
+    // The frame decoder skips runs of 0x00, so we have to do the same.
+    int start = in.forEachByte(FIND_NON_NUL);
+    if (start == -1) {
+      return;
+    }
+
+    int first = in.getUnsignedByte(start);
+    if (first == LEGACY_PING || first == LEGACY_HANDSHAKE) {
+      accept(ctx);
+      return;
+    }
+
+    // Read the frame length without consuming it. Handshakes are far shorter than 2^14 bytes, so
+    // their length never needs more than two bytes.
+    int length = 0;
+    int index = start;
+    for (int shift = 0; ; shift += 7) {
+      if (shift == 14) {
+        reject(ctx, in);
+        return;
+      }
+      if (index >= in.writerIndex()) {
+        return;
+      }
+      int b = in.getUnsignedByte(index++);
+      length |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        break;
+      }
+    }
+    if (length > HandshakePacket.MAXIMUM_LENGTH) {
+      reject(ctx, in);
+      return;
+    }
+    if (index >= in.writerIndex()) {
+      return;
+    }
+    if (in.getUnsignedByte(index) != HANDSHAKE_ID) {
+      reject(ctx, in);
+      return;
+    }
+    accept(ctx);
+  }
+
+  private void accept(final ChannelHandlerContext ctx) {
+    pipelineInitializer.accept(ctx);
+    for (Object msg : heldMessages) {
+      ctx.fireChannelRead(msg);
+    }
+    heldMessages.clear();
+    // Removing the decoder hands everything it has accumulated to the new pipeline.
+    ctx.pipeline().remove(this);
+  }
+
+  private void reject(final ChannelHandlerContext ctx, final ByteBuf in) {
+    in.clear();
+    ctx.close();
+  }
+
+  @Override
+  protected void handlerRemoved0(final ChannelHandlerContext ctx) {
+    for (Object msg : heldMessages) {
+      ReferenceCountUtil.release(msg);
+    }
+    heldMessages.clear();
+  }
+}
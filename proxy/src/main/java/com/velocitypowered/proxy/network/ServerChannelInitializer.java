@@ -19,6 +19,7 @@ package com.velocitypowered.proxy.network;
 
 import static com.velocitypowered.proxy.network.Connections.FRAME_DECODER;
 import static com.velocitypowered.proxy.network.Connections.FRAME_ENCODER;
+import static com.velocitypowered.proxy.network.Connections.INITIAL_FRAME_VALIDATOR;
 import static com.velocitypowered.proxy.network.Connections.LEGACY_PING_DECODER;
 import static com.velocitypowered.proxy.network.Connections.LEGACY_PING_ENCODER;
 import static com.velocitypowered.proxy.network.Connections.MINECRAFT_DECODER;
@@ -56,12 +57,37 @@ public class ServerChannelInitializer extends ChannelInitializer<Channel> {
 
   @Override
   protected void initChannel(final Channel ch) {
+    final boolean proxyProtocol = this.server.getConfiguration().isProxyProtocol();
+    // Behind the PROXY protocol, the remote address is the load balancer's until it is decoded.
+    if (!this.server.getAdmissionController()
+        .admitConnection(proxyProtocol ? null : ch.remoteAddress())) {
+      ch.close();
+      return;
+    }
+
+    ch.pipeline().addLast(READ_TIMEOUT,
+        new ReadTimeoutHandler(this.server.getConfiguration().getReadTimeout(),
+            TimeUnit.MILLISECONDS));
+
+    if (ch.pipeline().context(this) != null) {
+      // Everything else is only set up once the client has shown it speaks the protocol.
+      ch.pipeline().addFirst(INITIAL_FRAME_VALIDATOR,
+          new InitialFrameValidator(ctx -> initPipeline(ctx.channel())));
+    } else {
+      // A plugin has replaced this initializer with one that calls into it, and expects the
+      // complete pipeline to be in place once we return.
+      initPipeline(ch);
+    }
+
+    if (proxyProtocol) {
+      ch.pipeline().addFirst(new HAProxyMessageDecoder());
+    }
+  }
+
+  private void initPipeline(final Channel ch) {
     ch.pipeline()
-        .addLast(LEGACY_PING_DECODER, new LegacyPingDecoder())
-        .addLast(FRAME_DECODER, new MinecraftVarintFrameDecoder())
-        .addLast(READ_TIMEOUT,
-            new ReadTimeoutHandler(this.server.getConfiguration().getReadTimeout(),
-                TimeUnit.MILLISECONDS))
+        .addBefore(READ_TIMEOUT, LEGACY_PING_DECODER, new LegacyPingDecoder())
+        .addBefore(READ_TIMEOUT, FRAME_DECODER, new MinecraftVarintFrameDecoder())
         .addLast(LEGACY_PING_ENCODER, LegacyPingEncoder.INSTANCE)
         .addLast(FRAME_ENCODER, MinecraftVarintLengthEncoder.INSTANCE)
         .addLast(MINECRAFT_DECODER, new MinecraftDecoder(ProtocolUtils.Direction.SERVERBOUND))
@@ -71,9 +97,5 @@ public class ServerChannelInitializer extends ChannelInitializer<Channel> {
     connection.setActiveSessionHandler(StateRegistry.HANDSHAKE,
         new HandshakeSessionHandler(connection, this.server));
     ch.pipeline().addLast(Connections.HANDLER, connection);
-
-    if (this.server.getConfiguration().isProxyProtocol()) {
-      ch.pipeline().addFirst(new HAProxyMessageDecoder());
-    }
   }
 }
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network;
+
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollMode;
+import io.netty.incubator.channel.uring.IOUringChannelOption;
+
+/**
+ * Applies the socket options from the {@code [network]} section of the configuration. Options that
+ * the transport in use doesn't support are left alone, {@link VelocityConfiguration#validate()}
+ * warns about them at startup.
+ */
+final class SocketTuning {
+
+  private final TransportType transport;
+  private final VelocityConfiguration configuration;
+
+  SocketTuning(TransportType transport, VelocityConfiguration configuration) {
+    this.transport = transport;
+    this.configuration = configuration;
+  }
+
+  /**
+   * Applies the options for listeners, and the connections they accept.
+   *
+   * @param bootstrap the bootstrap of the listener
+   * @param reusePort whether other listeners will be bound to the same address
+   */
+  void applyToListener(ServerBootstrap bootstrap, boolean reusePort) {
+    int receiveBuffer = configuration.getReceiveBufferSize();
+    if (receiveBuffer > 0) {
+      // Set on the listener as well, as the window scale is negotiated before a connection is
+      // accepted
+      bootstrap.option(ChannelOption.SO_RCVBUF, receiveBuffer);
+      bootstrap.childOption(ChannelOption.SO_RCVBUF, receiveBuffer);
+    }
+    int sendBuffer = configuration.getSendBufferSize();
+    if (sendBuffer > 0) {
+      bootstrap.childOption(ChannelOption.SO_SNDBUF, sendBuffer);
+    }
+
+    if (transport == TransportType.EPOLL) {
+      if (reusePort) {
+        bootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+      }
+      if (configuration.isEpollLevelTriggered()) {
+        bootstrap.option(EpollChannelOption.EPOLL_MODE, EpollMode.LEVEL_TRIGGERED);
+        bootstrap.childOption(EpollChannelOption.EPOLL_MODE, EpollMode.LEVEL_TRIGGERED);
+      }
+      if (configuration.isTcpQuickAck()) {
+        bootstrap.childOption(EpollChannelOption.TCP_QUICKACK, true);
+      }
+      if (configuration.getBusyPoll() > 0) {
+        bootstrap.childOption(EpollChannelOption.SO_BUSY_POLL, configuration.getBusyPoll());
+      }
+      if (configuration.getTcpUserTimeout() > 0) {
+        bootstrap.childOption(EpollChannelOption.TCP_USER_TIMEOUT,
+            configuration.getTcpUserTimeout());
+      }
+    } else if (transport == TransportType.IO_URING) {
+      if (reusePort) {
+        bootstrap.option(IOUringChannelOption.SO_REUSEPORT, true);
+      }
+      if (configuration.isTcpQuickAck()) {
+        bootstrap.childOption(IOUringChannelOption.TCP_QUICKACK, true);
+      }
+      if (configuration.getTcpUserTimeout() > 0) {
+        bootstrap.childOption(IOUringChannelOption.TCP_USER_TIMEOUT,
+            configuration.getTcpUserTimeout());
+      }
+    }
+  }
+
+  /**
+   * Applies the options for connections to backend servers.
+   *
+   * @param bootstrap the bootstrap of the connection
+   */
+  void applyToClient(Bootstrap bootstrap) {
+    if (configuration.getReceiveBufferSize() > 0) {
+      bootstrap.option(ChannelOption.SO_RCVBUF, configuration.getReceiveBufferSize());
+    }
+    if (configuration.getSendBufferSize() > 0) {
+      bootstrap.option(ChannelOption.SO_SNDBUF, configuration.getSendBufferSize());
+    }
+
+    if (transport == TransportType.EPOLL) {
+      if (configuration.isEpollLevelTriggered()) {
+        bootstrap.option(EpollChannelOption.EPOLL_MODE, EpollMode.LEVEL_TRIGGERED);
+      }
+      if (configuration.isTcpQuickAck()) {
+        bootstrap.option(EpollChannelOption.TCP_QUICKACK, true);
+      }
+      if (configuration.getBusyPoll() > 0) {
+        bootstrap.option(EpollChannelOption.SO_BUSY_POLL, configuration.getBusyPoll());
+      }
+      if (configuration.getTcpUserTimeout() > 0) {
+        bootstrap.option(EpollChannelOption.TCP_USER_TIMEOUT, configuration.getTcpUserTimeout());
+      }
+    } else if (transport == TransportType.IO_URING) {
+      if (configuration.isTcpQuickAck()) {
+        bootstrap.option(IOUringChannelOption.TCP_QUICKACK, true);
+      }
+      if (configuration.getTcpUserTimeout() > 0) {
+        bootstrap.option(IOUringChannelOption.TCP_USER_TIMEOUT,
+            configuration.getTcpUserTimeout());
+      }
+    }
+  }
+}
@@ -37,8 +37,15 @@ import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringDatagramChannel;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
+import java.util.Locale;
 import java.util.concurrent.ThreadFactory;
 import java.util.function.BiFunction;
+import java.util.function.BooleanSupplier;
 
 /**
  * Enumerates the supported transports for Velocity.
@@ -47,32 +54,43 @@ public enum TransportType {
   NIO("NIO", NioServerSocketChannel::new,
       NioSocketChannel::new,
       NioDatagramChannel::new,
-      (name, type) -> new NioEventLoopGroup(0, createThreadFactory(name, type))),
+      (threads, factory) -> new NioEventLoopGroup(threads, factory),
+      () -> true),
   EPOLL("epoll", EpollServerSocketChannel::new,
       EpollSocketChannel::new,
       EpollDatagramChannel::new,
-      (name, type) -> new EpollEventLoopGroup(0, createThreadFactory(name, type))),
+      (threads, factory) -> new EpollEventLoopGroup(threads, factory),
+      Epoll::isAvailable),
   KQUEUE("kqueue", KQueueServerSocketChannel::new,
       KQueueSocketChannel::new,
       KQueueDatagramChannel::new,
-      (name, type) -> new KQueueEventLoopGroup(0, createThreadFactory(name, type)));
+      (threads, factory) -> new KQueueEventLoopGroup(threads, factory),
+      KQueue::isAvailable),
+  IO_URING("io_uring", IOUringServerSocketChannel::new,
+      IOUringSocketChannel::new,
+      IOUringDatagramChannel::new,
+      (threads, factory) -> new IOUringEventLoopGroup(threads, factory),
+      IOUring::isAvailable);
 
   final String name;
   final ChannelFactory<? extends ServerSocketChannel> serverSocketChannelFactory;
   final ChannelFactory<? extends SocketChannel> socketChannelFactory;
   final ChannelFactory<? extends DatagramChannel> datagramChannelFactory;
-  final BiFunction<String, Type, EventLoopGroup> eventLoopGroupFactory;
+  final BiFunction<Integer, ThreadFactory, EventLoopGroup> eventLoopGroupFactory;
+  private final BooleanSupplier availability;
 
   TransportType(final String name,
       final ChannelFactory<? extends ServerSocketChannel> serverSocketChannelFactory,
       final ChannelFactory<? extends SocketChannel> socketChannelFactory,
       final ChannelFactory<? extends DatagramChannel> datagramChannelFactory,
-      final BiFunction<String, Type, EventLoopGroup> eventLoopGroupFactory) {
+      final BiFunction<Integer, ThreadFactory, EventLoopGroup> eventLoopGroupFactory,
+      final BooleanSupplier availability) {
     this.name = name;
     this.serverSocketChannelFactory = serverSocketChannelFactory;
     this.socketChannelFactory = socketChannelFactory;
     this.datagramChannelFactory = datagramChannelFactory;
     this.eventLoopGroupFactory = eventLoopGroupFactory;
+    this.availability = availability;
   }
 
   @Override
@@ -81,7 +99,37 @@ public enum TransportType {
   }
 
   public EventLoopGroup createEventLoopGroup(final Type type) {
-    return this.eventLoopGroupFactory.apply(this.name, type);
+    return createEventLoopGroup(type, 0);
+  }
+
+  /**
+   * Creates an event loop group for this transport.
+   *
+   * @param type the type of the event loop group
+   * @param threads the number of threads, or {@code 0} to use Netty's default
+   * @return the event loop group
+   */
+  public EventLoopGroup createEventLoopGroup(final Type type, final int threads) {
+    return this.eventLoopGroupFactory.apply(threads, createThreadFactory(this.name, type));
+  }
+
+  /**
+   * Returns whether this transport can be used on this system.
+   *
+   * @return whether the transport is available
+   */
+  public boolean isAvailable() {
+    return this.availability.getAsBoolean();
+  }
+
+  /**
+   * Returns whether several listeners can be bound to the same address with {@code SO_REUSEPORT},
+   * so that the kernel spreads incoming connections across them.
+   *
+   * @return whether the transport supports {@code SO_REUSEPORT}
+   */
+  public boolean supportsReusePort() {
+    return this == EPOLL || this == IO_URING;
   }
 
   private static ThreadFactory createThreadFactory(final String name, final Type type) {
@@ -109,6 +157,30 @@ public enum TransportType {
     return NIO;
   }
 
+  /**
+   * Looks up the transport configured by {@code name}. io_uring is never picked automatically, as
+   * its support in Netty is still incubating.
+   *
+   * @param name the name of a transport, or {@code auto} to pick the best available one
+   * @return the transport to use
+   * @throws IllegalArgumentException if the transport is unknown or not available on this system
+   */
+  public static TransportType fromName(final String name) {
+    if (name.equalsIgnoreCase("auto")) {
+      return bestType();
+    }
+    for (TransportType type : values()) {
+      if (type.name.toLowerCase(Locale.ROOT).equals(name.toLowerCase(Locale.ROOT))) {
+        if (!type.isAvailable()) {
+          throw new IllegalArgumentException("The " + type.name
+              + " transport is not available on this system");
+        }
+        return type;
+      }
+    }
+    throw new IllegalArgumentException("Unknown transport " + name);
+  }
+
   /**
    * Event loop group types.
    */
@@ -20,9 +20,11 @@ package com.velocitypowered.proxy.protocol.netty;
 import static com.velocitypowered.api.event.query.ProxyQueryEvent.QueryType.BASIC;
 import static com.velocitypowered.api.event.query.ProxyQueryEvent.QueryType.FULL;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
 import com.velocitypowered.api.event.query.ProxyQueryEvent;
 import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.api.plugin.PluginContainer;
@@ -31,6 +33,7 @@ import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.server.QueryResponse;
 import com.velocitypowered.proxy.VelocityServer;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.socket.DatagramPacket;
@@ -47,6 +50,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.apache.logging.log4j.LogManager;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Implements the GameSpy protocol for Velocity.
@@ -73,15 +77,44 @@ public class GameSpyQueryHandler extends SimpleChannelInboundHandler<DatagramPac
       "hostip"
   );
 
-  private final Cache<InetAddress, Integer> sessions = Caffeine.newBuilder()
-      .expireAfterWrite(30, TimeUnit.SECONDS)
-      .build();
-  private final SecureRandom random;
-  private final VelocityServer server;
+  // Challenge tokens are valid for one to two of these periods
+  private static final long CHALLENGE_PERIOD_NANOS = TimeUnit.SECONDS.toNanos(30);
+  // How long a stat response is reused for if no plugin listens to queries
+  private static final long STAT_CACHE_NANOS = TimeUnit.SECONDS.toNanos(1);
 
+  private final HashFunction challengeFunction;
+  private final VelocityServer server;
+  private final Ticker ticker;
+  private final CachedStat basicStat = new CachedStat();
+  private final CachedStat fullStat = new CachedStat();
+
+  /**
+   * Creates a new query handler.
+   *
+   * @param server the proxy
+   */
   public GameSpyQueryHandler(VelocityServer server) {
+    this(server, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  GameSpyQueryHandler(VelocityServer server, Ticker ticker) {
     this.server = server;
-    this.random = new SecureRandom();
+    this.ticker = ticker;
+    SecureRandom random = new SecureRandom();
+    this.challengeFunction = Hashing.sipHash24(random.nextLong(), random.nextLong());
+  }
+
+  /**
+   * Derives the challenge token for an address, rather than storing one per client. Tokens are
+   * keyed with a secret and rotate periodically, so spoofed senders still can't guess them.
+   */
+  private int challengeToken(InetAddress address, long period) {
+    return challengeFunction.newHasher()
+        .putBytes(address.getAddress())
+        .putLong(period)
+        .hash()
+        .asInt();
   }
 
   private QueryResponse createInitialResponse() {
@@ -107,6 +140,9 @@ public class GameSpyQueryHandler extends SimpleChannelInboundHandler<DatagramPac
   protected void channelRead0(ChannelHandlerContext ctx, DatagramPacket msg) throws Exception {
     ByteBuf queryMessage = msg.content();
     InetAddress senderAddress = msg.sender().getAddress();
+    if (!server.getAdmissionController().admitQuery(senderAddress)) {
+      return;
+    }
 
     // Verify query packet magic
     if (queryMessage.readUnsignedByte() != QUERY_MAGIC_FIRST
@@ -120,9 +156,9 @@ public class GameSpyQueryHandler extends SimpleChannelInboundHandler<DatagramPac
 
     switch (type) {
       case QUERY_TYPE_HANDSHAKE: {
-        // Generate new challenge token and put it into the sessions cache
-        int challengeToken = random.nextInt();
-        sessions.put(senderAddress, challengeToken);
+        // Generate the challenge token for this client
+        int challengeToken = challengeToken(senderAddress,
+            ticker.read() / CHALLENGE_PERIOD_NANOS);
 
         // Respond with challenge token
         ByteBuf queryResponse = ctx.alloc().buffer();
@@ -138,8 +174,9 @@ public class GameSpyQueryHandler extends SimpleChannelInboundHandler<DatagramPac
       case QUERY_TYPE_STAT: {
         // Check if query was done with session previously generated using a handshake packet
         int challengeToken = queryMessage.readInt();
-        Integer session = sessions.getIfPresent(senderAddress);
-        if (session == null || session != challengeToken) {
+        long period = ticker.read() / CHALLENGE_PERIOD_NANOS;
+        if (challengeToken != challengeToken(senderAddress, period)
+            && challengeToken != challengeToken(senderAddress, period - 1)) {
           return;
         }
 
@@ -148,9 +185,32 @@ public class GameSpyQueryHandler extends SimpleChannelInboundHandler<DatagramPac
           return;
         }
 
+        boolean isBasic = !queryMessage.isReadable();
+
+        // Without listeners, the response is the same for everyone
+        if (!server.getEventManager().hasSubscribers(ProxyQueryEvent.class)) {
+          if (server.getEventManager().hasOnlyBatchedSubscribers(ProxyQueryEvent.class)) {
+            server.getEventManager().fireAndForget(new ProxyQueryEvent(isBasic ? BASIC : FULL,
+                senderAddress, createInitialResponse()));
+          }
+          CachedStat cached = isBasic ? basicStat : fullStat;
+          long now = ticker.read();
+          if (cached.body == null || now - cached.createdAt >= STAT_CACHE_NANOS) {
+            ByteBuf body = ctx.alloc().directBuffer();
+            writeStat(body, createInitialResponse(), isBasic);
+            cached.replace(body, now);
+          }
+          ByteBuf header = ctx.alloc().directBuffer(5);
+          header.writeByte(QUERY_TYPE_STAT);
+          header.writeInt(sessionId);
+          CompositeByteBuf queryResponse = ctx.alloc().compositeDirectBuffer(2)
+              .addComponents(true, header, cached.body.retainedDuplicate());
+          ctx.writeAndFlush(new DatagramPacket(queryResponse, msg.sender()), ctx.voidPromise());
+          return;
+        }
+
         // Build initial query response
         QueryResponse response = createInitialResponse();
-        boolean isBasic = !queryMessage.isReadable();
 
         // Call event and write response
         server.getEventManager()
@@ -160,26 +220,7 @@ public class GameSpyQueryHandler extends SimpleChannelInboundHandler<DatagramPac
               ByteBuf queryResponse = ctx.alloc().buffer();
               queryResponse.writeByte(QUERY_TYPE_STAT);
               queryResponse.writeInt(sessionId);
-
-              // Start writing the response
-              ResponseWriter responseWriter = new ResponseWriter(queryResponse, isBasic);
-              responseWriter.write("hostname", event.getResponse().getHostname());
-              responseWriter.write("gametype", "SMP");
-
-              responseWriter.write("game_id", "MINECRAFT");
-              responseWriter.write("version", event.getResponse().getGameVersion());
-              responseWriter.writePlugins(event.getResponse().getProxyVersion(),
-                  event.getResponse().getPlugins());
-
-              responseWriter.write("map", event.getResponse().getMap());
-              responseWriter.write("numplayers", event.getResponse().getCurrentPlayers());
-              responseWriter.write("maxplayers", event.getResponse().getMaxPlayers());
-              responseWriter.write("hostport", event.getResponse().getProxyPort());
-              responseWriter.write("hostip", event.getResponse().getProxyHost());
-
-              if (!responseWriter.isBasic) {
-                responseWriter.writePlayers(event.getResponse().getPlayers());
-              }
+              writeStat(queryResponse, event.getResponse(), isBasic);
 
               // Send the response
               DatagramPacket responsePacket = new DatagramPacket(queryResponse, msg.sender());
@@ -197,6 +238,32 @@ public class GameSpyQueryHandler extends SimpleChannelInboundHandler<DatagramPac
     }
   }
 
+  @Override
+  public void handlerRemoved(ChannelHandlerContext ctx) {
+    basicStat.replace(null, 0);
+    fullStat.replace(null, 0);
+  }
+
+  private static void writeStat(ByteBuf buf, QueryResponse response, boolean isBasic) {
+    ResponseWriter responseWriter = new ResponseWriter(buf, isBasic);
+    responseWriter.write("hostname", response.getHostname());
+    responseWriter.write("gametype", "SMP");
+
+    responseWriter.write("game_id", "MINECRAFT");
+    responseWriter.write("version", response.getGameVersion());
+    responseWriter.writePlugins(response.getProxyVersion(), response.getPlugins());
+
+    responseWriter.write("map", response.getMap());
+    responseWriter.write("numplayers", response.getCurrentPlayers());
+    responseWriter.write("maxplayers", response.getMaxPlayers());
+    responseWriter.write("hostport", response.getProxyPort());
+    responseWriter.write("hostip", response.getProxyHost());
+
+    if (!responseWriter.isBasic) {
+      responseWriter.writePlayers(response.getPlayers());
+    }
+  }
+
   private static void writeString(ByteBuf buf, String string) {
     buf.writeCharSequence(string, StandardCharsets.ISO_8859_1);
     buf.writeByte(0x00);
@@ -212,6 +279,21 @@ public class GameSpyQueryHandler extends SimpleChannelInboundHandler<DatagramPac
     return result;
   }
 
+  private static final class CachedStat {
+
+    private @Nullable ByteBuf body;
+    private long createdAt;
+
+    void replace(@Nullable ByteBuf body, long createdAt) {
+      // Responses still being sent hold their own reference
+      if (this.body != null) {
+        this.body.release();
+      }
+      this.body = body;
+      this.createdAt = createdAt;
+    }
+  }
+
   private static class ResponseWriter {
 
     private final ByteBuf buf;
@@ -17,6 +17,8 @@
 
 package com.velocitypowered.proxy.protocol.packet;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import com.mojang.brigadier.Command;
@@ -42,6 +44,8 @@ import com.velocitypowered.proxy.protocol.ProtocolUtils.Direction;
 import com.velocitypowered.proxy.protocol.packet.brigadier.ArgumentPropertyRegistry;
 import com.velocitypowered.proxy.util.collect.IdentityHashStrategy;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenCustomHashMap;
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import java.util.ArrayDeque;
@@ -50,6 +54,7 @@ import java.util.Deque;
 import java.util.Iterator;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -66,6 +71,14 @@ public class AvailableCommandsPacket implements MinecraftPacket {
   private static final byte FLAG_IS_REDIRECT = 0x08;
   private static final byte FLAG_HAS_SUGGESTIONS = 0x10;
 
+  /**
+   * Holds the encoded name, argument properties and suggestion provider of long-lived nodes, such
+   * as the ones injected by the proxy, so that these are only encoded once per protocol version.
+   * Nodes are held weakly and compared by identity.
+   */
+  private static final Cache<CommandNode<?>, AtomicReferenceArray<byte[]>> SERIALIZED_PAYLOADS =
+      Caffeine.newBuilder().weakKeys().build();
+
   private @MonotonicNonNull RootCommandNode<CommandSource> rootNode;
 
   /**
@@ -80,6 +93,18 @@ public class AvailableCommandsPacket implements MinecraftPacket {
     return rootNode;
   }
 
+  /**
+   * Marks the given node as long-lived, allowing its encoded form to be cached. The node's name,
+   * argument type and suggestion provider must not change afterwards; its children and redirect
+   * may.
+   *
+   * @param node the node to cache the encoded form of
+   */
+  public static void cacheSerializedNode(CommandNode<?> node) {
+    SERIALIZED_PAYLOADS.get(node,
+        k -> new AtomicReferenceArray<>(ProtocolVersion.values().length));
+  }
+
   @Override
   public void decode(ByteBuf buf, Direction direction, ProtocolVersion protocolVersion) {
     int commands = ProtocolUtils.readVarInt(buf);
@@ -167,6 +192,30 @@ public class AvailableCommandsPacket implements MinecraftPacket {
       ProtocolUtils.writeVarInt(buf, idMappings.getInt(node.getRedirect()));
     }
 
+    if (node instanceof RootCommandNode<?>) {
+      return;
+    }
+    AtomicReferenceArray<byte[]> cached = SERIALIZED_PAYLOADS.getIfPresent(node);
+    if (cached == null) {
+      serializePayload(node, buf, protocolVersion);
+      return;
+    }
+    byte[] payload = cached.get(protocolVersion.ordinal());
+    if (payload == null) {
+      ByteBuf payloadBuf = Unpooled.buffer();
+      try {
+        serializePayload(node, payloadBuf, protocolVersion);
+        payload = ByteBufUtil.getBytes(payloadBuf);
+      } finally {
+        payloadBuf.release();
+      }
+      cached.set(protocolVersion.ordinal(), payload);
+    }
+    buf.writeBytes(payload);
+  }
+
+  private static void serializePayload(CommandNode<CommandSource> node, ByteBuf buf,
+      ProtocolVersion protocolVersion) {
     if (node instanceof ArgumentCommandNode<?, ?>) {
       ProtocolUtils.writeString(buf, node.getName());
       ArgumentPropertyRegistry.serialize(buf,
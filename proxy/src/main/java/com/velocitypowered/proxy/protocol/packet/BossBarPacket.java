@@ -24,6 +24,8 @@ import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
 import com.velocitypowered.proxy.util.collect.Enum2IntMap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import java.util.Set;
 import java.util.UUID;
 import net.kyori.adventure.bossbar.BossBar;
@@ -69,6 +71,7 @@ public class BossBarPacket implements MinecraftPacket {
   private int color;
   private int overlay;
   private short flags;
+  private byte @Nullable [] encoded;
 
   public static BossBarPacket createAddPacket(
       final UUID id,
@@ -130,6 +133,25 @@ public class BossBarPacket implements MinecraftPacket {
     return packet;
   }
 
+  /**
+   * Encodes {@code packet} right away, so that it is only encoded once no matter how many players
+   * it is sent to. Boss bar packets are encoded the same way by every protocol version, besides the
+   * name, which its {@link ComponentHolder} serializes for its own version.
+   *
+   * @param packet the packet to encode
+   * @return the packet, which must no longer be modified
+   */
+  public static BossBarPacket preEncoded(BossBarPacket packet) {
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      packet.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, ProtocolVersion.MAXIMUM_VERSION);
+      packet.encoded = ByteBufUtil.getBytes(buf);
+    } finally {
+      buf.release();
+    }
+    return packet;
+  }
+
   public UUID getUuid() {
     if (uuid == null) {
       throw new IllegalStateException("No boss bar UUID specified");
@@ -236,6 +258,10 @@ public class BossBarPacket implements MinecraftPacket {
 
   @Override
   public void encode(ByteBuf buf, ProtocolUtils.Direction direction, ProtocolVersion version) {
+    if (encoded != null) {
+      buf.writeBytes(encoded);
+      return;
+    }
     if (uuid == null) {
       throw new IllegalStateException("No boss bar UUID specified");
     }
@@ -22,11 +22,14 @@ import com.velocitypowered.proxy.connection.MinecraftSessionHandler;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class StatusResponsePacket implements MinecraftPacket {
 
   private @Nullable CharSequence status;
+  private byte @Nullable [] encodedStatus;
 
   public StatusResponsePacket() {
   }
@@ -35,6 +38,25 @@ public class StatusResponsePacket implements MinecraftPacket {
     this.status = status;
   }
 
+  /**
+   * Creates a status response whose body is encoded once up front, so the packet can be written
+   * to any number of connections without encoding the status again.
+   *
+   * @param status the JSON status response
+   * @return the pre-encoded packet
+   */
+  public static StatusResponsePacket preEncoded(CharSequence status) {
+    StatusResponsePacket packet = new StatusResponsePacket(status);
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      ProtocolUtils.writeString(buf, status);
+      packet.encodedStatus = ByteBufUtil.getBytes(buf);
+    } finally {
+      buf.release();
+    }
+    return packet;
+  }
+
   public String getStatus() {
     if (status == null) {
       throw new IllegalStateException("Status is not specified");
@@ -56,6 +78,10 @@ public class StatusResponsePacket implements MinecraftPacket {
 
   @Override
   public void encode(ByteBuf buf, ProtocolUtils.Direction direction, ProtocolVersion version) {
+    if (encodedStatus != null) {
+      buf.writeBytes(encodedStatus);
+      return;
+    }
     if (status == null) {
       throw new IllegalStateException("Status is not specified");
     }
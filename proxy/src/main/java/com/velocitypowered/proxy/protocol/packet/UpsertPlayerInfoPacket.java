@@ -25,6 +25,8 @@ import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
 import com.velocitypowered.proxy.protocol.packet.chat.RemoteChatSession;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
@@ -38,6 +40,8 @@ public class UpsertPlayerInfoPacket implements MinecraftPacket {
 
   private final EnumSet<Action> actions;
   private final List<Entry> entries;
+  @Nullable
+  private List<byte[]> encodedEntries;
 
   public UpsertPlayerInfoPacket() {
     this.actions = EnumSet.noneOf(Action.class);
@@ -54,6 +58,42 @@ public class UpsertPlayerInfoPacket implements MinecraftPacket {
     this.entries = entries;
   }
 
+  /**
+   * Creates a packet out of entries that were encoded with {@link #encodeEntry}, so that an entry
+   * sent to many connections only has to be encoded once per protocol version. The packet doesn't
+   * have any {@link #getEntries() entries}, and must only be sent to connections using the version
+   * the entries were encoded for.
+   *
+   * @param actions the actions the entries were encoded with
+   * @param encodedEntries the encoded entries
+   * @return the pre-encoded packet
+   */
+  public static UpsertPlayerInfoPacket preEncoded(EnumSet<Action> actions,
+      List<byte[]> encodedEntries) {
+    UpsertPlayerInfoPacket packet = new UpsertPlayerInfoPacket(actions, List.of());
+    packet.encodedEntries = encodedEntries;
+    return packet;
+  }
+
+  /**
+   * Encodes an entry for use with {@link #preEncoded}.
+   *
+   * @param entry the entry to encode
+   * @param actions the actions to encode the entry with
+   * @param version the protocol version to encode the entry for
+   * @return the encoded entry
+   */
+  public static byte[] encodeEntry(Entry entry, EnumSet<Action> actions,
+      ProtocolVersion version) {
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      writeEntry(buf, entry, actions, version);
+      return ByteBufUtil.getBytes(buf);
+    } finally {
+      buf.release();
+    }
+  }
+
   public List<Entry> getEntries() {
     return entries;
   }
@@ -118,13 +158,26 @@ public class UpsertPlayerInfoPacket implements MinecraftPacket {
     byte[] bytes = set.toByteArray();
     buf.writeBytes(Arrays.copyOf(bytes, -Math.floorDiv(-actions.length, 8)));
 
+    if (this.encodedEntries != null) {
+      ProtocolUtils.writeVarInt(buf, this.encodedEntries.size());
+      for (byte[] entry : this.encodedEntries) {
+        buf.writeBytes(entry);
+      }
+      return;
+    }
+
     ProtocolUtils.writeVarInt(buf, this.entries.size());
     for (Entry entry : this.entries) {
-      ProtocolUtils.writeUuid(buf, entry.profileId);
+      writeEntry(buf, entry, this.actions, protocolVersion);
+    }
+  }
 
-      for (Action action : this.actions) {
-        action.write.write(protocolVersion, buf, entry);
-      }
+  private static void writeEntry(ByteBuf buf, Entry entry, EnumSet<Action> actions,
+      ProtocolVersion protocolVersion) {
+    ProtocolUtils.writeUuid(buf, entry.profileId);
+
+    for (Action action : actions) {
+      action.write.write(protocolVersion, buf, entry);
     }
   }
 
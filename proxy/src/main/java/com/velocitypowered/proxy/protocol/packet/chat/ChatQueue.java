@@ -20,24 +20,34 @@ package com.velocitypowered.proxy.protocol.packet.chat;
 import com.velocitypowered.proxy.connection.MinecraftConnection;
 import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
-import io.netty.channel.ChannelFuture;
+import io.netty.channel.EventLoop;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import java.time.Instant;
 import java.util.BitSet;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 /**
  * A precisely ordered queue which allows for outside entries into the ordered queue through
  * piggybacking timestamps.
+ *
+ * <p>Entries may be queued from any thread, and are run one after another on the event loop of the
+ * player. An entry that has to wait for its packet (for example, until an event has been fired)
+ * holds back all following entries until the packet is available, so the server receives packets
+ * in the order they were queued in.
  */
 public class ChatQueue {
 
-  private final Object internalLock = new Object();
   private final ConnectedPlayer player;
   private final ChatState chatState = new ChatState();
-  private CompletableFuture<Void> head = CompletableFuture.completedFuture(null);
+  private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean drainScheduled = new AtomicBoolean();
+  private final Runnable drainTask = this::drain;
+  // Only accessed on the event loop of the player
+  private boolean awaitingPacket;
 
   /**
    * Instantiates a {@link ChatQueue} for a specific {@link ConnectedPlayer}.
@@ -49,22 +59,52 @@ public class ChatQueue {
   }
 
   private void queueTask(Task task) {
-    synchronized (internalLock) {
-      MinecraftConnection smc = player.ensureAndGetCurrentServer().ensureConnected();
-      head = head.thenCompose(v -> {
-        try {
-          return task.update(chatState, smc).exceptionally(ignored -> null);
-        } catch (Throwable ignored) {
-          return CompletableFuture.completedFuture(null);
+    MinecraftConnection smc = player.ensureAndGetCurrentServer().ensureConnected();
+    entries.offer(new Entry(task, smc));
+    if (drainScheduled.compareAndSet(false, true)) {
+      eventLoop().execute(drainTask);
+    }
+  }
+
+  private EventLoop eventLoop() {
+    return player.getConnection().eventLoop();
+  }
+
+  private void drain() {
+    // Cleared before polling, so entries queued from now on schedule another drain if we miss them
+    drainScheduled.set(false);
+    Entry entry;
+    while (!awaitingPacket && (entry = entries.poll()) != null) {
+      CompletableFuture<MinecraftPacket> future;
+      try {
+        future = entry.task().update(chatState, entry.smc());
+      } catch (Throwable ignored) {
+        continue;
+      }
+      if (future == null || future.isCompletedExceptionally()) {
+        continue;
+      }
+      if (future.isDone()) {
+        writePacket(future.join(), entry.smc());
+        continue;
+      }
+
+      awaitingPacket = true;
+      MinecraftConnection smc = entry.smc();
+      future.whenComplete((packet, ex) -> eventLoop().execute(() -> {
+        awaitingPacket = false;
+        if (ex == null) {
+          writePacket(packet, smc);
         }
-      });
+        drain();
+      }));
     }
   }
 
   /**
    * Queues a packet sent from the player - all packets must wait until this processes to send their
    * packets. This maintains order on the server-level for the client insertions of commands
-   * and messages. All entries are locked through an internal object lock.
+   * and messages.
    *
    * @param nextPacket       a function mapping {@link LastSeenMessages} state to a {@link CompletableFuture} that will
    *                         provide the next-processed packet. This should include the fixed {@link LastSeenMessages}.
@@ -74,7 +114,7 @@ public class ChatQueue {
   public void queuePacket(Function<LastSeenMessages, CompletableFuture<MinecraftPacket>> nextPacket, @Nullable Instant timestamp, @Nullable LastSeenMessages lastSeenMessages) {
     queueTask((chatState, smc) -> {
       LastSeenMessages newLastSeenMessages = chatState.updateFromMessage(timestamp, lastSeenMessages);
-      return nextPacket.apply(newLastSeenMessages).thenCompose(packet -> writePacket(packet, smc));
+      return nextPacket.apply(newLastSeenMessages);
     });
   }
 
@@ -87,8 +127,8 @@ public class ChatQueue {
    */
   public <T extends MinecraftPacket> void queuePacket(Function<ChatState, T> packetFunction) {
     queueTask((chatState, smc) -> {
-      T packet = packetFunction.apply(chatState);
-      return writePacket(packet, smc);
+      writePacket(packetFunction.apply(chatState), smc);
+      return null;
     });
   }
 
@@ -96,25 +136,30 @@ public class ChatQueue {
     queueTask((chatState, smc) -> {
       int ackCountToForward = chatState.accumulateAckCount(offset);
       if (ackCountToForward > 0) {
-        return writePacket(new ChatAcknowledgementPacket(ackCountToForward), smc);
+        writePacket(new ChatAcknowledgementPacket(ackCountToForward), smc);
       }
-      return CompletableFuture.completedFuture(null);
+      return null;
     });
   }
 
-  private static <T extends MinecraftPacket> CompletableFuture<Void> writePacket(T packet, MinecraftConnection smc) {
-    return CompletableFuture.runAsync(() -> {
-      if (!smc.isClosed()) {
-        ChannelFuture future = smc.write(packet);
-        if (future != null) {
-          future.awaitUninterruptibly();
-        }
-      }
-    }, smc.eventLoop());
+  private static void writePacket(@Nullable MinecraftPacket packet, MinecraftConnection smc) {
+    // Packets written from the same thread reach the server in order, no need to wait for the write
+    if (packet != null && !smc.isClosed()) {
+      smc.write(packet);
+    }
   }
 
   private interface Task {
-    CompletableFuture<Void> update(ChatState chatState, MinecraftConnection smc);
+    /**
+     * Runs the task on the event loop of the player.
+     *
+     * @return a future of the packet to write once it is available, or {@code null} if the task
+     *         has already written everything it had to
+     */
+    @Nullable CompletableFuture<MinecraftPacket> update(ChatState chatState, MinecraftConnection smc);
+  }
+
+  private record Entry(Task task, MinecraftConnection smc) {
   }
 
   /**
@@ -133,6 +178,8 @@ public class ChatQueue {
    *     gap with dummy 'last seen', and it will never be checked.</li>
    * </ul>
    *
+   * The state is only accessed by the tasks of the queue, which all run on the event loop of the player.
+   *
    * Note that this is effectively unused for 1.20.5+ clients, as commands without any signature do not send 'last seen'
    * updates.
    */
@@ -140,9 +187,9 @@ public class ChatQueue {
     private static final int MINIMUM_DELAYED_ACK_COUNT = LastSeenMessages.WINDOW_SIZE;
     private static final BitSet DUMMY_LAST_SEEN_MESSAGES = new BitSet();
 
-    public volatile Instant lastTimestamp = Instant.EPOCH;
-    private volatile BitSet lastSeenMessages = new BitSet();
-    private final AtomicInteger delayedAckCount = new AtomicInteger();
+    public Instant lastTimestamp = Instant.EPOCH;
+    private BitSet lastSeenMessages = new BitSet();
+    private int delayedAckCount;
 
     private ChatState() {
     }
@@ -154,7 +201,8 @@ public class ChatQueue {
       }
       if (lastSeenMessages != null) {
         // We held back some acknowledged messages, so flush that out now that we have a known 'last seen' state again
-        int delayedAckCount = this.delayedAckCount.getAndSet(0);
+        int delayedAckCount = this.delayedAckCount;
+        this.delayedAckCount = 0;
         this.lastSeenMessages = lastSeenMessages.getAcknowledged();
         return lastSeenMessages.offset(delayedAckCount);
       }
@@ -162,12 +210,12 @@ public class ChatQueue {
     }
 
     public int accumulateAckCount(int ackCount) {
-      int delayedAckCount = this.delayedAckCount.addAndGet(ackCount);
-      int ackCountToForward = delayedAckCount - MINIMUM_DELAYED_ACK_COUNT;
+      this.delayedAckCount += ackCount;
+      int ackCountToForward = this.delayedAckCount - MINIMUM_DELAYED_ACK_COUNT;
       if (ackCountToForward >= LastSeenMessages.WINDOW_SIZE) {
         // Because we only forward acknowledgements above the window size, we don't have to shift the previous 'last seen' state
         this.lastSeenMessages = DUMMY_LAST_SEEN_MESSAGES;
-        this.delayedAckCount.set(MINIMUM_DELAYED_ACK_COUNT);
+        this.delayedAckCount = MINIMUM_DELAYED_ACK_COUNT;
         return ackCountToForward;
       }
       return 0;
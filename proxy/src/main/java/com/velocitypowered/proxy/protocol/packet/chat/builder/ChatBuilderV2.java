@@ -21,6 +21,7 @@ import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.packet.chat.ChatType;
+import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
 import com.velocitypowered.proxy.protocol.packet.chat.LastSeenMessages;
 import java.time.Instant;
 import net.kyori.adventure.identity.Identity;
@@ -32,6 +33,7 @@ public abstract class ChatBuilderV2 {
 
   protected final ProtocolVersion version;
   protected @MonotonicNonNull Component component;
+  protected @Nullable ComponentHolder serializedComponent;
   protected @MonotonicNonNull String message;
   protected @Nullable Player sender;
   protected @Nullable Identity senderIdentity;
@@ -49,6 +51,18 @@ public abstract class ChatBuilderV2 {
     return this;
   }
 
+  /**
+   * Sets a component that has already been serialized, which lets broadcasts share the
+   * serialization between their recipients.
+   *
+   * @param component the serialized component, for the protocol version of this builder
+   * @return this builder
+   */
+  public ChatBuilderV2 component(ComponentHolder component) {
+    this.serializedComponent = component;
+    return this;
+  }
+
   public ChatBuilderV2 message(String message) {
     this.message = message;
     return this;
@@ -84,6 +98,13 @@ public abstract class ChatBuilderV2 {
     return this;
   }
 
+  protected ComponentHolder componentHolder() {
+    if (serializedComponent != null) {
+      return serializedComponent;
+    }
+    return new ComponentHolder(version, component == null ? Component.text(message) : component);
+  }
+
   public abstract MinecraftPacket toClient();
 
   public abstract MinecraftPacket toServer();
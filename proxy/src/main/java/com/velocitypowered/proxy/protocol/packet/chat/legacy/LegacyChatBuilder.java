@@ -19,11 +19,9 @@ package com.velocitypowered.proxy.protocol.packet.chat.legacy;
 
 import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
-import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.packet.chat.builder.ChatBuilderV2;
 import java.util.UUID;
 import net.kyori.adventure.identity.Identity;
-import net.kyori.adventure.text.Component;
 
 public class LegacyChatBuilder extends ChatBuilderV2 {
 
@@ -36,10 +34,7 @@ public class LegacyChatBuilder extends ChatBuilderV2 {
     // This is temporary
     UUID identity = sender == null ? (senderIdentity == null ? Identity.nil().uuid()
         : senderIdentity.uuid()) : sender.getUniqueId();
-    Component msg = component == null ? Component.text(message) : component;
-
-    return new LegacyChatPacket(ProtocolUtils.getJsonChatSerializer(version).serialize(msg), type.getId(),
-        identity);
+    return new LegacyChatPacket(componentHolder().getJson(), type.getId(), identity);
   }
 
   @Override
@@ -20,11 +20,9 @@ package com.velocitypowered.proxy.protocol.packet.chat.session;
 import com.velocitypowered.api.network.ProtocolVersion;
 import com.velocitypowered.proxy.protocol.MinecraftPacket;
 import com.velocitypowered.proxy.protocol.packet.chat.ChatType;
-import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
 import com.velocitypowered.proxy.protocol.packet.chat.LastSeenMessages;
 import com.velocitypowered.proxy.protocol.packet.chat.SystemChatPacket;
 import com.velocitypowered.proxy.protocol.packet.chat.builder.ChatBuilderV2;
-import net.kyori.adventure.text.Component;
 
 public class SessionChatBuilder extends ChatBuilderV2 {
 
@@ -35,8 +33,7 @@ public class SessionChatBuilder extends ChatBuilderV2 {
   @Override
   public MinecraftPacket toClient() {
     // This is temporary
-    Component msg = component == null ? Component.text(message) : component;
-    return new SystemChatPacket(new ComponentHolder(version, msg), type == ChatType.CHAT ? ChatType.SYSTEM : type);
+    return new SystemChatPacket(componentHolder(), type == ChatType.CHAT ? ChatType.SYSTEM : type);
   }
 
   @Override
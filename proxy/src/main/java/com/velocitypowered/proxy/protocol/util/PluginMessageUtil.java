@@ -26,7 +26,9 @@ import com.velocitypowered.api.util.ProxyVersion;
 import com.velocitypowered.proxy.protocol.ProtocolUtils;
 import com.velocitypowered.proxy.protocol.packet.PluginMessagePacket;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
@@ -104,6 +106,23 @@ public final class PluginMessageUtil {
     return ImmutableList.copyOf(channels.split("\0"));
   }
 
+  /**
+   * Returns the payload of a plugin message as a {@link ByteBuffer}, which shares its content with
+   * the message where possible. Only a message whose content is spread over several buffers has
+   * its payload copied.
+   *
+   * @param message the plugin message
+   * @return the payload of the message
+   */
+  public static ByteBuffer payloadView(PluginMessagePacket message) {
+    checkNotNull(message, "message");
+    ByteBuf content = message.content();
+    if (content.nioBufferCount() == 1) {
+      return content.nioBuffer();
+    }
+    return ByteBuffer.wrap(ByteBufUtil.getBytes(content));
+  }
+
   /**
    * Constructs a channel (un)register packet.
    *
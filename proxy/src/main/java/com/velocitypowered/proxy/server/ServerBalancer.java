@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.proxy.config.ServerGroup;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Picks servers out of {@link ServerGroup}s according to their
+ * {@link com.velocitypowered.proxy.config.BalancingStrategy}.
+ */
+public final class ServerBalancer {
+
+  private final ServerMap servers;
+  private final Map<String, RoundRobin> roundRobins = new ConcurrentHashMap<>();
+
+  public ServerBalancer(ServerMap servers) {
+    this.servers = servers;
+  }
+
+  /**
+   * Selects a server from the group.
+   *
+   * @param group the group to select a server from
+   * @param eligible determines which of the group's servers may be selected
+   * @return the selected server, or an empty optional if no server in the group is eligible
+   */
+  public Optional<RegisteredServer> select(ServerGroup group,
+      Predicate<RegisteredServer> eligible) {
+    List<VelocityRegisteredServer> candidates = new ArrayList<>(group.getServers().size());
+    for (String name : group.getServers()) {
+      Optional<RegisteredServer> server = servers.getServer(name);
+      if (server.isPresent() && eligible.test(server.get())) {
+        candidates.add((VelocityRegisteredServer) server.get());
+      }
+    }
+    if (candidates.isEmpty()) {
+      return Optional.empty();
+    }
+
+    return Optional.of(switch (group.getStrategy()) {
+      case FIRST_AVAILABLE -> candidates.get(0);
+      case LEAST_CONNECTIONS -> leastConnections(group, candidates);
+      case ROUND_ROBIN -> roundRobins.computeIfAbsent(group.getName(), name -> new RoundRobin())
+          .next(group, candidates);
+      case POWER_OF_TWO_CHOICES -> powerOfTwoChoices(group, candidates);
+      case LOWEST_LATENCY -> lowestLatency(candidates);
+    });
+  }
+
+  /**
+   * Compares the load of two servers, taking their weights into account.
+   */
+  private static int compareLoad(ServerGroup group, VelocityRegisteredServer a,
+      VelocityRegisteredServer b) {
+    return Long.compare((long) a.getPlayerCount() * group.getWeight(b.getServerInfo().getName()),
+        (long) b.getPlayerCount() * group.getWeight(a.getServerInfo().getName()));
+  }
+
+  private static VelocityRegisteredServer leastConnections(ServerGroup group,
+      List<VelocityRegisteredServer> candidates) {
+    VelocityRegisteredServer best = candidates.get(0);
+    int ties = 1;
+    for (int i = 1; i < candidates.size(); i++) {
+      VelocityRegisteredServer candidate = candidates.get(i);
+      int comparison = compareLoad(group, candidate, best);
+      if (comparison < 0) {
+        best = candidate;
+        ties = 1;
+      } else if (comparison == 0 && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+        // Break ties randomly, so a burst of joins isn't sent to the same server
+        best = candidate;
+      }
+    }
+    return best;
+  }
+
+  private static VelocityRegisteredServer powerOfTwoChoices(ServerGroup group,
+      List<VelocityRegisteredServer> candidates) {
+    if (candidates.size() == 1) {
+      return candidates.get(0);
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int first = random.nextInt(candidates.size());
+    int second = random.nextInt(candidates.size() - 1);
+    if (second >= first) {
+      second++;
+    }
+    VelocityRegisteredServer a = candidates.get(first);
+    VelocityRegisteredServer b = candidates.get(second);
+    return compareLoad(group, b, a) < 0 ? b : a;
+  }
+
+  private static VelocityRegisteredServer lowestLatency(
+      List<VelocityRegisteredServer> candidates) {
+    VelocityRegisteredServer best = null;
+    long bestLatency = Long.MAX_VALUE;
+    for (VelocityRegisteredServer candidate : candidates) {
+      long latency = candidate.getConnectLatencyNanos();
+      if (latency < 0) {
+        // Nothing is known about this server yet, so the connection will measure it
+        return candidate;
+      }
+      if (latency < bestLatency) {
+        best = candidate;
+        bestLatency = latency;
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Smooth weighted round-robin, which interleaves heavier servers with lighter ones instead of
+   * picking them several times in a row.
+   */
+  private static final class RoundRobin {
+
+    private final Map<String, Long> currentWeights = new HashMap<>();
+
+    synchronized VelocityRegisteredServer next(ServerGroup group,
+        List<VelocityRegisteredServer> candidates) {
+      VelocityRegisteredServer best = null;
+      long bestWeight = Long.MIN_VALUE;
+      long totalWeight = 0;
+      for (VelocityRegisteredServer candidate : candidates) {
+        String name = candidate.getServerInfo().getName();
+        int weight = group.getWeight(name);
+        long current = currentWeights.merge(name, (long) weight, Long::sum);
+        totalWeight += weight;
+        if (current > bestWeight) {
+          best = candidate;
+          bestWeight = current;
+        }
+      }
+      currentWeights.merge(best.getServerInfo().getName(), -totalWeight, Long::sum);
+      return best;
+    }
+  }
+}
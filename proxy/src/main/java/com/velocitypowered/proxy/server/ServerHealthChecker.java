@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.velocitypowered.api.proxy.server.PingOptions;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerHealth;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.HealthCheckType;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Periodically probes every registered server, so that players aren't sent to a server that is
+ * known to be unreachable and have to wait for the connection timeout before failing over.
+ *
+ * <p>Connections made on behalf of players count as checks as well, which lets a crashed server be
+ * marked down before the next scheduled probe if many players are joining.
+ */
+public final class ServerHealthChecker {
+
+  private static final Logger logger = LogManager.getLogger(ServerHealthChecker.class);
+
+  private final VelocityServer server;
+  private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setDaemon(true).setNameFormat("Velocity Health Checker").build());
+  private final Set<VelocityRegisteredServer> inFlight = ConcurrentHashMap.newKeySet();
+  private volatile @Nullable Settings settings;
+  private @Nullable ScheduledFuture<?> task;
+
+  public ServerHealthChecker(VelocityServer server) {
+    this.server = server;
+  }
+
+  /**
+   * Applies the health check settings of the configuration, starting or stopping the checks as
+   * needed.
+   *
+   * @param configuration the configuration to apply
+   */
+  public synchronized void reload(VelocityConfiguration configuration) {
+    if (task != null) {
+      task.cancel(false);
+      task = null;
+    }
+
+    int interval = configuration.getHealthCheckInterval();
+    if (interval <= 0) {
+      if (this.settings != null) {
+        this.settings = null;
+        for (RegisteredServer registered : server.getAllServers()) {
+          ((VelocityRegisteredServer) registered).resetHealth();
+        }
+      }
+      return;
+    }
+
+    this.settings = new Settings(configuration.getHealthCheckType(),
+        configuration.getHealthCheckTimeout(), configuration.getHealthCheckFailureThreshold(),
+        configuration.getHealthCheckRecoveryThreshold());
+    task = timer.scheduleWithFixedDelay(this::checkAll, 0, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops all further health checks.
+   */
+  public synchronized void shutdown() {
+    this.settings = null;
+    timer.shutdownNow();
+  }
+
+  /**
+   * Records the outcome of a connection made on behalf of a player.
+   *
+   * @param registered the server that was connected to
+   * @param success whether the connection could be established
+   */
+  public void recordConnection(VelocityRegisteredServer registered, boolean success) {
+    Settings settings = this.settings;
+    if (settings != null) {
+      record(registered, settings, success);
+    }
+  }
+
+  private void checkAll() {
+    Settings settings = this.settings;
+    if (settings == null) {
+      return;
+    }
+    for (RegisteredServer registered : server.getAllServers()) {
+      VelocityRegisteredServer target = (VelocityRegisteredServer) registered;
+      // Slow servers are probed at most once at a time, instead of piling up checks
+      if (inFlight.add(target)) {
+        probe(target, settings).whenComplete((success, ex) -> {
+          inFlight.remove(target);
+          record(target, settings, ex == null && success);
+        });
+      }
+    }
+  }
+
+  private CompletableFuture<Boolean> probe(VelocityRegisteredServer target, Settings settings) {
+    if (settings.type() == HealthCheckType.TCP) {
+      CompletableFuture<Boolean> result = new CompletableFuture<>();
+      server.createBootstrap(null)
+          .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, settings.timeout())
+          .handler(new ChannelInboundHandlerAdapter())
+          .connect(target.getServerInfo().getAddress())
+          .addListener((ChannelFutureListener) future -> {
+            if (future.isSuccess()) {
+              future.channel().close();
+            }
+            result.complete(future.isSuccess());
+          });
+      return result;
+    }
+
+    return target.ping(null, PingOptions.builder()
+            .timeout(settings.timeout(), TimeUnit.MILLISECONDS)
+            .build())
+        .orTimeout(settings.timeout(), TimeUnit.MILLISECONDS)
+        .thenApply(ping -> true);
+  }
+
+  private void record(VelocityRegisteredServer target, Settings settings, boolean success) {
+    if (this.settings != settings || server.getServer(target.getServerInfo().getName())
+        .orElse(null) != target) {
+      // The configuration was reloaded or the server was unregistered while we were checking
+      return;
+    }
+    ServerHealth previous = target.getHealth();
+    if (target.recordHealthCheck(success, settings.failureThreshold(),
+        settings.recoveryThreshold())) {
+      if (target.getHealth() == ServerHealth.DOWN) {
+        logger.warn("Server {} failed {} health checks in a row, players won't be sent to it until"
+            + " it recovers", target.getServerInfo().getName(), settings.failureThreshold());
+      } else if (previous == ServerHealth.DOWN) {
+        logger.info("Server {} has recovered", target.getServerInfo().getName());
+      }
+    }
+  }
+
+  private record Settings(HealthCheckType type, int timeout, int failureThreshold,
+      int recoveryThreshold) {
+  }
+}
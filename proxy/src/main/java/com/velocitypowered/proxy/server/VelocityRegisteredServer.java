@@ -32,6 +32,7 @@ import com.velocitypowered.api.proxy.messages.ChannelIdentifier;
 import com.velocitypowered.api.proxy.messages.PluginMessageEncoder;
 import com.velocitypowered.api.proxy.server.PingOptions;
 import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerHealth;
 import com.velocitypowered.api.proxy.server.ServerInfo;
 import com.velocitypowered.api.proxy.server.ServerPing;
 import com.velocitypowered.proxy.VelocityServer;
@@ -72,6 +73,10 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
   private final @Nullable VelocityServer server;
   private final ServerInfo serverInfo;
   private final Map<UUID, ConnectedPlayer> players = new ConcurrentHashMap<>();
+  private volatile long connectLatencyNanos = -1;
+  private volatile ServerHealth health = ServerHealth.UNKNOWN;
+  // Positive while checks succeed, negative while they fail
+  private int healthStreak;
 
   public VelocityRegisteredServer(@Nullable VelocityServer server, ServerInfo serverInfo) {
     this.server = server;
@@ -111,6 +116,7 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
       throw new IllegalStateException("No Velocity proxy instance available");
     }
     CompletableFuture<ServerPing> pingFuture = new CompletableFuture<>();
+    long connectStart = System.nanoTime();
     server.createBootstrap(loop).handler(new ChannelInitializer<>() {
       @Override
       protected void initChannel(Channel ch) {
@@ -127,6 +133,7 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
       }
     }).connect(serverInfo.getAddress()).addListener((ChannelFutureListener) future -> {
       if (future.isSuccess()) {
+        recordConnectLatency(System.nanoTime() - connectStart);
         MinecraftConnection conn = future.channel().pipeline().get(MinecraftConnection.class);
         PingSessionHandler handler = new PingSessionHandler(pingFuture,
             VelocityRegisteredServer.this, conn, pingOptions.getProtocolVersion());
@@ -139,11 +146,83 @@ public class VelocityRegisteredServer implements RegisteredServer, ForwardingAud
   }
 
   public void addPlayer(ConnectedPlayer player) {
-    players.put(player.getUniqueId(), player);
+    if (players.put(player.getUniqueId(), player) != player && server != null) {
+      server.getBungeeCordResponseCache().invalidatePlayers(this);
+    }
   }
 
   public void removePlayer(ConnectedPlayer player) {
-    players.remove(player.getUniqueId(), player);
+    if (players.remove(player.getUniqueId(), player) && server != null) {
+      server.getBungeeCordResponseCache().invalidatePlayers(this);
+    }
+  }
+
+  public int getPlayerCount() {
+    return players.size();
+  }
+
+  /**
+   * Records how long it took to establish a TCP connection to this server.
+   *
+   * @param nanos the time it took to connect, in nanoseconds
+   */
+  public void recordConnectLatency(long nanos) {
+    long previous = this.connectLatencyNanos;
+    // Exponentially weighted, so a single slow connection doesn't dominate
+    this.connectLatencyNanos = previous < 0 ? nanos : previous + (nanos - previous) / 4;
+  }
+
+  /**
+   * Returns the smoothed time it takes to establish a TCP connection to this server, measured
+   * from pings and player connections.
+   *
+   * @return the connection latency in nanoseconds, or {@code -1} if it hasn't been measured yet
+   */
+  public long getConnectLatencyNanos() {
+    return connectLatencyNanos;
+  }
+
+  @Override
+  public ServerHealth getHealth() {
+    return health;
+  }
+
+  /**
+   * Records the outcome of a health check, or of a connection that can be counted as one. The
+   * server is only marked down after {@code failureThreshold} consecutive failures, and only marked
+   * up again after {@code recoveryThreshold} consecutive successes, so a flaky server doesn't flap
+   * between the two.
+   *
+   * @param success whether the server could be reached
+   * @param failureThreshold the number of consecutive failures that mark the server down
+   * @param recoveryThreshold the number of consecutive successes that bring a down server back up
+   * @return whether the health of the server changed
+   */
+  public synchronized boolean recordHealthCheck(boolean success, int failureThreshold,
+      int recoveryThreshold) {
+    if (success) {
+      healthStreak = healthStreak > 0 ? healthStreak + 1 : 1;
+    } else {
+      healthStreak = healthStreak < 0 ? healthStreak - 1 : -1;
+    }
+
+    ServerHealth previous = this.health;
+    ServerHealth next = previous;
+    if (success && (previous != ServerHealth.DOWN || healthStreak >= recoveryThreshold)) {
+      next = ServerHealth.UP;
+    } else if (!success && -healthStreak >= failureThreshold) {
+      next = ServerHealth.DOWN;
+    }
+    this.health = next;
+    return next != previous;
+  }
+
+  /**
+   * Forgets the health of this server, for when health checks are disabled.
+   */
+  public synchronized void resetHealth() {
+    this.health = ServerHealth.UNKNOWN;
+    this.healthStreak = 0;
   }
 
   @Override
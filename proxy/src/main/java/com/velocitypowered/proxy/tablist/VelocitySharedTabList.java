@@ -0,0 +1,553 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.tablist;
+
+import com.google.common.base.Preconditions;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.player.SharedTabList;
+import com.velocitypowered.api.util.GameProfile;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.network.ConnectionManager;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.packet.RemovePlayerInfoPacket;
+import com.velocitypowered.proxy.protocol.packet.UpsertPlayerInfoPacket;
+import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import net.kyori.adventure.text.Component;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * The proxy-wide {@link SharedTabList}. Every entry is stored once and has a slot, and every
+ * viewer has a bitmap of the slots of the entries they can see.
+ *
+ * <p>Changes to entries are queued and flushed together on an event loop. Each changed entry is
+ * encoded once per protocol version in use by its viewers, and every viewer is sent a single
+ * packet made out of the encoded entries they can see.
+ *
+ * <p>The lock only guards the slots and bitmaps. Filters of viewers are evaluated against a
+ * snapshot taken beforehand, and only the entries and viewers that changed since are evaluated
+ * again while publishing the results. Packets are queued while holding the lock, so their order
+ * is kept, but they are encoded and written after it was released.
+ *
+ * <p>A backend may send an entry with the same profile ID as a shared entry. Removing it from the
+ * client removes the shared entry as well, so the shared entry is sent again afterwards by
+ * {@link #restoreRemoved(ConnectedPlayer, Collection)}.
+ */
+public final class VelocitySharedTabList implements SharedTabList {
+
+  private static final Logger logger = LogManager.getLogger(VelocitySharedTabList.class);
+  private static final EnumSet<UpsertPlayerInfoPacket.Action> ADD_ACTIONS = EnumSet.of(
+      UpsertPlayerInfoPacket.Action.ADD_PLAYER, UpsertPlayerInfoPacket.Action.UPDATE_GAME_MODE,
+      UpsertPlayerInfoPacket.Action.UPDATE_LISTED, UpsertPlayerInfoPacket.Action.UPDATE_LATENCY,
+      UpsertPlayerInfoPacket.Action.UPDATE_DISPLAY_NAME);
+
+  private final ConnectionManager connectionManager;
+  private final Object lock = new Object();
+  // Everything below is guarded by the lock
+  private final Map<UUID, VelocitySharedTabListEntry> entries = new HashMap<>();
+  private final BitSet usedSlots = new BitSet();
+  private final Map<ConnectedPlayer, Viewer> viewers = new LinkedHashMap<>();
+  private final Map<VelocitySharedTabListEntry, EnumSet<UpsertPlayerInfoPacket.Action>>
+      queuedActions = new LinkedHashMap<>();
+  private @Nullable Executor flushExecutor;
+  private boolean flushScheduled;
+  // Incremented whenever an entry is added, or the entries a viewer can see are evaluated
+  private long generation;
+  // Packets queued while holding the lock, written by one thread at a time in the same order
+  private final Queue<PendingWrite> pendingWrites = new ConcurrentLinkedQueue<>();
+  private final AtomicBoolean writing = new AtomicBoolean();
+
+  public VelocitySharedTabList(ConnectionManager connectionManager) {
+    this.connectionManager = connectionManager;
+  }
+
+  @Override
+  public Entry addEntry(GameProfile profile, @Nullable Component displayName, int latency,
+      int gameMode, boolean listed) {
+    Preconditions.checkNotNull(profile, "profile");
+    Preconditions.checkNotNull(profile.getId(), "Profile ID cannot be null");
+    VelocitySharedTabListEntry entry = new VelocitySharedTabListEntry(this, profile, displayName,
+        latency, gameMode, listed);
+
+    List<Viewer> snapshot;
+    long snapshotAt;
+    synchronized (lock) {
+      snapshot = List.copyOf(viewers.values());
+      snapshotAt = generation;
+    }
+    Map<Viewer, Boolean> canSee = new IdentityHashMap<>(snapshot.size());
+    for (Viewer viewer : snapshot) {
+      canSee.put(viewer, viewer.canSee(viewer.filter, entry));
+    }
+
+    synchronized (lock) {
+      removeEntry0(profile.getId());
+
+      int slot = usedSlots.nextClearBit(0);
+      usedSlots.set(slot);
+      entry.added(slot, ++generation);
+      entries.put(profile.getId(), entry);
+      for (Viewer viewer : viewers.values()) {
+        // Viewers added or evaluated since the snapshot didn't know about the entry
+        Boolean visible = viewer.evaluatedAt <= snapshotAt ? canSee.get(viewer) : null;
+        if (visible == null ? viewer.canSee(viewer.filter, entry) : visible) {
+          viewer.visible.set(slot);
+        }
+      }
+      send(ADD_ACTIONS, List.of(entry));
+    }
+    writePending();
+    return entry;
+  }
+
+  @Override
+  public Optional<Entry> removeEntry(UUID uuid) {
+    VelocitySharedTabListEntry removed;
+    synchronized (lock) {
+      removed = removeEntry0(uuid);
+    }
+    writePending();
+    return Optional.ofNullable(removed);
+  }
+
+  private @Nullable VelocitySharedTabListEntry removeEntry0(UUID uuid) {
+    VelocitySharedTabListEntry entry = entries.remove(uuid);
+    if (entry == null) {
+      return null;
+    }
+    usedSlots.clear(entry.getSlot());
+    queuedActions.remove(entry);
+
+    RemovePlayerInfoPacket packet = new RemovePlayerInfoPacket(List.of(uuid));
+    for (Viewer viewer : viewers.values()) {
+      if (viewer.visible.get(entry.getSlot())) {
+        viewer.visible.clear(entry.getSlot());
+        if (viewer.canReceive()) {
+          queueWrite(viewer, () -> packet);
+        }
+      }
+    }
+    return entry;
+  }
+
+  @Override
+  public Optional<Entry> getEntry(UUID uuid) {
+    synchronized (lock) {
+      return Optional.ofNullable(entries.get(uuid));
+    }
+  }
+
+  @Override
+  public Collection<Entry> getEntries() {
+    synchronized (lock) {
+      return List.copyOf(entries.values());
+    }
+  }
+
+  @Override
+  public boolean addViewer(Player viewer, Predicate<Entry> filter) {
+    Preconditions.checkNotNull(viewer, "viewer");
+    Preconditions.checkNotNull(filter, "filter");
+    ConnectedPlayer player = (ConnectedPlayer) viewer;
+    if (player.getProtocolVersion().lessThan(ProtocolVersion.MINECRAFT_1_19_3)
+        || !player.isActive()) {
+      return false;
+    }
+
+    List<VelocitySharedTabListEntry> snapshot;
+    long snapshotAt;
+    synchronized (lock) {
+      snapshot = List.copyOf(entries.values());
+      snapshotAt = generation;
+    }
+    Viewer evaluating = new Viewer(player);
+    Map<VelocitySharedTabListEntry, Boolean> canSee = evaluate(evaluating, filter, snapshot);
+
+    synchronized (lock) {
+      Viewer existing = viewers.get(player);
+      if (existing == null) {
+        existing = evaluating;
+        viewers.put(player, existing);
+      }
+      existing.filter = filter;
+      publishVisibility(existing, canSee, snapshotAt);
+    }
+    writePending();
+    if (!player.isActive()) {
+      // Disconnected while we were adding it, make sure it isn't leaked
+      viewerDisconnected(player);
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public void removeViewer(Player viewer) {
+    synchronized (lock) {
+      Viewer removed = viewers.remove(viewer);
+      if (removed == null || !removed.canReceive()) {
+        return;
+      }
+      List<UUID> visible = new ArrayList<>();
+      for (VelocitySharedTabListEntry entry : entries.values()) {
+        if (removed.visible.get(entry.getSlot())) {
+          visible.add(entry.getProfile().getId());
+        }
+      }
+      if (!visible.isEmpty()) {
+        RemovePlayerInfoPacket packet = new RemovePlayerInfoPacket(visible);
+        queueWrite(removed, () -> packet);
+      }
+    }
+    writePending();
+  }
+
+  @Override
+  public Collection<Player> getViewers() {
+    synchronized (lock) {
+      return List.copyOf(viewers.keySet());
+    }
+  }
+
+  @Override
+  public void updateVisibility(Player viewer) {
+    Viewer existing;
+    Predicate<Entry> filter;
+    List<VelocitySharedTabListEntry> snapshot;
+    long snapshotAt;
+    synchronized (lock) {
+      existing = viewers.get(viewer);
+      if (existing == null) {
+        return;
+      }
+      filter = existing.filter;
+      snapshot = List.copyOf(entries.values());
+      snapshotAt = generation;
+    }
+    Map<VelocitySharedTabListEntry, Boolean> canSee = evaluate(existing, filter, snapshot);
+
+    synchronized (lock) {
+      if (viewers.get(viewer) != existing) {
+        return;
+      }
+      if (existing.filter != filter) {
+        // Given another filter in the meantime, so none of the results are of any use
+        canSee = Map.of();
+      }
+      publishVisibility(existing, canSee, snapshotAt);
+    }
+    writePending();
+  }
+
+  private static Map<VelocitySharedTabListEntry, Boolean> evaluate(Viewer viewer,
+      Predicate<Entry> filter, List<VelocitySharedTabListEntry> snapshot) {
+    Map<VelocitySharedTabListEntry, Boolean> canSee = new IdentityHashMap<>(snapshot.size());
+    for (VelocitySharedTabListEntry entry : snapshot) {
+      canSee.put(entry, viewer.canSee(filter, entry));
+    }
+    return canSee;
+  }
+
+  /**
+   * Updates which entries the viewer can see, using the results of evaluating its filter against
+   * the entries that existed when {@code snapshotAt} was the current generation.
+   */
+  private void publishVisibility(Viewer viewer, Map<VelocitySharedTabListEntry, Boolean> canSee,
+      long snapshotAt) {
+    viewer.evaluatedAt = ++generation;
+    List<VelocitySharedTabListEntry> shown = new ArrayList<>();
+    List<UUID> hidden = new ArrayList<>();
+    for (VelocitySharedTabListEntry entry : entries.values()) {
+      Boolean result = entry.getAddedAt() <= snapshotAt ? canSee.get(entry) : null;
+      boolean visible = result == null ? viewer.canSee(viewer.filter, entry) : result;
+      if (visible != viewer.visible.get(entry.getSlot())) {
+        viewer.visible.set(entry.getSlot(), visible);
+        if (visible) {
+          shown.add(entry);
+        } else {
+          hidden.add(entry.getProfile().getId());
+        }
+      }
+    }
+    if (!hidden.isEmpty() && viewer.canReceive()) {
+      RemovePlayerInfoPacket packet = new RemovePlayerInfoPacket(hidden);
+      queueWrite(viewer, () -> packet);
+    }
+    sendAdded(viewer, shown);
+  }
+
+  /**
+   * Sends all entries the player can see again, after the client cleared its tab list.
+   *
+   * @param player the player whose tab list was cleared
+   */
+  public void resend(ConnectedPlayer player) {
+    synchronized (lock) {
+      Viewer viewer = viewers.get(player);
+      if (viewer == null) {
+        return;
+      }
+      List<VelocitySharedTabListEntry> visible = new ArrayList<>();
+      for (VelocitySharedTabListEntry entry : entries.values()) {
+        if (viewer.visible.get(entry.getSlot())) {
+          visible.add(entry);
+        }
+      }
+      sendAdded(viewer, visible);
+    }
+    writePending();
+  }
+
+  /**
+   * Sends the entries with the given profile IDs that the player can see again, after entries
+   * with the same IDs were removed from the tab list of the client. This must be called after the
+   * removal was written to the player.
+   *
+   * @param player the player entries were removed for
+   * @param removed the profile IDs of the removed entries
+   */
+  public void restoreRemoved(ConnectedPlayer player, Collection<UUID> removed) {
+    synchronized (lock) {
+      Viewer viewer = viewers.get(player);
+      if (viewer == null || entries.isEmpty()) {
+        return;
+      }
+      List<VelocitySharedTabListEntry> restored = new ArrayList<>();
+      for (UUID uuid : removed) {
+        VelocitySharedTabListEntry entry = entries.get(uuid);
+        if (entry != null && viewer.visible.get(entry.getSlot())) {
+          restored.add(entry);
+        }
+      }
+      sendAdded(viewer, restored);
+    }
+    writePending();
+  }
+
+  /**
+   * Forgets about a player that disconnected, without sending them anything.
+   *
+   * @param player the player that disconnected
+   */
+  public void viewerDisconnected(ConnectedPlayer player) {
+    synchronized (lock) {
+      viewers.remove(player);
+    }
+  }
+
+  void queueAction(VelocitySharedTabListEntry entry, UpsertPlayerInfoPacket.Action action) {
+    synchronized (lock) {
+      if (entries.get(entry.getProfile().getId()) != entry) {
+        // Removed from the tab list, nobody can see it anymore
+        return;
+      }
+      queuedActions.computeIfAbsent(entry,
+          ignored -> EnumSet.noneOf(UpsertPlayerInfoPacket.Action.class)).add(action);
+      if (!flushScheduled) {
+        flushScheduled = true;
+        if (flushExecutor == null) {
+          flushExecutor = connectionManager.getWorkerGroup().next();
+        }
+        flushExecutor.execute(this::flushQueuedActions);
+      }
+    }
+  }
+
+  private void flushQueuedActions() {
+    synchronized (lock) {
+      flushScheduled = false;
+      // Entries with the same actions are sent in the same packet
+      Map<EnumSet<UpsertPlayerInfoPacket.Action>, List<VelocitySharedTabListEntry>> packets =
+          new HashMap<>();
+      for (Map.Entry<VelocitySharedTabListEntry, EnumSet<UpsertPlayerInfoPacket.Action>> queued
+          : queuedActions.entrySet()) {
+        packets.computeIfAbsent(queued.getValue(), ignored -> new ArrayList<>())
+            .add(queued.getKey());
+      }
+      queuedActions.clear();
+
+      for (Map.Entry<EnumSet<UpsertPlayerInfoPacket.Action>, List<VelocitySharedTabListEntry>>
+          packet : packets.entrySet()) {
+        send(packet.getKey(), packet.getValue());
+      }
+    }
+    writePending();
+  }
+
+  /**
+   * Sends entries to every viewer that can see them. Each entry is only encoded once per protocol
+   * version, no matter how many viewers use that version.
+   */
+  private void send(EnumSet<UpsertPlayerInfoPacket.Action> actions,
+      List<VelocitySharedTabListEntry> changed) {
+    EncodedEntries encoded = new EncodedEntries(actions, changed);
+    for (Viewer viewer : viewers.values()) {
+      if (!viewer.canReceive()) {
+        continue;
+      }
+      BitSet visible = new BitSet(changed.size());
+      for (int i = 0; i < changed.size(); i++) {
+        if (viewer.visible.get(changed.get(i).getSlot())) {
+          visible.set(i);
+        }
+      }
+      if (!visible.isEmpty()) {
+        ProtocolVersion version = viewer.player.getProtocolVersion();
+        queueWrite(viewer, () -> encoded.packetFor(version, visible));
+      }
+    }
+  }
+
+  private void sendAdded(Viewer viewer, List<VelocitySharedTabListEntry> added) {
+    if (added.isEmpty() || !viewer.canReceive()) {
+      return;
+    }
+    ProtocolVersion version = viewer.player.getProtocolVersion();
+    queueWrite(viewer, () -> {
+      List<UpsertPlayerInfoPacket.Entry> rawEntries = new ArrayList<>(added.size());
+      for (VelocitySharedTabListEntry entry : added) {
+        rawEntries.add(createRawEntry(entry, version));
+      }
+      return new UpsertPlayerInfoPacket(ADD_ACTIONS, rawEntries);
+    });
+  }
+
+  private void queueWrite(Viewer viewer, Supplier<MinecraftPacket> packet) {
+    pendingWrites.add(new PendingWrite(viewer.player.getConnection(), packet));
+  }
+
+  /**
+   * Creates and writes the packets queued so far, once the lock has been released.
+   */
+  private void writePending() {
+    // Only one thread writes at a time, so that clients receive the packets in the order they were
+    // queued in, and the encoded entries are never shared between threads
+    while (!pendingWrites.isEmpty() && writing.compareAndSet(false, true)) {
+      try {
+        PendingWrite write;
+        while ((write = pendingWrites.poll()) != null) {
+          write.connection().write(write.packet().get());
+        }
+      } finally {
+        writing.set(false);
+      }
+    }
+  }
+
+  private static UpsertPlayerInfoPacket.Entry createRawEntry(VelocitySharedTabListEntry entry,
+      ProtocolVersion version) {
+    UpsertPlayerInfoPacket.Entry rawEntry =
+        new UpsertPlayerInfoPacket.Entry(entry.getProfile().getId());
+    rawEntry.setProfile(entry.getProfile());
+    rawEntry.setGameMode(entry.getGameMode());
+    rawEntry.setListed(entry.isListed());
+    rawEntry.setLatency(entry.getLatency());
+    Component displayName = entry.getDisplayName().orElse(null);
+    rawEntry.setDisplayName(displayName == null ? null
+        : new ComponentHolder(version, displayName));
+    return rawEntry;
+  }
+
+  private record PendingWrite(MinecraftConnection connection, Supplier<MinecraftPacket> packet) {
+  }
+
+  /**
+   * Changed entries, encoded when the first viewer that uses a protocol version is written to.
+   * Only used by the thread writing the pending packets.
+   */
+  private static final class EncodedEntries {
+
+    private final EnumSet<UpsertPlayerInfoPacket.Action> actions;
+    private final List<VelocitySharedTabListEntry> entries;
+    private final Map<ProtocolVersion, byte[][]> encoded = new EnumMap<>(ProtocolVersion.class);
+
+    private EncodedEntries(EnumSet<UpsertPlayerInfoPacket.Action> actions,
+        List<VelocitySharedTabListEntry> entries) {
+      this.actions = actions;
+      this.entries = entries;
+    }
+
+    UpsertPlayerInfoPacket packetFor(ProtocolVersion version, BitSet visible) {
+      byte[][] forVersion = encoded.computeIfAbsent(version,
+          ignored -> new byte[entries.size()][]);
+      List<byte[]> packetEntries = new ArrayList<>(visible.cardinality());
+      for (int i = visible.nextSetBit(0); i >= 0; i = visible.nextSetBit(i + 1)) {
+        if (forVersion[i] == null) {
+          forVersion[i] = UpsertPlayerInfoPacket.encodeEntry(
+              createRawEntry(entries.get(i), version), actions, version);
+        }
+        packetEntries.add(forVersion[i]);
+      }
+      return UpsertPlayerInfoPacket.preEncoded(actions, packetEntries);
+    }
+  }
+
+  private static final class Viewer {
+
+    private final ConnectedPlayer player;
+    private final BitSet visible = new BitSet();
+    // Written while holding the lock, but also read without it to evaluate snapshots
+    private volatile Predicate<Entry> filter;
+    // Generation in which the entries the viewer can see were last evaluated
+    private long evaluatedAt;
+
+    private Viewer(ConnectedPlayer player) {
+      this.player = player;
+    }
+
+    boolean canSee(Predicate<Entry> filter, VelocitySharedTabListEntry entry) {
+      try {
+        return filter.test(entry);
+      } catch (Exception e) {
+        logger.error("Exception in shared tab list filter of {}", player, e);
+        return false;
+      }
+    }
+
+    /**
+     * Returns whether the client has a tab list we can write to. Entries the player can see are
+     * sent again by {@link VelocitySharedTabList#resend(ConnectedPlayer)} once it does.
+     */
+    boolean canReceive() {
+      return player.getConnection().getState() == StateRegistry.PLAY
+          && player.getConnectedServer() != null;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.tablist;
+
+import com.velocitypowered.api.proxy.player.SharedTabList;
+import com.velocitypowered.api.util.GameProfile;
+import com.velocitypowered.proxy.protocol.packet.UpsertPlayerInfoPacket;
+import java.util.Optional;
+import net.kyori.adventure.text.Component;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An entry of a {@link VelocitySharedTabList}.
+ */
+final class VelocitySharedTabListEntry implements SharedTabList.Entry {
+
+  private final VelocitySharedTabList tabList;
+  private final GameProfile profile;
+  // Index of the entry in the visibility bitmaps of the viewers, guarded by the tab list's lock
+  private int slot = -1;
+  // Generation of the tab list the entry was added in, guarded by the tab list's lock
+  private long addedAt;
+  private volatile @Nullable Component displayName;
+  private volatile int latency;
+  private volatile int gameMode;
+  private volatile boolean listed;
+
+  VelocitySharedTabListEntry(VelocitySharedTabList tabList, GameProfile profile,
+      @Nullable Component displayName, int latency, int gameMode, boolean listed) {
+    this.tabList = tabList;
+    this.profile = profile;
+    this.displayName = displayName;
+    this.latency = latency;
+    this.gameMode = gameMode;
+    this.listed = listed;
+  }
+
+  int getSlot() {
+    return slot;
+  }
+
+  long getAddedAt() {
+    return addedAt;
+  }
+
+  void added(int slot, long generation) {
+    this.slot = slot;
+    this.addedAt = generation;
+  }
+
+  @Override
+  public SharedTabList getTabList() {
+    return tabList;
+  }
+
+  @Override
+  public GameProfile getProfile() {
+    return profile;
+  }
+
+  @Override
+  public Optional<Component> getDisplayName() {
+    return Optional.ofNullable(displayName);
+  }
+
+  @Override
+  public SharedTabList.Entry setDisplayName(@Nullable Component displayName) {
+    this.displayName = displayName;
+    tabList.queueAction(this, UpsertPlayerInfoPacket.Action.UPDATE_DISPLAY_NAME);
+    return this;
+  }
+
+  @Override
+  public int getLatency() {
+    return latency;
+  }
+
+  @Override
+  public SharedTabList.Entry setLatency(int latency) {
+    this.latency = latency;
+    tabList.queueAction(this, UpsertPlayerInfoPacket.Action.UPDATE_LATENCY);
+    return this;
+  }
+
+  @Override
+  public int getGameMode() {
+    return gameMode;
+  }
+
+  @Override
+  public SharedTabList.Entry setGameMode(int gameMode) {
+    this.gameMode = gameMode;
+    tabList.queueAction(this, UpsertPlayerInfoPacket.Action.UPDATE_GAME_MODE);
+    return this;
+  }
+
+  @Override
+  public boolean isListed() {
+    return listed;
+  }
+
+  @Override
+  public SharedTabList.Entry setListed(boolean listed) {
+    this.listed = listed;
+    tabList.queueAction(this, UpsertPlayerInfoPacket.Action.UPDATE_LISTED);
+    return this;
+  }
+}
@@ -33,11 +33,13 @@ import com.velocitypowered.proxy.protocol.packet.chat.RemoteChatSession;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 import net.kyori.adventure.text.Component;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -52,6 +54,9 @@ public class VelocityTabList implements InternalTabList {
   private final ConnectedPlayer player;
   private final MinecraftConnection connection;
   private final Map<UUID, VelocityTabListEntry> entries;
+  private final Map<UUID, EnumSet<UpsertPlayerInfoPacket.Action>> queuedActions;
+  private final AtomicBoolean flushScheduled = new AtomicBoolean();
+  private final @Nullable VelocitySharedTabList sharedTabList;
 
   /**
    * Constructs the instance.
@@ -59,9 +64,22 @@ public class VelocityTabList implements InternalTabList {
    * @param player player associated with this tab list
    */
   public VelocityTabList(ConnectedPlayer player) {
+    this(player, null);
+  }
+
+  /**
+   * Constructs the instance.
+   *
+   * @param player player associated with this tab list
+   * @param sharedTabList the shared tab list whose entries are sent again when an entry with the
+   *                      same profile ID is removed, or {@code null} if there is none
+   */
+  public VelocityTabList(ConnectedPlayer player, @Nullable VelocitySharedTabList sharedTabList) {
     this.player = player;
+    this.sharedTabList = sharedTabList;
     this.connection = player.getConnection();
     this.entries = Maps.newConcurrentMap();
+    this.queuedActions = Maps.newConcurrentMap();
   }
 
   @Override
@@ -94,8 +112,6 @@ public class VelocityTabList implements InternalTabList {
 
     EnumSet<UpsertPlayerInfoPacket.Action> actions = EnumSet
             .noneOf(UpsertPlayerInfoPacket.Action.class);
-    UpsertPlayerInfoPacket.Entry playerInfoEntry = new UpsertPlayerInfoPacket
-            .Entry(entry.getProfile().getId());
 
     Preconditions.checkNotNull(entry.getProfile(), "Profile cannot be null");
     Preconditions.checkNotNull(entry.getProfile().getId(), "Profile ID cannot be null");
@@ -109,71 +125,50 @@ public class VelocityTabList implements InternalTabList {
         if (!Objects.equals(previousEntry.getDisplayNameComponent().orElse(null),
                 entry.getDisplayNameComponent().orElse(null))) {
           actions.add(UpsertPlayerInfoPacket.Action.UPDATE_DISPLAY_NAME);
-          playerInfoEntry.setDisplayName(entry.getDisplayNameComponent().isEmpty()
-                  ?
-                  null :
-                  new ComponentHolder(player.getProtocolVersion(),
-                          entry.getDisplayNameComponent().get())
-          );
         }
         if (!Objects.equals(previousEntry.getLatency(), entry.getLatency())) {
           actions.add(UpsertPlayerInfoPacket.Action.UPDATE_LATENCY);
-          playerInfoEntry.setLatency(entry.getLatency());
         }
         if (!Objects.equals(previousEntry.getGameMode(), entry.getGameMode())) {
           actions.add(UpsertPlayerInfoPacket.Action.UPDATE_GAME_MODE);
-          playerInfoEntry.setGameMode(entry.getGameMode());
         }
         if (!Objects.equals(previousEntry.isListed(), entry.isListed())) {
           actions.add(UpsertPlayerInfoPacket.Action.UPDATE_LISTED);
-          playerInfoEntry.setListed(entry.isListed());
         }
-        if (!Objects.equals(previousEntry.getChatSession(), entry.getChatSession())) {
-          ChatSession from = entry.getChatSession();
-          if (from != null) {
-            actions.add(UpsertPlayerInfoPacket.Action.INITIALIZE_CHAT);
-            playerInfoEntry.setChatSession(
-                    new RemoteChatSession(from.getSessionId(), from.getIdentifiedKey()));
-          }
+        if (!Objects.equals(previousEntry.getChatSession(), entry.getChatSession())
+            && entry.getChatSession() != null) {
+          actions.add(UpsertPlayerInfoPacket.Action.INITIALIZE_CHAT);
         }
       } else {
         actions.addAll(EnumSet.of(UpsertPlayerInfoPacket.Action.ADD_PLAYER,
                 UpsertPlayerInfoPacket.Action.UPDATE_LATENCY,
                 UpsertPlayerInfoPacket.Action.UPDATE_LISTED));
-        playerInfoEntry.setProfile(entry.getProfile());
         if (entry.getDisplayNameComponent().isPresent()) {
           actions.add(UpsertPlayerInfoPacket.Action.UPDATE_DISPLAY_NAME);
-          playerInfoEntry.setDisplayName(entry.getDisplayNameComponent().isEmpty()
-                  ?
-                  null :
-                  new ComponentHolder(player.getProtocolVersion(),
-                          entry.getDisplayNameComponent().get())
-          );
         }
         if (entry.getChatSession() != null) {
           actions.add(UpsertPlayerInfoPacket.Action.INITIALIZE_CHAT);
-          ChatSession from = entry.getChatSession();
-          playerInfoEntry.setChatSession(
-                  new RemoteChatSession(from.getSessionId(), from.getIdentifiedKey()));
         }
         if (entry.getGameMode() != -1 && entry.getGameMode() != 256) {
           actions.add(UpsertPlayerInfoPacket.Action.UPDATE_GAME_MODE);
-          playerInfoEntry.setGameMode(entry.getGameMode());
         }
-        playerInfoEntry.setLatency(entry.getLatency());
-        playerInfoEntry.setListed(entry.isListed());
       }
       return entry;
     });
 
     if (!actions.isEmpty()) {
-      this.connection.write(new UpsertPlayerInfoPacket(actions, List.of(playerInfoEntry)));
+      this.queueActions(entry.getProfile().getId(), actions);
     }
   }
 
   @Override
   public Optional<TabListEntry> removeEntry(UUID uuid) {
+    // Updates to the entry are moot now, and an addition that wasn't sent yet doesn't need to be
+    this.queuedActions.remove(uuid);
     this.connection.write(new RemovePlayerInfoPacket(List.of(uuid)));
+    if (this.sharedTabList != null) {
+      this.sharedTabList.restoreRemoved(this.player, List.of(uuid));
+    }
     return Optional.ofNullable(this.entries.remove(uuid));
   }
 
@@ -194,14 +189,18 @@ public class VelocityTabList implements InternalTabList {
 
   @Override
   public void clearAll() {
-    this.connection.delayedWrite(new RemovePlayerInfoPacket(
-            new ArrayList<>(this.entries.keySet())));
+    List<UUID> removed = new ArrayList<>(this.entries.keySet());
+    this.connection.delayedWrite(new RemovePlayerInfoPacket(removed));
     clearAllSilent();
+    if (this.sharedTabList != null) {
+      this.sharedTabList.restoreRemoved(this.player, removed);
+    }
   }
 
   @Override
   public void clearAllSilent() {
     this.entries.clear();
+    this.queuedActions.clear();
   }
 
   @Override
@@ -226,9 +225,87 @@ public class VelocityTabList implements InternalTabList {
     return new UpsertPlayerInfoPacket.Entry(entry.getProfile().getId());
   }
 
-  protected void emitActionRaw(UpsertPlayerInfoPacket.Action action,
-                               UpsertPlayerInfoPacket.Entry entry) {
-    this.connection.write(new UpsertPlayerInfoPacket(EnumSet.of(action), List.of(entry)));
+  protected void emitActionRaw(UpsertPlayerInfoPacket.Action action, VelocityTabListEntry entry) {
+    this.queueActions(entry.getProfile().getId(), EnumSet.of(action));
+  }
+
+  /**
+   * Queues actions for an entry, to be sent along with all other actions queued until the event
+   * loop of the player gets to it. Sending the actions later is fine, as they are sent using the
+   * state of the entry at that time.
+   *
+   * @param uuid the profile ID of the entry
+   * @param actions the actions to send
+   */
+  private void queueActions(UUID uuid, EnumSet<UpsertPlayerInfoPacket.Action> actions) {
+    this.queuedActions.merge(uuid, actions, (queued, added) -> {
+      queued.addAll(added);
+      return queued;
+    });
+    if (this.flushScheduled.compareAndSet(false, true)) {
+      this.connection.eventLoop().execute(this::flushQueuedActions);
+    }
+  }
+
+  private void flushQueuedActions() {
+    this.flushScheduled.set(false);
+    // Entries with the same actions share a packet, which is usually all of them, since plugins
+    // tend to update the same properties of every entry at once
+    Map<EnumSet<UpsertPlayerInfoPacket.Action>, List<UpsertPlayerInfoPacket.Entry>> packets =
+        new HashMap<>();
+    for (UUID uuid : this.queuedActions.keySet()) {
+      EnumSet<UpsertPlayerInfoPacket.Action> actions = this.queuedActions.remove(uuid);
+      VelocityTabListEntry entry = this.entries.get(uuid);
+      if (actions == null || entry == null) {
+        continue;
+      }
+      packets.computeIfAbsent(actions, ignored -> new ArrayList<>())
+          .add(createRawEntry(entry, actions));
+    }
+
+    if (packets.isEmpty()) {
+      return;
+    }
+    for (Map.Entry<EnumSet<UpsertPlayerInfoPacket.Action>, List<UpsertPlayerInfoPacket.Entry>>
+        packet : packets.entrySet()) {
+      this.connection.delayedWrite(new UpsertPlayerInfoPacket(packet.getKey(), packet.getValue()));
+    }
+    this.connection.flush();
+  }
+
+  private UpsertPlayerInfoPacket.Entry createRawEntry(VelocityTabListEntry entry,
+      EnumSet<UpsertPlayerInfoPacket.Action> actions) {
+    UpsertPlayerInfoPacket.Entry rawEntry = createRawEntry(entry);
+    for (UpsertPlayerInfoPacket.Action action : actions) {
+      switch (action) {
+        case ADD_PLAYER:
+          rawEntry.setProfile(entry.getProfile());
+          break;
+        case INITIALIZE_CHAT:
+          ChatSession from = entry.getChatSession();
+          rawEntry.setChatSession(from == null ? null
+              : new RemoteChatSession(from.getSessionId(), from.getIdentifiedKey()));
+          break;
+        case UPDATE_GAME_MODE:
+          rawEntry.setGameMode(entry.getGameMode());
+          break;
+        case UPDATE_LISTED:
+          rawEntry.setListed(entry.isListed());
+          break;
+        case UPDATE_LATENCY:
+          rawEntry.setLatency(entry.getLatency());
+          break;
+        case UPDATE_DISPLAY_NAME:
+          Component displayName = entry.getDisplayNameComponent().orElse(null);
+          rawEntry.setDisplayName(displayName == null ? null
+              : new ComponentHolder(player.getProtocolVersion(), displayName));
+          break;
+        default:
+          // Not exposed through the API, so never queued
+          break;
+      }
+    }
+    return rawEntry;
   }
 
   private void processUpsert(EnumSet<UpsertPlayerInfoPacket.Action> actions,
@@ -46,7 +46,7 @@ public enum TranslatableMapper implements BiConsumer<TranslatableComponent, Cons
     for (final Translator source : GlobalTranslator.translator().sources()) {
       if (source instanceof TranslationRegistry registry
               && registry.contains(translatableComponent.key())) {
-        componentConsumer.accept(GlobalTranslator.render(translatableComponent,
+        componentConsumer.accept(TranslationRenderCache.INSTANCE.render(translatableComponent,
                 ClosestLocaleMatcher.INSTANCE.lookupClosest(Locale.getDefault())));
         return;
       }
@@ -58,7 +58,7 @@ public enum TranslatableMapper implements BiConsumer<TranslatableComponent, Cons
     for (final Translator source : GlobalTranslator.translator().sources()) {
       if (source instanceof TranslationRegistry registry && registry.contains(fallback)) {
         componentConsumer.accept(
-                GlobalTranslator.render(Component.translatable(fallback),
+                TranslationRenderCache.INSTANCE.render(Component.translatable(fallback),
                         ClosestLocaleMatcher.INSTANCE.lookupClosest(Locale.getDefault())));
         return;
       }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.annotations.VisibleForTesting;
+import java.util.Iterator;
+import java.util.Locale;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.translation.GlobalTranslator;
+import net.kyori.adventure.translation.TranslationRegistry;
+import net.kyori.adventure.translation.Translator;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Caches translatable components rendered by the {@link GlobalTranslator}, since the proxy renders
+ * the same messages (kick reasons, connection errors and so on) over and over for every player.
+ *
+ * <p>Only messages translated by Velocity's own registry are cached, as its contents never change
+ * once it has been loaded. Registries added by plugins may be changed in place at any time, so
+ * anything that might be translated by them is rendered every time.
+ */
+public final class TranslationRenderCache {
+
+  public static final TranslationRenderCache INSTANCE = new TranslationRenderCache();
+
+  private static final int MAXIMUM_SIZE = 4096;
+
+  private final Cache<Key, Component> rendered = Caffeine.newBuilder()
+      .maximumSize(MAXIMUM_SIZE)
+      .build();
+  private volatile @Nullable TranslationRegistry source;
+
+  @VisibleForTesting
+  TranslationRenderCache() {
+  }
+
+  /**
+   * Sets the registry whose translations may be cached. The registry must be fully loaded, and
+   * must not be changed afterwards.
+   *
+   * @param source Velocity's translation registry
+   */
+  public void setSource(final TranslationRegistry source) {
+    this.source = source;
+    this.rendered.invalidateAll();
+  }
+
+  /**
+   * Renders {@code message} in the given locale, reusing an earlier rendering if possible.
+   *
+   * @param message the message to render
+   * @param locale the locale to render the message in
+   * @return the rendered message
+   */
+  public Component render(final Component message, final Locale locale) {
+    if (!(message instanceof TranslatableComponent translatable) || !isCacheable(translatable)) {
+      return GlobalTranslator.render(message, locale);
+    }
+    return rendered.get(new Key(message, locale),
+        key -> GlobalTranslator.render(key.message(), key.locale()));
+  }
+
+  private boolean isCacheable(final TranslatableComponent message) {
+    final TranslationRegistry source = this.source;
+    if (source == null || !source.contains(message.key()) || !isLeaf(message)) {
+      return false;
+    }
+    // The first source that knows the key translates it, so ours must not have been preceded
+    final Iterator<? extends Translator> sources = GlobalTranslator.translator().sources()
+        .iterator();
+    if (!sources.hasNext() || sources.next() != source) {
+      return false;
+    }
+    for (final TranslationArgument argument : message.arguments()) {
+      if (argument.value() instanceof Component component
+          && !(component instanceof TextComponent && isLeaf(component))) {
+        // Anything else could be translated by a plugin's registry as well
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isLeaf(final Component component) {
+    return component.children().isEmpty() && component.hoverEvent() == null;
+  }
+
+  private record Key(Component message, Locale locale) {
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.ratelimit;
+
+import com.google.common.base.Preconditions;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Decides which incoming connections and queries the proxy is willing to handle. Status requests,
+ * logins and queries each have their own {@link Ratelimiter}, and the rate at which new
+ * connections are accepted is capped across all clients.
+ */
+public final class AdmissionController {
+
+  private static final int STATUS_BURST = 8;
+  private static final int QUERY_BURST = 8;
+
+  private final @Nullable TokenBucket accepts;
+  private final Ratelimiter status;
+  private final Ratelimiter login;
+  private final Ratelimiter query;
+
+  /**
+   * Creates an admission controller.
+   *
+   * @param acceptsPerSecond the maximum number of connections to accept per second, or 0 to
+   *                         accept connections as fast as they arrive
+   * @param status the rate-limiter for status requests and legacy pings
+   * @param login the rate-limiter for login attempts
+   * @param query the rate-limiter for GameSpy 4 queries
+   */
+  public AdmissionController(int acceptsPerSecond, Ratelimiter status, Ratelimiter login,
+      Ratelimiter query) {
+    this.accepts = acceptsPerSecond > 0
+        ? new TokenBucket(TimeUnit.SECONDS.toNanos(1) / acceptsPerSecond, acceptsPerSecond)
+        : null;
+    this.status = Preconditions.checkNotNull(status, "status");
+    this.login = Preconditions.checkNotNull(login, "login");
+    this.query = Preconditions.checkNotNull(query, "query");
+  }
+
+  /**
+   * Creates an admission controller from the limits in the proxy configuration.
+   *
+   * @param configuration the configuration to read the limits from
+   * @return the admission controller
+   */
+  public static AdmissionController fromConfiguration(VelocityConfiguration configuration) {
+    int ipv4Prefix = configuration.getRatelimitIpv4Prefix();
+    int ipv6Prefix = configuration.getRatelimitIpv6Prefix();
+    return new AdmissionController(configuration.getAcceptRatelimit(),
+        Ratelimiters.createTokenBucket(configuration.getStatusRatelimit(), STATUS_BURST,
+            ipv4Prefix, ipv6Prefix),
+        Ratelimiters.createTokenBucket(configuration.getLoginRatelimit(), 1,
+            ipv4Prefix, ipv6Prefix),
+        Ratelimiters.createTokenBucket(configuration.getQueryRatelimit(), QUERY_BURST,
+            ipv4Prefix, ipv6Prefix));
+  }
+
+  /**
+   * Determines whether a newly accepted connection should be kept. This is called before the
+   * connection's pipeline is set up, so rejecting it here is as cheap as it gets. Connections are
+   * rejected if the proxy is accepting connections too quickly, or if the client has neither a
+   * status request nor a login attempt left.
+   *
+   * @param remoteAddress the address of the client, or {@code null} if it is not known yet, such
+   *                      as when the PROXY protocol is in use
+   * @return true if the connection should be kept, false if it should be closed
+   */
+  public boolean admitConnection(@Nullable SocketAddress remoteAddress) {
+    if (accepts != null && !accepts.tryAcquire(System.nanoTime())) {
+      return false;
+    }
+    if (remoteAddress instanceof InetSocketAddress inetAddress
+        && inetAddress.getAddress() != null) {
+      InetAddress address = inetAddress.getAddress();
+      return status.wouldAllow(address) || login.wouldAllow(address);
+    }
+    return true;
+  }
+
+  public boolean admitStatus(InetAddress address) {
+    return status.attempt(address);
+  }
+
+  public boolean admitLogin(InetAddress address) {
+    return login.attempt(address);
+  }
+
+  public boolean admitQuery(InetAddress address) {
+    return query.attempt(address);
+  }
+}
@@ -31,4 +31,15 @@ public interface Ratelimiter {
    * @return true if allowed, false if not
    */
   boolean attempt(InetAddress address);
+
+  /**
+   * Determines whether an attempt from the address would currently be allowed, without counting
+   * it as an attempt.
+   *
+   * @param address the address to check
+   * @return true if an attempt would be allowed, false if it would be rate-limited
+   */
+  default boolean wouldAllow(InetAddress address) {
+    return true;
+  }
 }
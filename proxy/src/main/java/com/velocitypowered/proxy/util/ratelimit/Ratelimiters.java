@@ -28,8 +28,26 @@ public final class Ratelimiters {
     throw new AssertionError();
   }
 
-  public static Ratelimiter createWithMilliseconds(long ms) {
-    return ms <= 0 ? NoopCacheRatelimiter.INSTANCE : new CaffeineCacheRatelimiter(ms,
-        TimeUnit.MILLISECONDS);
+  /**
+   * Subnets get this many times the budget of a single address, so that a few clients behind the
+   * same subnet are not limited, while rotating through a subnet's addresses doesn't help.
+   */
+  private static final int SUBNET_FACTOR = 8;
+
+  /**
+   * Creates a token bucket rate-limiter allowing an attempt every {@code ms} milliseconds per
+   * address, with bursts of up to {@code burst} attempts. Subnets of the given sizes share a
+   * larger budget.
+   *
+   * @param ms the time it takes to regain an attempt, or 0 to disable rate-limiting
+   * @param burst the number of attempts that can be made in quick succession
+   * @param ipv4Prefix the prefix length of IPv4 subnets
+   * @param ipv6Prefix the prefix length of IPv6 subnets
+   * @return the rate-limiter
+   */
+  public static Ratelimiter createTokenBucket(long ms, int burst, int ipv4Prefix,
+      int ipv6Prefix) {
+    return ms <= 0 ? NoopCacheRatelimiter.INSTANCE : new TokenBucketRatelimiter(ms,
+        TimeUnit.MILLISECONDS, burst, ipv4Prefix, ipv6Prefix, SUBNET_FACTOR);
   }
 }
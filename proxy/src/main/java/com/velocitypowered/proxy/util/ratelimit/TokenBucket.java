@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A single lock-free token bucket. Rather than counting tokens, it tracks the time at which the
+ * bucket will be full again (the generic cell rate algorithm), which can be updated with one
+ * compare-and-set.
+ */
+final class TokenBucket {
+
+  private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+  private final long intervalNanos;
+  private final long capacityNanos;
+
+  /**
+   * Creates a bucket that holds {@code burst} tokens and gains a token every
+   * {@code intervalNanos}.
+   *
+   * @param intervalNanos the time it takes to gain a token
+   * @param burst the maximum number of tokens
+   */
+  TokenBucket(long intervalNanos, int burst) {
+    this.intervalNanos = intervalNanos;
+    this.capacityNanos = intervalNanos * burst;
+  }
+
+  boolean tryAcquire(long now) {
+    while (true) {
+      long current = fullAt.get();
+      long next = Math.max(current, now) + intervalNanos;
+      if (next - now > capacityNanos) {
+        return false;
+      }
+      if (fullAt.compareAndSet(current, next)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Gives back a token taken by {@link #tryAcquire(long)}.
+   */
+  void release() {
+    fullAt.addAndGet(-intervalNanos);
+  }
+
+  boolean wouldAllow(long now) {
+    return Math.max(fullAt.get(), now) + intervalNanos - now <= capacityNanos;
+  }
+}
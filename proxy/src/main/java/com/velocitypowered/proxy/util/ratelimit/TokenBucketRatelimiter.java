@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A token bucket rate-limiter that keeps a bucket for every address as well as a larger, shared
+ * bucket for the subnet the address belongs to, so that clients can't evade the limit by rotating
+ * through the addresses they own, which is trivial with IPv6.
+ *
+ * <p>A bucket that has been idle long enough to refill is indistinguishable from a new one, so it
+ * is evicted at that point.
+ */
+public class TokenBucketRatelimiter implements Ratelimiter {
+
+  private final Buckets addresses;
+  private final @Nullable Buckets subnets;
+  private final int ipv4Prefix;
+  private final int ipv6Prefix;
+  private final Ticker ticker;
+
+  TokenBucketRatelimiter(long interval, TimeUnit unit, int burst, int ipv4Prefix, int ipv6Prefix,
+      int subnetFactor) {
+    this(interval, unit, burst, ipv4Prefix, ipv6Prefix, subnetFactor, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  TokenBucketRatelimiter(long interval, TimeUnit unit, int burst, int ipv4Prefix, int ipv6Prefix,
+      int subnetFactor, Ticker ticker) {
+    Preconditions.checkNotNull(unit, "unit");
+    Preconditions.checkNotNull(ticker, "ticker");
+    Preconditions.checkArgument(interval > 0, "interval must be positive");
+    Preconditions.checkArgument(burst > 0, "burst must be positive");
+    Preconditions.checkArgument(ipv4Prefix >= 0 && ipv4Prefix <= 32, "invalid IPv4 prefix");
+    Preconditions.checkArgument(ipv6Prefix >= 0 && ipv6Prefix <= 128, "invalid IPv6 prefix");
+    this.ticker = ticker;
+    this.ipv4Prefix = ipv4Prefix;
+    this.ipv6Prefix = ipv6Prefix;
+    long intervalNanos = unit.toNanos(interval);
+    this.addresses = new Buckets(intervalNanos, burst, ticker);
+    this.subnets = subnetFactor > 1 && (ipv4Prefix < 32 || ipv6Prefix < 128)
+        ? new Buckets(Math.max(1, intervalNanos / subnetFactor), burst * subnetFactor, ticker)
+        : null;
+  }
+
+  /**
+   * Attempts to rate-limit the client, taking a token from both its own and its subnet's bucket.
+   * If the subnet denies the attempt, the token taken from the client's own bucket is given back,
+   * so a client that is denied because of its subnet doesn't use up its own budget.
+   *
+   * @param address the address to rate limit
+   * @return true if we should allow the client, false if we should rate-limit
+   */
+  @Override
+  public boolean attempt(InetAddress address) {
+    Preconditions.checkNotNull(address, "address");
+    long now = ticker.read();
+    if (subnets == null) {
+      return addresses.attempt(address, now);
+    }
+    TokenBucket bucket = addresses.get(address);
+    if (!bucket.tryAcquire(now)) {
+      return false;
+    }
+    if (!subnets.attempt(subnetOf(address), now)) {
+      bucket.release();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Determines whether the client would currently be allowed, without taking any tokens.
+   *
+   * @param address the address to check
+   * @return true if an attempt would succeed right now
+   */
+  @Override
+  public boolean wouldAllow(InetAddress address) {
+    Preconditions.checkNotNull(address, "address");
+    long now = ticker.read();
+    return addresses.wouldAllow(address, now)
+        && (subnets == null || subnets.wouldAllow(subnetOf(address), now));
+  }
+
+  private InetAddress subnetOf(InetAddress address) {
+    int prefix = address instanceof Inet4Address ? ipv4Prefix : ipv6Prefix;
+    byte[] bytes = address.getAddress();
+    if (prefix >= bytes.length * 8) {
+      return address;
+    }
+    int fullBytes = prefix / 8;
+    int remainingBits = prefix % 8;
+    if (remainingBits != 0) {
+      bytes[fullBytes] &= (byte) (0xFF << (8 - remainingBits));
+      fullBytes++;
+    }
+    for (int i = fullBytes; i < bytes.length; i++) {
+      bytes[i] = 0;
+    }
+    try {
+      return InetAddress.getByAddress(bytes);
+    } catch (UnknownHostException e) {
+      // Only thrown for arrays of an illegal length, which getAddress() never returns.
+      throw new AssertionError(e);
+    }
+  }
+
+  private static final class Buckets {
+
+    private final Cache<InetAddress, TokenBucket> buckets;
+    private final long intervalNanos;
+    private final int burst;
+
+    Buckets(long intervalNanos, int burst, Ticker ticker) {
+      this.intervalNanos = intervalNanos;
+      this.burst = burst;
+      this.buckets = Caffeine.newBuilder()
+          .ticker(ticker)
+          .expireAfterAccess(intervalNanos * burst, TimeUnit.NANOSECONDS)
+          .build();
+    }
+
+    TokenBucket get(InetAddress key) {
+      return buckets.get(key, k -> new TokenBucket(intervalNanos, burst));
+    }
+
+    boolean attempt(InetAddress key, long now) {
+      return get(key).tryAcquire(now);
+    }
+
+    boolean wouldAllow(InetAddress key, long now) {
+      TokenBucket bucket = buckets.getIfPresent(key);
+      return bucket == null || bucket.wouldAllow(now);
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.adventure;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.protocol.packet.BossBarPacket;
+import io.netty.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VelocityBossBarImplementationTest {
+
+  private final List<Runnable> tasks = new ArrayList<>();
+  // Viewers are weakly referenced by the bar
+  private final List<ConnectedPlayer> viewers = new ArrayList<>();
+  private EventLoop eventLoop;
+  private BossBar bar;
+  private VelocityBossBarImplementation implementation;
+
+  @BeforeEach
+  void setUp() {
+    eventLoop = mock(EventLoop.class);
+    doAnswer(invocation -> tasks.add(invocation.getArgument(0)))
+        .when(eventLoop).execute(any());
+    bar = BossBar.bossBar(Component.text("bar"), 0, BossBar.Color.PINK,
+        BossBar.Overlay.PROGRESS);
+    implementation = new VelocityBossBarImplementation(bar);
+    bar.addListener(implementation);
+  }
+
+  private void viewer(Locale locale, List<Object> written) {
+    MinecraftConnection connection = mock(MinecraftConnection.class);
+    when(connection.eventLoop()).thenReturn(eventLoop);
+    doAnswer(invocation -> written.add(invocation.getArgument(0)))
+        .when(connection).delayedWrite(any());
+    ConnectedPlayer player = mock(ConnectedPlayer.class);
+    when(player.getConnection()).thenReturn(connection);
+    when(player.getProtocolVersion()).thenReturn(ProtocolVersion.MINECRAFT_1_20_3);
+    when(player.getEffectiveLocale()).thenReturn(locale);
+    when(player.translateMessage(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    implementation.viewerAdd(player);
+    viewers.add(player);
+  }
+
+  @Test
+  void changesAreCoalesced() {
+    List<Object> first = new ArrayList<>();
+    List<Object> second = new ArrayList<>();
+    viewer(Locale.US, first);
+    viewer(Locale.US, second);
+
+    bar.progress(0.25f);
+    bar.progress(0.5f);
+    bar.color(BossBar.Color.RED);
+    bar.overlay(BossBar.Overlay.NOTCHED_6);
+    assertTrue(first.isEmpty());
+    assertEquals(1, tasks.size());
+    tasks.remove(0).run();
+
+    assertEquals(2, first.size());
+    BossBarPacket progress = (BossBarPacket) first.get(0);
+    assertEquals(BossBarPacket.UPDATE_PERCENT, progress.getAction());
+    assertEquals(0.5f, progress.getPercent());
+    assertEquals(BossBarPacket.UPDATE_STYLE, ((BossBarPacket) first.get(1)).getAction());
+    // Both viewers share the same encoded packets
+    assertEquals(first, second);
+    assertSame(first.get(0), second.get(0));
+  }
+
+  @Test
+  void namePacketsAreSharedPerLocale() {
+    List<Object> english = new ArrayList<>();
+    List<Object> alsoEnglish = new ArrayList<>();
+    List<Object> german = new ArrayList<>();
+    viewer(Locale.US, english);
+    viewer(Locale.US, alsoEnglish);
+    viewer(Locale.GERMANY, german);
+
+    bar.name(Component.text("renamed"));
+    tasks.remove(0).run();
+
+    assertEquals(1, english.size());
+    assertEquals(BossBarPacket.UPDATE_NAME, ((BossBarPacket) english.get(0)).getAction());
+    assertSame(english.get(0), alsoEnglish.get(0));
+    assertNotSame(english.get(0), german.get(0));
+  }
+
+  @Test
+  void changesWithoutViewersAreDropped() {
+    bar.progress(1);
+    assertTrue(tasks.isEmpty());
+  }
+}
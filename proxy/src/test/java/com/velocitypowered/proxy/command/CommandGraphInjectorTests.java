@@ -22,6 +22,9 @@ import static com.mojang.brigadier.builder.LiteralArgumentBuilder.literal;
 import static com.mojang.brigadier.builder.RequiredArgumentBuilder.argument;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -32,6 +35,7 @@ import com.velocitypowered.api.command.BrigadierCommand;
 import com.velocitypowered.api.command.CommandSource;
 import com.velocitypowered.api.command.RawCommand;
 import com.velocitypowered.api.command.SimpleCommand;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -232,4 +236,81 @@ public class CommandGraphInjectorTests extends CommandTestSuite {
 
     assertEquals(registered, dest.getChild("foo"));
   }
+
+  @Test
+  void testReusesFilteredNodesForSameRequirementResults() {
+    final var registered = LiteralArgumentBuilder
+        .<CommandSource>literal("greet")
+        .then(literal("somebody"))
+        .build();
+    manager.register(new BrigadierCommand(registered));
+    manager.getInjector().inject(dest, source);
+
+    final var otherDest = new RootCommandNode<CommandSource>();
+    manager.getInjector().inject(otherDest, new MockCommandSource());
+
+    assertSame(dest.getChild("greet"), otherDest.getChild("greet"));
+  }
+
+  @Test
+  void testReevaluatesRequirementsOnEveryInjection() {
+    final var allowed = new AtomicBoolean(true);
+    final var registered = LiteralArgumentBuilder
+        .<CommandSource>literal("greet")
+        .then(LiteralArgumentBuilder
+            .<CommandSource>literal("somebody")
+            .requires(source -> allowed.get()))
+        .build();
+    manager.register(new BrigadierCommand(registered));
+    manager.getInjector().inject(dest, source);
+    assertNotNull(dest.getChild("greet").getChild("somebody"));
+
+    allowed.set(false);
+    final var otherDest = new RootCommandNode<CommandSource>();
+    manager.getInjector().inject(otherDest, source);
+    assertNull(otherDest.getChild("greet").getChild("somebody"));
+  }
+
+  @Test
+  void testRegistrationInvalidatesFilteredNodes() {
+    manager.register(new BrigadierCommand(LiteralArgumentBuilder
+        .<CommandSource>literal("foo")
+        .build()));
+    manager.getInjector().inject(dest, source);
+
+    manager.register(new BrigadierCommand(LiteralArgumentBuilder
+        .<CommandSource>literal("bar")
+        .build()));
+    final var otherDest = new RootCommandNode<CommandSource>();
+    manager.getInjector().inject(otherDest, source);
+
+    assertNotNull(otherDest.getChild("foo"));
+    assertNotNull(otherDest.getChild("bar"));
+
+    manager.unregister("foo");
+    final var thirdDest = new RootCommandNode<CommandSource>();
+    manager.getInjector().inject(thirdDest, source);
+    assertNull(thirdDest.getChild("foo"));
+  }
+
+  @Test
+  void testModifiableNodesAreNotShared() {
+    final var registered = LiteralArgumentBuilder
+        .<CommandSource>literal("greet")
+        .then(literal("somebody"))
+        .build();
+    manager.register(new BrigadierCommand(registered));
+    manager.getInjector().injectModifiable(dest, source);
+
+    // A PlayerAvailableCommandsEvent listener edits the graph of one player...
+    dest.getChild("greet").removeChildByName("somebody");
+
+    // ...which must not affect another player with the same permissions.
+    final var otherDest = new RootCommandNode<CommandSource>();
+    manager.getInjector().inject(otherDest, new MockCommandSource());
+    assertNotNull(otherDest.getChild("greet").getChild("somebody"));
+    final var thirdDest = new RootCommandNode<CommandSource>();
+    manager.getInjector().injectModifiable(thirdDest, new MockCommandSource());
+    assertNotNull(thirdDest.getChild("greet").getChild("somebody"));
+  }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.component;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.proxy.adventure.BroadcastRenderCache;
+import com.velocitypowered.proxy.protocol.packet.chat.ComponentHolder;
+import java.util.Locale;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.junit.jupiter.api.Test;
+
+/**
+ * BroadcastRenderCache tests.
+ */
+public class BroadcastRenderCacheTest {
+
+  private static final Component MESSAGE = Component.text("Restarting soon",
+      NamedTextColor.RED);
+
+  @Test
+  void testSharedWithinFormat() {
+    BroadcastRenderCache cache = new BroadcastRenderCache(MESSAGE);
+    ComponentHolder first = cache.serialize(Locale.US, ProtocolVersion.MINECRAFT_1_20_3);
+    ComponentHolder second = cache.serialize(Locale.US, ProtocolVersion.MAXIMUM_VERSION);
+    assertSame(first, second);
+
+    ComponentHolder legacy = cache.serialize(Locale.US, ProtocolVersion.MINECRAFT_1_16_4);
+    assertSame(legacy, cache.serialize(Locale.US, ProtocolVersion.MINECRAFT_1_20_2));
+    assertNotSame(first, legacy);
+  }
+
+  @Test
+  void testMatchesUncachedSerialization() {
+    BroadcastRenderCache cache = new BroadcastRenderCache(MESSAGE);
+    for (ProtocolVersion version : new ProtocolVersion[] {ProtocolVersion.MINECRAFT_1_12_2,
+        ProtocolVersion.MINECRAFT_1_19_4, ProtocolVersion.MINECRAFT_1_20_5}) {
+      ComponentHolder expected = new ComponentHolder(version, MESSAGE);
+      ComponentHolder actual = cache.serialize(Locale.GERMANY, version);
+      if (version.noLessThan(ProtocolVersion.MINECRAFT_1_20_3)) {
+        assertEquals(expected.getBinaryTag(), actual.getBinaryTag());
+      } else {
+        assertEquals(expected.getJson(), actual.getJson());
+      }
+    }
+  }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.backend;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.network.ConnectionManager;
+import com.velocitypowered.proxy.server.ServerHealthChecker;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BackendConnectionPoolTest {
+
+  private final BlockingQueue<Channel> accepted = new LinkedBlockingQueue<>();
+  private EventLoopGroup backendGroup;
+  private EventLoopGroup workerGroup;
+  private Channel backend;
+  private VelocityServer server;
+  private VelocityRegisteredServer target;
+  private ServerHealthChecker healthChecker;
+  private VelocityConfiguration configuration;
+  private BackendConnectionPool pool;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    backendGroup = new NioEventLoopGroup(1);
+    workerGroup = new NioEventLoopGroup(2);
+    backend = new ServerBootstrap()
+        .group(backendGroup)
+        .channel(NioServerSocketChannel.class)
+        .childHandler(new ChannelInitializer<>() {
+          @Override
+          protected void initChannel(Channel ch) {
+            accepted.add(ch);
+          }
+        })
+        .bind(new InetSocketAddress("127.0.0.1", 0))
+        .sync()
+        .channel();
+
+    target = mock(VelocityRegisteredServer.class);
+    when(target.getServerInfo())
+        .thenReturn(new ServerInfo("lobby", (InetSocketAddress) backend.localAddress()));
+    healthChecker = mock(ServerHealthChecker.class);
+    server = mock(VelocityServer.class);
+    when(server.createBootstrap(any())).thenAnswer(invocation -> new Bootstrap()
+        .group(invocation.<EventLoopGroup>getArgument(0))
+        .channel(NioSocketChannel.class));
+    when(server.getBackendChannelInitializer()).thenReturn(new ChannelInitializer<>() {
+      @Override
+      protected void initChannel(Channel ch) {
+      }
+    });
+    when(server.getServer("lobby")).thenReturn(Optional.of(target));
+    when(server.getAllServers()).thenReturn(List.<RegisteredServer>of(target));
+    when(server.getServerHealthChecker()).thenReturn(healthChecker);
+    ConnectionManager connectionManager = mock(ConnectionManager.class);
+    when(connectionManager.getWorkerGroup()).thenReturn(workerGroup);
+
+    configuration = mock(VelocityConfiguration.class);
+    when(configuration.getBackendConnectionPoolSize()).thenReturn(1);
+    when(configuration.getBackendConnectionPoolMaxIdle()).thenReturn(10_000);
+    when(configuration.getReadTimeout()).thenReturn(30_000);
+    pool = new BackendConnectionPool(server, connectionManager);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    pool.shutdown();
+    backend.close().sync();
+    workerGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+    backendGroup.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+  }
+
+  private Channel awaitAccepted() throws InterruptedException {
+    Channel channel = accepted.poll(5, TimeUnit.SECONDS);
+    assertNotNull(channel, "no connection was made to the backend");
+    return channel;
+  }
+
+  private Channel awaitTake(EventLoop loop) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (System.nanoTime() < deadline) {
+      Channel channel = pool.take(target, loop);
+      if (channel != null) {
+        return channel;
+      }
+      Thread.sleep(10);
+    }
+    throw new AssertionError("no pooled connection became available");
+  }
+
+  @Test
+  void connectionsAreOnlyHandedOutOnTheirOwnEventLoop() throws Exception {
+    pool.reload(configuration);
+    // One connection for each of the two event loops
+    awaitAccepted();
+    awaitAccepted();
+
+    for (var executor : workerGroup) {
+      EventLoop loop = (EventLoop) executor;
+      Channel channel = awaitTake(loop);
+      assertTrue(channel.isActive());
+      assertSame(loop, channel.eventLoop());
+      channel.close();
+    }
+  }
+
+  @Test
+  void takenConnectionsAreReplaced() throws Exception {
+    pool.reload(configuration);
+    awaitAccepted();
+    awaitAccepted();
+
+    EventLoop loop = workerGroup.next();
+    Channel taken = awaitTake(loop);
+    awaitAccepted();
+    Channel replacement = awaitTake(loop);
+    assertNotSame(taken, replacement);
+    assertSame(loop, replacement.eventLoop());
+    taken.close();
+    replacement.close();
+  }
+
+  @Test
+  void pooledConnectionsRecordLatencyAndHealth() throws Exception {
+    pool.reload(configuration);
+    awaitAccepted();
+    awaitAccepted();
+
+    verify(target, timeout(5000).atLeast(2)).recordConnectLatency(anyLong());
+    verify(healthChecker, timeout(5000).atLeast(2)).recordConnection(eq(target), eq(true));
+  }
+
+  @Test
+  void idleConnectionsExpire() throws Exception {
+    when(configuration.getBackendConnectionPoolMaxIdle()).thenReturn(100);
+    pool.reload(configuration);
+    Channel first = awaitAccepted();
+    awaitAccepted();
+
+    // The pooled end is closed once it has been idle for too long, and replaced with a new one
+    assertTrue(first.closeFuture().await(5, TimeUnit.SECONDS));
+    awaitAccepted();
+    verify(healthChecker, timeout(5000).atLeast(3)).recordConnection(eq(target), eq(true));
+  }
+
+  @Test
+  void disabledPoolHandsOutNothing() throws Exception {
+    when(configuration.getBackendConnectionPoolSize()).thenReturn(0);
+    pool.reload(configuration);
+    assertNull(pool.take(target, workerGroup.next()));
+    assertNull(accepted.poll(200, TimeUnit.MILLISECONDS));
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.backend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.proxy.Player;
+import com.velocitypowered.api.proxy.ProxyServer;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.proxy.protocol.util.ByteBufDataInput;
+import io.netty.buffer.ByteBuf;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BungeeCordResponseCacheTest {
+
+  private final List<Player> players = new ArrayList<>();
+  private ProxyServer proxy;
+  private RegisteredServer server;
+  private BungeeCordResponseCache cache;
+
+  @BeforeEach
+  void setUp() {
+    proxy = mock(ProxyServer.class);
+    when(proxy.getAllPlayers()).thenAnswer(invocation -> List.copyOf(players));
+    server = mock(RegisteredServer.class);
+    when(server.getServerInfo()).thenReturn(new ServerInfo("lobby",
+        InetSocketAddress.createUnresolved("localhost", 25565)));
+    when(server.getPlayersConnected()).thenAnswer(invocation -> List.copyOf(players));
+    cache = new BungeeCordResponseCache(proxy);
+  }
+
+  private void addPlayer(String name) {
+    Player player = mock(Player.class);
+    when(player.getUsername()).thenReturn(name);
+    players.add(player);
+  }
+
+  private static List<String> read(ByteBuf buf) {
+    try {
+      ByteBufDataInput in = new ByteBufDataInput(buf);
+      List<String> strings = new ArrayList<>();
+      while (buf.isReadable()) {
+        strings.add(in.readUTF());
+      }
+      return strings;
+    } finally {
+      buf.release();
+    }
+  }
+
+  @Test
+  void playerListIsCachedUntilInvalidated() {
+    addPlayer("alice");
+    assertEquals(List.of("PlayerList", "ALL", "alice"), read(cache.playerList()));
+    addPlayer("bob");
+    // Reading a response doesn't consume the cached copy
+    assertEquals(List.of("PlayerList", "ALL", "alice"), read(cache.playerList()));
+    verify(proxy, times(1)).getAllPlayers();
+
+    cache.invalidatePlayers();
+    assertEquals(List.of("PlayerList", "ALL", "alice, bob"), read(cache.playerList()));
+    verify(proxy, times(2)).getAllPlayers();
+  }
+
+  @Test
+  void serverResponsesAreInvalidatedSeparately() {
+    addPlayer("alice");
+    assertEquals(List.of("PlayerList", "lobby", "alice"), read(cache.playerList(server)));
+    read(cache.playerList());
+    addPlayer("bob");
+
+    cache.invalidatePlayers();
+    assertEquals(List.of("PlayerList", "lobby", "alice"), read(cache.playerList(server)));
+    cache.invalidatePlayers(server);
+    assertEquals(List.of("PlayerList", "lobby", "alice, bob"), read(cache.playerList(server)));
+  }
+
+  @Test
+  void serversAreListed() {
+    when(proxy.getAllServers()).thenReturn(List.of(server));
+    assertEquals(List.of("GetServers", "lobby"), read(cache.servers()));
+    when(proxy.getAllServers()).thenReturn(List.of());
+    assertEquals(List.of("GetServers", "lobby"), read(cache.servers()));
+    cache.invalidateServers();
+    assertEquals(List.of("GetServers", ""), read(cache.servers()));
+  }
+}
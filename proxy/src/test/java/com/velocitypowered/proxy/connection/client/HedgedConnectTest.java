@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.client;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.connection.backend.BackendConnectionPool;
+import com.velocitypowered.proxy.server.ServerHealthChecker;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultChannelPromise;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HedgedConnectTest {
+
+  private static final InetSocketAddress PREFERRED_ADDRESS =
+      new InetSocketAddress("127.0.0.1", 25566);
+  private static final InetSocketAddress ALTERNATIVE_ADDRESS =
+      new InetSocketAddress("127.0.0.1", 25567);
+
+  private EventLoop eventLoop;
+  private VelocityServer server;
+  private ServerHealthChecker healthChecker;
+  private Bootstrap bootstrap;
+  private VelocityRegisteredServer preferred;
+  private VelocityRegisteredServer alternative;
+  // Connection attempts that only complete when the test says so
+  private ChannelPromise preferredAttempt;
+  private ChannelPromise alternativeAttempt;
+
+  @BeforeEach
+  void setUp() {
+    eventLoop = new DefaultEventLoop();
+    preferred = mock(VelocityRegisteredServer.class);
+    when(preferred.getServerInfo()).thenReturn(new ServerInfo("lobby", PREFERRED_ADDRESS));
+    alternative = mock(VelocityRegisteredServer.class);
+    when(alternative.getServerInfo()).thenReturn(new ServerInfo("lobby2", ALTERNATIVE_ADDRESS));
+    preferredAttempt = new DefaultChannelPromise(new EmbeddedChannel(), eventLoop);
+    alternativeAttempt = new DefaultChannelPromise(new EmbeddedChannel(), eventLoop);
+
+    bootstrap = mock(Bootstrap.class);
+    when(bootstrap.handler(any())).thenReturn(bootstrap);
+    when(bootstrap.connect(PREFERRED_ADDRESS)).thenReturn(preferredAttempt);
+    when(bootstrap.connect(ALTERNATIVE_ADDRESS)).thenReturn(alternativeAttempt);
+    healthChecker = mock(ServerHealthChecker.class);
+    server = mock(VelocityServer.class);
+    when(server.createBootstrap(any())).thenReturn(bootstrap);
+    when(server.getBackendConnectionPool()).thenReturn(mock(BackendConnectionPool.class));
+    when(server.getServerHealthChecker()).thenReturn(healthChecker);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    eventLoop.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+  }
+
+  private CompletableFuture<HedgedConnect.Established> race(long delayMillis) {
+    return HedgedConnect.race(server, eventLoop, preferred, alternative, delayMillis);
+  }
+
+  @Test
+  void preferredServerWinsWhenItConnectsInTime() throws Exception {
+    CompletableFuture<HedgedConnect.Established> result = race(60_000);
+    verify(bootstrap, timeout(5000)).connect(PREFERRED_ADDRESS);
+    preferredAttempt.setSuccess();
+
+    HedgedConnect.Established established = result.get(5, TimeUnit.SECONDS);
+    assertSame(preferred, established.server());
+    assertSame(preferredAttempt.channel(), established.channel());
+    assertTrue(established.channel().isOpen());
+    verify(bootstrap, never()).connect(ALTERNATIVE_ADDRESS);
+    verify(healthChecker).recordConnection(preferred, true);
+  }
+
+  @Test
+  void slowPreferredServerIsClosedWhenTheAlternativeWins() throws Exception {
+    CompletableFuture<HedgedConnect.Established> result = race(10);
+    // The alternative is only connected to once the preferred server has taken too long
+    verify(bootstrap, timeout(5000)).connect(ALTERNATIVE_ADDRESS);
+    alternativeAttempt.setSuccess();
+
+    HedgedConnect.Established established = result.get(5, TimeUnit.SECONDS);
+    assertSame(alternative, established.server());
+    assertTrue(established.channel().isOpen());
+    assertTrue(preferredAttempt.channel().closeFuture().await(5, TimeUnit.SECONDS));
+    verify(healthChecker, never()).recordConnection(preferred, false);
+  }
+
+  @Test
+  void failsWithThePreferredServersReasonWhenBothFail() throws Exception {
+    CompletableFuture<HedgedConnect.Established> result = race(60_000);
+    verify(bootstrap, timeout(5000)).connect(PREFERRED_ADDRESS);
+    ConnectException refused = new ConnectException("Connection refused");
+    preferredAttempt.setFailure(refused);
+
+    // A failed preferred server doesn't wait for the delay before trying the alternative
+    verify(bootstrap, timeout(5000)).connect(ALTERNATIVE_ADDRESS);
+    assertFalse(result.isDone());
+    alternativeAttempt.setFailure(new IOException("Connection reset"));
+
+    ExecutionException thrown = assertThrows(ExecutionException.class,
+        () -> result.get(5, TimeUnit.SECONDS));
+    assertSame(refused, thrown.getCause());
+    verify(healthChecker).recordConnection(preferred, false);
+    verify(healthChecker).recordConnection(alternative, false);
+  }
+}
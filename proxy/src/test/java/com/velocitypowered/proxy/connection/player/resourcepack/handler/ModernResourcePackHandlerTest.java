@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.player.resourcepack.handler;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.event.player.PlayerResourcePackStatusEvent;
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.player.ResourcePackInfo;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.connection.player.resourcepack.ResourcePackResponseBundle;
+import com.velocitypowered.proxy.connection.player.resourcepack.VelocityResourcePackInfo;
+import com.velocitypowered.proxy.event.VelocityEventManager;
+import io.netty.channel.EventLoop;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ModernResourcePackHandlerTest {
+
+  private static final byte[] HASH = new byte[20];
+
+  private ResourcePackHandler handler;
+
+  @BeforeEach
+  void setUp() {
+    VelocityEventManager eventManager = mock(VelocityEventManager.class);
+    when(eventManager.fire(any())).thenReturn(new CompletableFuture<>());
+    VelocityServer server = mock(VelocityServer.class);
+    when(server.getEventManager()).thenReturn(eventManager);
+    MinecraftConnection connection = mock(MinecraftConnection.class);
+    when(connection.eventLoop()).thenReturn(mock(EventLoop.class));
+    ConnectedPlayer player = mock(ConnectedPlayer.class);
+    when(player.getConnection()).thenReturn(connection);
+    when(player.getProtocolVersion()).thenReturn(ProtocolVersion.MINECRAFT_1_20_3);
+    handler = ResourcePackHandler.create(player, server);
+  }
+
+  private UUID apply(byte[] hash) {
+    ResourcePackInfo pack = new VelocityResourcePackInfo.BuilderImpl("https://example.com/pack")
+        .setId(UUID.randomUUID())
+        .setHash(hash)
+        .build();
+    handler.queueResourcePack(pack);
+    handler.onResourcePackResponse(new ResourcePackResponseBundle(pack.getId(), "",
+        PlayerResourcePackStatusEvent.Status.ACCEPTED));
+    handler.onResourcePackResponse(new ResourcePackResponseBundle(pack.getId(), "",
+        PlayerResourcePackStatusEvent.Status.SUCCESSFUL));
+    return pack.getId();
+  }
+
+  @Test
+  void appliedPacksAreFoundByHash() {
+    assertFalse(handler.hasPackAppliedByHash(HASH));
+    UUID first = apply(HASH.clone());
+    UUID second = apply(HASH.clone());
+    assertTrue(handler.hasPackAppliedByHash(HASH));
+
+    // The other pack with the same hash is still applied
+    handler.remove(first);
+    assertTrue(handler.hasPackAppliedByHash(HASH));
+    handler.remove(second);
+    assertFalse(handler.hasPackAppliedByHash(HASH));
+  }
+
+  @Test
+  void clearingForgetsAppliedPacks() {
+    apply(HASH.clone());
+    handler.clearAppliedResourcePacks();
+    assertFalse(handler.hasPackAppliedByHash(HASH));
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.connection.util;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.api.proxy.server.ServerPing;
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.PingPassthroughMode;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.protocol.packet.StatusResponsePacket;
+import com.velocitypowered.proxy.server.VelocityRegisteredServer;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ServerListPingHandlerTest {
+
+  private VelocityServer server;
+  private VelocityConfiguration configuration;
+  private VelocityInboundConnection connection;
+  private ServerListPingHandler handler;
+
+  @BeforeEach
+  void setUp() {
+    configuration = mock(VelocityConfiguration.class);
+    when(configuration.getStatusResponseCacheGranularity()).thenReturn(10);
+    when(configuration.getPingPassthrough()).thenReturn(PingPassthroughMode.DISABLED);
+    when(configuration.getMotd()).thenReturn(Component.text("A Velocity Server"));
+    server = mock(VelocityServer.class);
+    when(server.getConfiguration()).thenReturn(configuration);
+    connection = mock(VelocityInboundConnection.class);
+    when(connection.getProtocolVersion()).thenReturn(ProtocolVersion.MINECRAFT_1_20_3);
+    handler = new ServerListPingHandler(server);
+  }
+
+  private StatusResponsePacket response() {
+    return handler.getStatusResponse(connection).join();
+  }
+
+  @Test
+  void responsesAreSharedUntilInvalidated() {
+    StatusResponsePacket first = response();
+    assertSame(first, response());
+
+    handler.invalidateStatusResponses();
+    assertNotSame(first, response());
+  }
+
+  @Test
+  void responsesAreRebuiltWhenThePlayerCountLeavesItsBucket() {
+    when(server.getPlayerCount()).thenReturn(1);
+    StatusResponsePacket first = response();
+    when(server.getPlayerCount()).thenReturn(9);
+    assertSame(first, response());
+
+    when(server.getPlayerCount()).thenReturn(10);
+    assertNotSame(first, response());
+  }
+
+  @Test
+  void passthroughResponsesExpireWithTheRefreshInterval() throws Exception {
+    when(configuration.getPingPassthrough()).thenReturn(PingPassthroughMode.ALL);
+    when(configuration.getPingPassthroughRefreshInterval()).thenReturn(50);
+    StatusResponsePacket first = response();
+    assertSame(first, response());
+
+    Thread.sleep(100);
+    assertNotSame(first, response());
+  }
+
+  @Test
+  void concurrentRequestsShareOneRebuild() {
+    CompletableFuture<ServerPing> ping = new CompletableFuture<>();
+    VelocityRegisteredServer backend = mock(VelocityRegisteredServer.class);
+    when(backend.getServerInfo())
+        .thenReturn(new ServerInfo("lobby", new InetSocketAddress("localhost", 25566)));
+    when(backend.ping(any(), any())).thenReturn(ping);
+    when(server.getServer("lobby")).thenReturn(Optional.of(backend));
+    when(configuration.getPingPassthrough()).thenReturn(PingPassthroughMode.ALL);
+    when(configuration.getPingPassthroughRefreshInterval()).thenReturn(10_000);
+    when(configuration.getAttemptConnectionOrder()).thenReturn(List.of("lobby"));
+
+    CompletableFuture<StatusResponsePacket> first = handler.getStatusResponse(connection);
+    CompletableFuture<StatusResponsePacket> second = handler.getStatusResponse(connection);
+    assertFalse(first.isDone());
+    assertSame(first, second);
+
+    ping.complete(new ServerPing(new ServerPing.Version(765, "backend"), null,
+        Component.text("backend"), null));
+    assertSame(first.join(), second.join());
+    verify(backend, times(1)).ping(any(), any());
+  }
+}
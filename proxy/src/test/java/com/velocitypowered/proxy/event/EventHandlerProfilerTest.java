@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.api.event.AwaitingEventExecutor;
+import com.velocitypowered.api.event.EventHandler;
+import com.velocitypowered.api.event.EventProfiler.HandlerStatistics;
+import com.velocitypowered.api.event.EventTask;
+import com.velocitypowered.proxy.testutil.FakePluginManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Tests for {@link EventHandlerProfiler}.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class EventHandlerProfilerTest {
+
+  private final FakePluginManager pluginManager = new FakePluginManager();
+  private final VelocityEventManager eventManager = new VelocityEventManager(pluginManager);
+
+  @AfterAll
+  void shutdown() throws Exception {
+    pluginManager.shutdown();
+  }
+
+  @AfterEach
+  void cleanup() {
+    eventManager.unregisterListeners(FakePluginManager.PLUGIN_A);
+    eventManager.getProfiler().setEnabled(false);
+    eventManager.getProfiler().reset();
+  }
+
+  static final class ProfiledEvent {
+
+  }
+
+  @Test
+  void disabledProfilerRecordsNothing() throws Exception {
+    eventManager.register(FakePluginManager.PLUGIN_A, ProfiledEvent.class, event -> {
+    });
+    eventManager.fire(new ProfiledEvent()).get();
+
+    assertTrue(eventManager.getProfiler().snapshot().isEmpty());
+  }
+
+  @Test
+  void recordsInvocationsAndFailures() throws Exception {
+    eventManager.getProfiler().setEnabled(true);
+    eventManager.register(FakePluginManager.PLUGIN_A, ProfiledEvent.class, event -> {
+      throw new IllegalStateException("expected");
+    });
+    eventManager.fire(new ProfiledEvent()).get();
+    eventManager.fire(new ProfiledEvent()).get();
+
+    final List<HandlerStatistics> snapshots = eventManager.getProfiler().snapshot();
+    assertEquals(1, snapshots.size());
+    assertEquals(2, snapshots.get(0).invocations());
+    assertEquals(2, snapshots.get(0).failures());
+    assertEquals(ProfiledEvent.class, snapshots.get(0).eventType());
+  }
+
+  @Test
+  void recordsSuspensionTime() throws Exception {
+    eventManager.getProfiler().setEnabled(true);
+    eventManager.register(FakePluginManager.PLUGIN_A, ProfiledEvent.class,
+        (AwaitingEventExecutor<ProfiledEvent>) event -> EventTask.withContinuation(continuation ->
+            new Thread(() -> {
+              try {
+                Thread.sleep(20);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              continuation.resume();
+            }).start()));
+    eventManager.fire(new ProfiledEvent()).get();
+
+    final HandlerStatistics snapshot = eventManager.getProfiler().snapshot().get(0);
+    assertEquals(1, snapshot.invocations());
+    assertEquals(0, snapshot.failures());
+    assertTrue(snapshot.suspendedNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+    assertTrue(snapshot.p99Nanos() >= snapshot.p50Nanos());
+  }
+
+  @Test
+  void unregisteredHandlersAreForgotten() throws Exception {
+    eventManager.getProfiler().setEnabled(true);
+    final EventHandler<ProfiledEvent> handler = event -> {
+    };
+    eventManager.register(FakePluginManager.PLUGIN_A, ProfiledEvent.class, handler);
+    eventManager.fire(new ProfiledEvent()).get();
+    assertEquals(1, eventManager.getProfiler().snapshot().size());
+
+    eventManager.unregister(FakePluginManager.PLUGIN_A, handler);
+    assertTrue(eventManager.getProfiler().snapshot().isEmpty());
+  }
+}
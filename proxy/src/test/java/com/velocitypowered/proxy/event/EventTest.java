@@ -18,15 +18,26 @@
 package com.velocitypowered.proxy.event;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.google.common.reflect.TypeToken;
 import com.velocitypowered.api.event.AwaitingEventExecutor;
+import com.velocitypowered.api.event.BatchedEventHandler;
 import com.velocitypowered.api.event.Continuation;
+import com.velocitypowered.api.event.EventHandler;
 import com.velocitypowered.api.event.EventTask;
 import com.velocitypowered.api.event.PostOrder;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.proxy.testutil.FakePluginManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
@@ -419,4 +430,90 @@ public class EventTest {
       continuation.resume();
     }
   }
+
+  @Test
+  void batchedHandlerReceivesFullAndTimedBatches() throws Exception {
+    final BlockingQueue<List<TestEvent>> batches = new LinkedBlockingQueue<>();
+    final BatchedEventHandler<TestEvent> handler = batches::add;
+    eventManager.registerBatched(FakePluginManager.PLUGIN_A, TestEvent.class,
+        Duration.ofMillis(50), 3, handler);
+
+    try {
+      final TestEvent first = new TestEvent();
+      eventManager.fire(first).get();
+      eventManager.fire(new TestEvent()).get();
+      eventManager.fire(new TestEvent()).get();
+      eventManager.fire(new TestEvent()).get();
+
+      final List<TestEvent> full = batches.poll(5, TimeUnit.SECONDS);
+      assertNotNull(full, "full batch was not delivered");
+      assertEquals(3, full.size());
+      assertSame(first, full.get(0));
+
+      final List<TestEvent> timed = batches.poll(5, TimeUnit.SECONDS);
+      assertNotNull(timed, "timed batch was not delivered");
+      assertEquals(1, timed.size());
+    } finally {
+      eventManager.unregisterListener(FakePluginManager.PLUGIN_A, handler);
+    }
+    assertFalse(eventManager.hasSubscribers(TestEvent.class));
+  }
+
+  @Test
+  void fullBatchCancelsItsFlush() throws Exception {
+    final BlockingQueue<List<TestEvent>> batches = new LinkedBlockingQueue<>();
+    final BatchedEventHandler<TestEvent> handler = batches::add;
+    eventManager.registerBatched(FakePluginManager.PLUGIN_A, TestEvent.class,
+        Duration.ofMillis(300), 2, handler);
+
+    try {
+      eventManager.fire(new TestEvent()).get();
+      eventManager.fire(new TestEvent()).get();
+      assertNotNull(batches.poll(5, TimeUnit.SECONDS), "full batch was not delivered");
+
+      // The flush scheduled for the full batch must not deliver this event early
+      Thread.sleep(150);
+      eventManager.fire(new TestEvent()).get();
+      assertNull(batches.poll(200, TimeUnit.MILLISECONDS));
+      final List<TestEvent> timed = batches.poll(5, TimeUnit.SECONDS);
+      assertNotNull(timed, "timed batch was not delivered");
+      assertEquals(1, timed.size());
+    } finally {
+      eventManager.unregisterListener(FakePluginManager.PLUGIN_A, handler);
+    }
+  }
+
+  @Test
+  void unregisteringDropsBufferedEvents() throws Exception {
+    final BlockingQueue<List<TestEvent>> batches = new LinkedBlockingQueue<>();
+    final BatchedEventHandler<TestEvent> handler = batches::add;
+    eventManager.registerBatched(FakePluginManager.PLUGIN_A, TestEvent.class,
+        Duration.ofMillis(50), 10, handler);
+
+    eventManager.fire(new TestEvent()).get();
+    eventManager.unregisterListener(FakePluginManager.PLUGIN_A, handler);
+    assertNull(batches.poll(200, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void batchedHandlersDoNotCountAsSubscribers() {
+    final BatchedEventHandler<TestEvent> handler = events -> {
+    };
+    eventManager.registerBatched(FakePluginManager.PLUGIN_A, TestEvent.class,
+        Duration.ofMillis(50), 10, handler);
+
+    try {
+      assertFalse(eventManager.hasSubscribers(TestEvent.class));
+      assertTrue(eventManager.hasOnlyBatchedSubscribers(TestEvent.class));
+
+      final EventHandler<TestEvent> regular = event -> {
+      };
+      eventManager.register(FakePluginManager.PLUGIN_A, TestEvent.class, regular);
+      assertTrue(eventManager.hasSubscribers(TestEvent.class));
+      assertFalse(eventManager.hasOnlyBatchedSubscribers(TestEvent.class));
+      eventManager.unregister(FakePluginManager.PLUGIN_A, regular);
+    } finally {
+      eventManager.unregisterListener(FakePluginManager.PLUGIN_A, handler);
+    }
+  }
 }
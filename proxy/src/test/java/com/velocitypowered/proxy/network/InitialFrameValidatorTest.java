@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.network;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.packet.HandshakePacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.haproxy.HAProxyCommand;
+import io.netty.handler.codec.haproxy.HAProxyMessage;
+import io.netty.handler.codec.haproxy.HAProxyProtocolVersion;
+import io.netty.handler.codec.haproxy.HAProxyProxiedProtocol;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InitialFrameValidatorTest {
+
+  private final AtomicInteger initialized = new AtomicInteger();
+  private EmbeddedChannel channel;
+
+  @BeforeEach
+  void setUp() {
+    channel = new EmbeddedChannel(new InitialFrameValidator(ctx -> initialized.incrementAndGet()));
+  }
+
+  private static byte[] handshake() {
+    ByteBuf body = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(body, 0x00);
+    ProtocolUtils.writeVarInt(body, 765);
+    ProtocolUtils.writeString(body, "localhost");
+    body.writeShort(25565);
+    ProtocolUtils.writeVarInt(body, 1);
+    ByteBuf frame = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(frame, body.readableBytes());
+    frame.writeBytes(body);
+    body.release();
+    byte[] bytes = ByteBufUtil.getBytes(frame);
+    frame.release();
+    return bytes;
+  }
+
+  private byte[] readAll() {
+    ByteBuf received = Unpooled.buffer();
+    for (Object msg; (msg = channel.readInbound()) != null; ) {
+      received.writeBytes((ByteBuf) msg);
+      ((ByteBuf) msg).release();
+    }
+    byte[] bytes = ByteBufUtil.getBytes(received);
+    received.release();
+    return bytes;
+  }
+
+  private void assertPassedOn(byte[] expected) {
+    assertTrue(channel.isOpen());
+    assertEquals(1, initialized.get());
+    assertNull(channel.pipeline().get(InitialFrameValidator.class));
+    assertArrayEquals(expected, readAll());
+  }
+
+  private void assertRejected() {
+    assertFalse(channel.isOpen());
+    assertEquals(0, initialized.get());
+    assertNull(channel.readInbound());
+  }
+
+  @Test
+  void acceptsLegacyPing() {
+    byte[] ping = {(byte) 0xFE, 0x01, (byte) 0xFA};
+    channel.writeInbound(Unpooled.wrappedBuffer(ping));
+    assertPassedOn(ping);
+  }
+
+  @Test
+  void acceptsLegacyHandshake() {
+    byte[] handshake = {0x02, 0x4A, 0x00};
+    channel.writeInbound(Unpooled.wrappedBuffer(handshake));
+    assertPassedOn(handshake);
+  }
+
+  @Test
+  void acceptsHandshakeSplitAcrossReads() {
+    byte[] handshake = handshake();
+    channel.writeInbound(Unpooled.wrappedBuffer(handshake, 0, 1));
+    assertTrue(channel.isOpen());
+    assertEquals(0, initialized.get());
+    assertNull(channel.readInbound());
+
+    channel.writeInbound(Unpooled.wrappedBuffer(handshake, 1, handshake.length - 1));
+    assertPassedOn(handshake);
+  }
+
+  @Test
+  void skipsLeadingZeroBytes() {
+    byte[] handshake = handshake();
+    byte[] padded = new byte[handshake.length + 2];
+    System.arraycopy(handshake, 0, padded, 2, handshake.length);
+    channel.writeInbound(Unpooled.wrappedBuffer(padded));
+    assertPassedOn(padded);
+  }
+
+  @Test
+  void rejectsOversizeLength() {
+    ByteBuf frame = Unpooled.buffer();
+    ProtocolUtils.writeVarInt(frame, HandshakePacket.MAXIMUM_LENGTH + 1);
+    frame.writeByte(0x00);
+    channel.writeInbound(frame);
+    assertRejected();
+  }
+
+  @Test
+  void rejectsGarbageLength() {
+    channel.writeInbound(Unpooled.wrappedBuffer(new byte[] {(byte) 0xFF, (byte) 0xFF, 0x7F}));
+    assertRejected();
+  }
+
+  @Test
+  void rejectsNonHandshakePacketId() {
+    channel.writeInbound(Unpooled.wrappedBuffer("GET / HTTP/1.1\r\n"
+        .getBytes(StandardCharsets.US_ASCII)));
+    assertRejected();
+  }
+
+  @Test
+  void rejectsNonzeroPacketId() {
+    channel.writeInbound(Unpooled.wrappedBuffer(new byte[] {0x05, 0x01, 0x00, 0x00, 0x00, 0x00}));
+    assertRejected();
+  }
+
+  @Test
+  void replaysProxyMessagesBeforeTheHandshake() {
+    HAProxyMessage header = new HAProxyMessage(HAProxyProtocolVersion.V1, HAProxyCommand.PROXY,
+        HAProxyProxiedProtocol.TCP4, "192.0.2.1", "192.0.2.2", 45678, 25565);
+    channel.writeInbound(header);
+    assertNull(channel.readInbound());
+    assertEquals(1, header.refCnt());
+
+    byte[] handshake = handshake();
+    channel.writeInbound(Unpooled.wrappedBuffer(handshake));
+    assertSame(header, channel.readInbound());
+    assertPassedOn(handshake);
+    header.release();
+  }
+
+  @Test
+  void releasesHeldMessagesWhenRejected() {
+    HAProxyMessage header = new HAProxyMessage(HAProxyProtocolVersion.V1, HAProxyCommand.PROXY,
+        HAProxyProxiedProtocol.TCP4, "192.0.2.1", "192.0.2.2", 45678, 25565);
+    channel.writeInbound(header);
+    channel.writeInbound(Unpooled.wrappedBuffer(new byte[] {0x05, 0x01}));
+    assertRejected();
+    channel.finishAndReleaseAll();
+    assertEquals(0, header.refCnt());
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.netty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.proxy.VelocityServer;
+import com.velocitypowered.proxy.config.VelocityConfiguration;
+import com.velocitypowered.proxy.event.VelocityEventManager;
+import com.velocitypowered.proxy.util.ratelimit.AdmissionController;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.socket.DatagramPacket;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class GameSpyQueryHandlerTest {
+
+  private static final InetSocketAddress PROXY = new InetSocketAddress("127.0.0.1", 25565);
+  private static final InetSocketAddress CLIENT = new InetSocketAddress("192.0.2.1", 45678);
+  private static final int SESSION_ID = 0x01020304;
+
+  private final AtomicLong now = new AtomicLong();
+  // Buffers allocated for stat bodies, which are cached by the handler
+  private final List<ByteBuf> bodies = new ArrayList<>();
+  private GameSpyQueryHandler handler;
+  private EmbeddedChannel channel;
+
+  @BeforeEach
+  void setUp() {
+    VelocityConfiguration configuration = mock(VelocityConfiguration.class);
+    when(configuration.getMotd()).thenReturn(Component.text("A Velocity Server"));
+    when(configuration.getQueryMap()).thenReturn("Velocity");
+    when(configuration.getBind()).thenReturn(PROXY);
+    AdmissionController admissionController = mock(AdmissionController.class);
+    when(admissionController.admitQuery(any())).thenReturn(true);
+    VelocityServer server = mock(VelocityServer.class);
+    when(server.getConfiguration()).thenReturn(configuration);
+    when(server.getAdmissionController()).thenReturn(admissionController);
+    when(server.getEventManager()).thenReturn(mock(VelocityEventManager.class));
+
+    handler = new GameSpyQueryHandler(server, now::get);
+    channel = new EmbeddedChannel(handler);
+    channel.config().setAllocator(new UnpooledByteBufAllocator(false) {
+      @Override
+      protected ByteBuf newDirectBuffer(int initialCapacity, int maxCapacity) {
+        ByteBuf buf = super.newDirectBuffer(initialCapacity, maxCapacity);
+        // The 5 byte header is allocated separately from the body
+        if (initialCapacity != 5) {
+          bodies.add(buf);
+        }
+        return buf;
+      }
+    });
+  }
+
+  @AfterEach
+  void tearDown() {
+    channel.finishAndReleaseAll();
+  }
+
+  private void send(int type, int... challenge) {
+    ByteBuf request = Unpooled.buffer();
+    request.writeByte(0xFE).writeByte(0xFD).writeByte(type).writeInt(SESSION_ID);
+    for (int token : challenge) {
+      request.writeInt(token);
+    }
+    channel.writeInbound(new DatagramPacket(request, PROXY, CLIENT));
+  }
+
+  private int handshake() {
+    send(0x09);
+    DatagramPacket response = channel.readOutbound();
+    assertNotNull(response);
+    ByteBuf content = response.content();
+    assertEquals(0x09, content.readByte());
+    assertEquals(SESSION_ID, content.readInt());
+    String token = content.readCharSequence(content.bytesBefore((byte) 0),
+        StandardCharsets.ISO_8859_1).toString();
+    response.release();
+    return Integer.parseInt(token);
+  }
+
+  private byte[] stat(int token) {
+    send(0x00, token);
+    DatagramPacket response = channel.readOutbound();
+    assertNotNull(response, "no stat response");
+    byte[] bytes = ByteBufUtil.getBytes(response.content());
+    response.release();
+    return bytes;
+  }
+
+  private void assertNoResponse(int token) {
+    send(0x00, token);
+    assertNull(channel.readOutbound());
+  }
+
+  @Test
+  void tokensAreAcceptedForTheirOwnAndTheNextPeriod() {
+    int token = handshake();
+    stat(token);
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+    stat(token);
+    // The token changes with the period
+    int next = handshake();
+    stat(next);
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+    assertNoResponse(token);
+    stat(next);
+  }
+
+  @Test
+  void forgedTokensAreRejected() {
+    int token = handshake();
+    assertNoResponse(token + 1);
+    assertNoResponse(0);
+  }
+
+  @Test
+  void statResponsesAreCachedBriefly() {
+    int token = handshake();
+    bodies.clear();
+    byte[] first = stat(token);
+    byte[] second = stat(token);
+    assertEquals(1, bodies.size());
+    assertEquals(new String(first, StandardCharsets.ISO_8859_1),
+        new String(second, StandardCharsets.ISO_8859_1));
+    // Sent responses have been released, so only the cache holds the body
+    ByteBuf cached = bodies.get(0);
+    assertEquals(1, cached.refCnt());
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    stat(token);
+    assertEquals(2, bodies.size());
+    assertEquals(0, cached.refCnt());
+
+    channel.pipeline().remove(handler);
+    assertEquals(0, bodies.get(1).refCnt());
+  }
+
+  @Test
+  void cachedBodyOutlivesReplacementWhileBeingSent() {
+    int token = handshake();
+    bodies.clear();
+    send(0x00, token);
+    DatagramPacket inFlight = channel.readOutbound();
+    ByteBuf cached = bodies.get(0);
+    assertEquals(2, cached.refCnt());
+
+    now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    stat(token);
+    // The replaced body is still referenced by the response that hasn't been released yet
+    assertEquals(1, cached.refCnt());
+    inFlight.release();
+    assertEquals(0, cached.refCnt());
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.protocol.packet.chat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ChatQueueTest {
+
+  private final List<Object> written = Collections.synchronizedList(new ArrayList<>());
+  private EventLoop eventLoop;
+  private ChatQueue queue;
+
+  @BeforeEach
+  void setUp() {
+    eventLoop = new DefaultEventLoop();
+    MinecraftConnection clientConnection = mock(MinecraftConnection.class);
+    when(clientConnection.eventLoop()).thenReturn(eventLoop);
+    MinecraftConnection serverConnection = mock(MinecraftConnection.class);
+    doAnswer(invocation -> {
+      written.add(invocation.getArgument(0));
+      return null;
+    }).when(serverConnection).write(any());
+    VelocityServerConnection connectedServer = mock(VelocityServerConnection.class);
+    when(connectedServer.ensureConnected()).thenReturn(serverConnection);
+    ConnectedPlayer player = mock(ConnectedPlayer.class);
+    when(player.getConnection()).thenReturn(clientConnection);
+    when(player.ensureAndGetCurrentServer()).thenReturn(connectedServer);
+    queue = new ChatQueue(player);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    eventLoop.shutdownGracefully(0, 1, TimeUnit.SECONDS).sync();
+  }
+
+  /**
+   * Waits until everything the queue has scheduled on the event loop so far has run.
+   */
+  private void drain() throws InterruptedException {
+    eventLoop.submit(() -> null).sync();
+  }
+
+  private void queueFuture(CompletableFuture<MinecraftPacket> future) {
+    queue.queuePacket(lastSeenMessages -> future, null, null);
+  }
+
+  @Test
+  void pendingPacketHoldsBackLaterEntries() throws Exception {
+    // Stands in for a chat packet waiting on an asynchronous PlayerChatEvent handler
+    CompletableFuture<MinecraftPacket> chat = new CompletableFuture<>();
+    MinecraftPacket chatPacket = mock(MinecraftPacket.class);
+    MinecraftPacket command = mock(MinecraftPacket.class);
+    queueFuture(chat);
+    queue.queuePacket(chatState -> command);
+    // Large enough for the held back acknowledgements to be forwarded
+    queue.handleAcknowledgement(2 * LastSeenMessages.WINDOW_SIZE);
+    drain();
+    assertEquals(List.of(), written);
+
+    chat.complete(chatPacket);
+    drain();
+    assertEquals(3, written.size());
+    assertSame(chatPacket, written.get(0));
+    assertSame(command, written.get(1));
+    assertInstanceOf(ChatAcknowledgementPacket.class, written.get(2));
+  }
+
+  @Test
+  void entriesQueuedFromOtherThreadsKeepTheirOrder() throws Exception {
+    int threadCount = 4;
+    int perThread = 200;
+    List<List<MinecraftPacket>> queued = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < threadCount; i++) {
+      List<MinecraftPacket> packets = new ArrayList<>();
+      for (int j = 0; j < perThread; j++) {
+        packets.add(mock(MinecraftPacket.class));
+      }
+      queued.add(packets);
+      threads.add(new Thread(() -> {
+        for (int j = 0; j < packets.size(); j++) {
+          MinecraftPacket packet = packets.get(j);
+          // Mix packets that are ready right away with ones that only complete later
+          if (j % 3 == 0) {
+            queueFuture(CompletableFuture.supplyAsync(() -> packet));
+          } else {
+            queue.queuePacket(chatState -> packet);
+          }
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (written.size() < threadCount * perThread && System.nanoTime() < deadline) {
+      drain();
+    }
+    assertEquals(threadCount * perThread, written.size());
+    for (List<MinecraftPacket> packets : queued) {
+      List<Object> fromThread = new ArrayList<>(written);
+      fromThread.retainAll(packets);
+      assertEquals(packets, fromThread);
+    }
+  }
+
+  @Test
+  void failedPacketDoesNotStallTheQueue() throws Exception {
+    CompletableFuture<MinecraftPacket> failing = new CompletableFuture<>();
+    MinecraftPacket next = mock(MinecraftPacket.class);
+    queueFuture(failing);
+    queue.queuePacket(chatState -> next);
+    drain();
+    assertEquals(List.of(), written);
+
+    failing.completeExceptionally(new IllegalStateException("event handler failed"));
+    drain();
+    assertEquals(List.of(next), written);
+  }
+
+  @Test
+  void alreadyFailedPacketIsSkipped() throws Exception {
+    MinecraftPacket next = mock(MinecraftPacket.class);
+    queueFuture(CompletableFuture.failedFuture(new IllegalStateException("event handler failed")));
+    queue.queuePacket(lastSeenMessages -> {
+      throw new IllegalStateException("packet could not be created");
+    }, null, null);
+    queue.queuePacket(chatState -> next);
+    drain();
+    assertEquals(List.of(next), written);
+  }
+}
@@ -19,6 +19,11 @@ package com.velocitypowered.proxy.protocol.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import com.velocitypowered.proxy.protocol.packet.PluginMessagePacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import java.nio.ByteBuffer;
 import org.junit.jupiter.api.Test;
 
 class PluginMessageUtilTest {
@@ -50,4 +55,30 @@ class PluginMessageUtilTest {
     assertEquals("legacy:pskeepalive", PluginMessageUtil
         .transformLegacyToModernChannel("PS|KeepAlive"));
   }
-}
\ No newline at end of file
+
+  @Test
+  void payloadViewSharesASingleBuffer() {
+    ByteBuf content = Unpooled.buffer().writeBytes(new byte[] {1, 2, 3});
+    PluginMessagePacket message = new PluginMessagePacket("velocity:test", content);
+    try {
+      ByteBuffer payload = PluginMessageUtil.payloadView(message);
+      content.setByte(0, 4);
+      assertEquals(ByteBuffer.wrap(new byte[] {4, 2, 3}), payload);
+    } finally {
+      message.release();
+    }
+  }
+
+  @Test
+  void payloadViewCopiesACompositeBuffer() {
+    CompositeByteBuf content = Unpooled.compositeBuffer()
+        .addComponent(true, Unpooled.wrappedBuffer(new byte[] {1, 2}))
+        .addComponent(true, Unpooled.wrappedBuffer(new byte[] {3}));
+    PluginMessagePacket message = new PluginMessagePacket("velocity:test", content);
+    try {
+      assertEquals(ByteBuffer.wrap(new byte[] {1, 2, 3}), PluginMessageUtil.payloadView(message));
+    } finally {
+      message.release();
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.velocitypowered.api.proxy.server.RegisteredServer;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import com.velocitypowered.proxy.config.BalancingStrategy;
+import com.velocitypowered.proxy.config.ServerGroup;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ServerBalancerTest {
+
+  private static final InetSocketAddress TEST_ADDRESS = new InetSocketAddress(
+      InetAddress.getLoopbackAddress(), 25565);
+  private static final List<String> SERVERS = ImmutableList.of("lobby1", "lobby2", "lobby3");
+
+  private final ServerMap servers = new ServerMap(null);
+  private final ServerBalancer balancer = new ServerBalancer(servers);
+
+  ServerBalancerTest() {
+    for (String name : SERVERS) {
+      servers.register(new ServerInfo(name, TEST_ADDRESS));
+    }
+  }
+
+  private VelocityRegisteredServer server(String name) {
+    return (VelocityRegisteredServer) servers.getServer(name).orElseThrow();
+  }
+
+  private static void addPlayers(VelocityRegisteredServer server, int count) {
+    for (int i = 0; i < count; i++) {
+      ConnectedPlayer player = mock(ConnectedPlayer.class);
+      when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+      server.addPlayer(player);
+    }
+  }
+
+  private String select(ServerGroup group) {
+    return balancer.select(group, server -> true).orElseThrow().getServerInfo().getName();
+  }
+
+  @Test
+  void leastConnectionsPicksEmptiestServer() {
+    ServerGroup group = new ServerGroup("lobbies", SERVERS, BalancingStrategy.LEAST_CONNECTIONS,
+        ImmutableMap.of("lobby2", 4));
+    addPlayers(server("lobby1"), 2);
+    addPlayers(server("lobby2"), 4);
+    addPlayers(server("lobby3"), 3);
+
+    // lobby2 holds the most players, but relative to its weight it is the least loaded
+    assertEquals("lobby2", select(group));
+  }
+
+  @Test
+  void roundRobinFollowsWeights() {
+    ServerGroup group = new ServerGroup("lobbies", SERVERS, BalancingStrategy.ROUND_ROBIN,
+        ImmutableMap.of("lobby1", 2));
+    List<String> picks = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      picks.add(select(group));
+    }
+
+    assertEquals(ImmutableList.of("lobby1", "lobby2", "lobby3", "lobby1",
+        "lobby1", "lobby2", "lobby3", "lobby1"), picks);
+  }
+
+  @Test
+  void skipsIneligibleServers() {
+    ServerGroup group = new ServerGroup("lobbies", SERVERS, BalancingStrategy.FIRST_AVAILABLE,
+        ImmutableMap.of());
+    assertEquals("lobby3", balancer.select(group,
+        server -> server.getServerInfo().getName().equals("lobby3")).orElseThrow()
+        .getServerInfo().getName());
+    assertTrue(balancer.select(group, server -> false).isEmpty());
+  }
+
+  @Test
+  void powerOfTwoChoicesAvoidsLoadedServer() {
+    ServerGroup group = new ServerGroup("lobbies", SERVERS.subList(0, 2),
+        BalancingStrategy.POWER_OF_TWO_CHOICES, ImmutableMap.of());
+    addPlayers(server("lobby1"), 5);
+
+    for (int i = 0; i < 10; i++) {
+      RegisteredServer selected = balancer.select(group, server -> true).orElseThrow();
+      assertEquals("lobby2", selected.getServerInfo().getName());
+    }
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.velocitypowered.api.proxy.server.ServerHealth;
+import com.velocitypowered.api.proxy.server.ServerInfo;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import org.junit.jupiter.api.Test;
+
+class ServerHealthTest {
+
+  private static final int FAILURES = 3;
+  private static final int RECOVERIES = 2;
+
+  private final VelocityRegisteredServer server = new VelocityRegisteredServer(null,
+      new ServerInfo("lobby", new InetSocketAddress(InetAddress.getLoopbackAddress(), 25565)));
+
+  private boolean record(boolean success) {
+    return server.recordHealthCheck(success, FAILURES, RECOVERIES);
+  }
+
+  @Test
+  void firstSuccessMarksUp() {
+    assertEquals(ServerHealth.UNKNOWN, server.getHealth());
+    assertTrue(record(true));
+    assertEquals(ServerHealth.UP, server.getHealth());
+  }
+
+  @Test
+  void downOnlyAfterConsecutiveFailures() {
+    record(true);
+    assertFalse(record(false));
+    assertFalse(record(false));
+    // A success in between resets the streak
+    record(true);
+    assertFalse(record(false));
+    assertFalse(record(false));
+    assertEquals(ServerHealth.UP, server.getHealth());
+    assertTrue(record(false));
+    assertEquals(ServerHealth.DOWN, server.getHealth());
+  }
+
+  @Test
+  void upOnlyAfterConsecutiveSuccesses() {
+    for (int i = 0; i < FAILURES; i++) {
+      record(false);
+    }
+    assertEquals(ServerHealth.DOWN, server.getHealth());
+    assertFalse(record(true));
+    assertFalse(record(false));
+    assertFalse(record(true));
+    assertEquals(ServerHealth.DOWN, server.getHealth());
+    assertTrue(record(true));
+    assertEquals(ServerHealth.UP, server.getHealth());
+  }
+
+  @Test
+  void resetForgetsHealth() {
+    for (int i = 0; i < FAILURES; i++) {
+      record(false);
+    }
+    server.resetHealth();
+    assertEquals(ServerHealth.UNKNOWN, server.getHealth());
+    assertTrue(record(true));
+  }
+}
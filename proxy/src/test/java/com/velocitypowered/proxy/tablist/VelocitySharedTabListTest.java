@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.tablist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.player.SharedTabList;
+import com.velocitypowered.api.util.GameProfile;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.backend.VelocityServerConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.network.ConnectionManager;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
+import com.velocitypowered.proxy.protocol.packet.RemovePlayerInfoPacket;
+import com.velocitypowered.proxy.protocol.packet.UpsertPlayerInfoPacket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VelocitySharedTabListTest {
+
+  private final List<Runnable> tasks = new ArrayList<>();
+  private VelocitySharedTabList tabList;
+
+  @BeforeEach
+  void setUp() {
+    EventLoop eventLoop = mock(EventLoop.class);
+    doAnswer(invocation -> tasks.add(invocation.getArgument(0)))
+        .when(eventLoop).execute(any());
+    EventLoopGroup workerGroup = mock(EventLoopGroup.class);
+    when(workerGroup.next()).thenReturn(eventLoop);
+    ConnectionManager connectionManager = mock(ConnectionManager.class);
+    when(connectionManager.getWorkerGroup()).thenReturn(workerGroup);
+    tabList = new VelocitySharedTabList(connectionManager);
+  }
+
+  private ConnectedPlayer viewer(ProtocolVersion version, List<Object> written) {
+    MinecraftConnection connection = mock(MinecraftConnection.class);
+    when(connection.getState()).thenReturn(StateRegistry.PLAY);
+    doAnswer(invocation -> {
+      written.add(invocation.getArgument(0));
+      return null;
+    }).when(connection).write(any());
+    ConnectedPlayer player = mock(ConnectedPlayer.class);
+    when(player.getConnection()).thenReturn(connection);
+    when(player.getProtocolVersion()).thenReturn(version);
+    when(player.isActive()).thenReturn(true);
+    when(player.getConnectedServer()).thenReturn(mock(VelocityServerConnection.class));
+    return player;
+  }
+
+  private SharedTabList.Entry addEntry(String name) {
+    return tabList.addEntry(new GameProfile(UUID.randomUUID(), name, List.of()), null, 0, 0,
+        true);
+  }
+
+  private static int encodedEntryCount(Object packet, ProtocolVersion version) {
+    ByteBuf buf = Unpooled.buffer();
+    try {
+      ((UpsertPlayerInfoPacket) packet).encode(buf, ProtocolUtils.Direction.CLIENTBOUND, version);
+      UpsertPlayerInfoPacket decoded = new UpsertPlayerInfoPacket();
+      decoded.decode(buf, ProtocolUtils.Direction.CLIENTBOUND, version);
+      assertFalse(buf.isReadable());
+      return decoded.getEntries().size();
+    } finally {
+      buf.release();
+    }
+  }
+
+  @Test
+  void updatesOnlyReachViewersThatCanSeeThem() {
+    SharedTabList.Entry first = addEntry("first");
+    SharedTabList.Entry second = addEntry("second");
+    List<Object> allWritten = new ArrayList<>();
+    List<Object> filteredWritten = new ArrayList<>();
+    assertTrue(tabList.addViewer(viewer(ProtocolVersion.MINECRAFT_1_20_3, allWritten)));
+    assertTrue(tabList.addViewer(viewer(ProtocolVersion.MINECRAFT_1_20_3, filteredWritten),
+        entry -> entry == first));
+    assertEquals(2, encodedEntryCount(allWritten.get(0), ProtocolVersion.MINECRAFT_1_20_3));
+    assertEquals(1, encodedEntryCount(filteredWritten.get(0), ProtocolVersion.MINECRAFT_1_20_3));
+    allWritten.clear();
+    filteredWritten.clear();
+
+    first.setLatency(10);
+    second.setLatency(10);
+    first.setListed(false);
+    second.setListed(false);
+    assertTrue(allWritten.isEmpty());
+    assertEquals(1, tasks.size());
+    tasks.remove(0).run();
+
+    assertEquals(1, allWritten.size());
+    assertEquals(2, encodedEntryCount(allWritten.get(0), ProtocolVersion.MINECRAFT_1_20_3));
+    assertEquals(1, filteredWritten.size());
+    assertEquals(1, encodedEntryCount(filteredWritten.get(0), ProtocolVersion.MINECRAFT_1_20_3));
+  }
+
+  @Test
+  void oldClientsCannotView() {
+    assertFalse(tabList.addViewer(viewer(ProtocolVersion.MINECRAFT_1_19_1, new ArrayList<>())));
+    assertTrue(tabList.getViewers().isEmpty());
+  }
+
+  @Test
+  void hiddenEntriesAreRemoved() {
+    SharedTabList.Entry entry = addEntry("player");
+    List<Object> written = new ArrayList<>();
+    boolean[] visible = {true};
+    ConnectedPlayer viewer = viewer(ProtocolVersion.MINECRAFT_1_20_5, written);
+    tabList.addViewer(viewer, ignored -> visible[0]);
+    written.clear();
+
+    visible[0] = false;
+    tabList.updateVisibility(viewer);
+    assertEquals(1, written.size());
+
+    // Hidden entries don't send updates
+    written.clear();
+    entry.setLatency(5);
+    tasks.remove(0).run();
+    assertTrue(written.isEmpty());
+  }
+
+  @Test
+  void removedOverlappingEntriesAreRestored() {
+    SharedTabList.Entry shown = addEntry("shown");
+    SharedTabList.Entry hidden = addEntry("hidden");
+    List<Object> written = new ArrayList<>();
+    ConnectedPlayer viewer = viewer(ProtocolVersion.MINECRAFT_1_20_3, written);
+    tabList.addViewer(viewer, entry -> entry == shown);
+    // The backend's own entries with the same IDs are removed from the viewer's tab list
+    VelocityTabList ownTabList = new VelocityTabList(viewer, tabList);
+    written.clear();
+
+    ownTabList.removeEntry(shown.getProfile().getId());
+    assertEquals(2, written.size());
+    assertInstanceOf(RemovePlayerInfoPacket.class, written.get(0));
+    UpsertPlayerInfoPacket restored = assertInstanceOf(UpsertPlayerInfoPacket.class,
+        written.get(1));
+    assertEquals(shown.getProfile().getId(), restored.getEntries().get(0).getProfileId());
+
+    // Entries the viewer can't see, and the viewer's own entries, are not sent
+    written.clear();
+    tabList.restoreRemoved(viewer, List.of(hidden.getProfile().getId(), UUID.randomUUID()));
+    assertTrue(written.isEmpty());
+  }
+
+  @Test
+  void filtersAreEvaluatedWithoutHoldingTheLock() {
+    addEntry("player");
+    List<Object> written = new ArrayList<>();
+    ConnectedPlayer viewer = viewer(ProtocolVersion.MINECRAFT_1_20_3, written);
+    // Would wait forever if another thread needed the lock the filter is evaluated with
+    assertTrue(tabList.addViewer(viewer, entry -> CompletableFuture
+        .supplyAsync(() -> tabList.getEntries().contains(entry))
+        .orTimeout(5, TimeUnit.SECONDS)
+        .join()));
+    assertEquals(1, encodedEntryCount(written.get(0), ProtocolVersion.MINECRAFT_1_20_3));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.tablist;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.velocitypowered.api.network.ProtocolVersion;
+import com.velocitypowered.api.proxy.player.TabListEntry;
+import com.velocitypowered.api.util.GameProfile;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.protocol.packet.RemovePlayerInfoPacket;
+import com.velocitypowered.proxy.protocol.packet.UpsertPlayerInfoPacket;
+import io.netty.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VelocityTabListTest {
+
+  private final List<Runnable> tasks = new ArrayList<>();
+  private final List<Object> written = new ArrayList<>();
+  private VelocityTabList tabList;
+
+  @BeforeEach
+  void setUp() {
+    EventLoop eventLoop = mock(EventLoop.class);
+    doAnswer(invocation -> tasks.add(invocation.getArgument(0)))
+        .when(eventLoop).execute(any());
+    MinecraftConnection connection = mock(MinecraftConnection.class);
+    when(connection.eventLoop()).thenReturn(eventLoop);
+    doAnswer(invocation -> {
+      written.add(invocation.getArgument(0));
+      return null;
+    }).when(connection).write(any());
+    doAnswer(invocation -> written.add(invocation.getArgument(0)))
+        .when(connection).delayedWrite(any());
+    ConnectedPlayer player = mock(ConnectedPlayer.class);
+    when(player.getConnection()).thenReturn(connection);
+    when(player.getProtocolVersion()).thenReturn(ProtocolVersion.MINECRAFT_1_20_3);
+    tabList = new VelocityTabList(player);
+  }
+
+  private TabListEntry addEntry(String name) {
+    TabListEntry entry = tabList.buildEntry(new GameProfile(UUID.randomUUID(), name, List.of()),
+        null, 0, 0, null, true);
+    tabList.addEntry(entry);
+    return entry;
+  }
+
+  private void runTasks() {
+    List<Runnable> pending = new ArrayList<>(tasks);
+    tasks.clear();
+    pending.forEach(Runnable::run);
+  }
+
+  @Test
+  void updatesAreCoalesced() {
+    List<TabListEntry> entries = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      entries.add(addEntry("player" + i));
+    }
+    runTasks();
+    written.clear();
+
+    for (TabListEntry entry : entries) {
+      entry.setLatency(10);
+      entry.setDisplayName(Component.text(entry.getProfile().getName()));
+      entry.setLatency(20);
+    }
+    assertTrue(written.isEmpty());
+    assertEquals(1, tasks.size());
+    runTasks();
+
+    assertEquals(1, written.size());
+    UpsertPlayerInfoPacket packet = (UpsertPlayerInfoPacket) written.get(0);
+    assertEquals(EnumSet.of(UpsertPlayerInfoPacket.Action.UPDATE_LATENCY,
+        UpsertPlayerInfoPacket.Action.UPDATE_DISPLAY_NAME), packet.getActions());
+    assertEquals(3, packet.getEntries().size());
+    for (UpsertPlayerInfoPacket.Entry entry : packet.getEntries()) {
+      assertEquals(20, entry.getLatency());
+    }
+  }
+
+  @Test
+  void removalDropsQueuedUpdates() {
+    TabListEntry entry = addEntry("player");
+    entry.setLatency(10);
+    tabList.removeEntry(entry.getProfile().getId());
+    runTasks();
+
+    assertEquals(1, written.size());
+    assertTrue(written.get(0) instanceof RemovePlayerInfoPacket);
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import net.kyori.adventure.translation.GlobalTranslator;
+import net.kyori.adventure.translation.TranslationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TranslationRenderCacheTest {
+
+  private static final String KEY = "velocity.test.render-cache";
+  private static final String PLUGIN_KEY = "plugin.test.render-cache";
+
+  private final List<TranslationRegistry> registries = new ArrayList<>();
+  private final TranslationRenderCache cache = new TranslationRenderCache();
+  private TranslationRegistry velocity;
+
+  @BeforeEach
+  void setUp() {
+    velocity = addRegistry("velocity");
+    velocity.register(KEY, Locale.US, new MessageFormat("Hello {0}", Locale.US));
+    cache.setSource(velocity);
+  }
+
+  @AfterEach
+  void tearDown() {
+    registries.forEach(GlobalTranslator.translator()::removeSource);
+  }
+
+  private TranslationRegistry addRegistry(String name) {
+    TranslationRegistry registry = TranslationRegistry.create(Key.key("velocity", name));
+    GlobalTranslator.translator().addSource(registry);
+    registries.add(registry);
+    return registry;
+  }
+
+  private String render(Component message) {
+    return PlainTextComponentSerializer.plainText().serialize(cache.render(message, Locale.US));
+  }
+
+  @Test
+  void velocityRenderingsAreReused() {
+    Component message = Component.translatable(KEY, Component.text("world"));
+    Component rendered = cache.render(message, Locale.US);
+    assertEquals("Hello world", render(message));
+    assertSame(rendered, cache.render(
+        Component.translatable(KEY, Component.text("world")), Locale.US));
+    assertEquals("Hello there", render(Component.translatable(KEY, Component.text("there"))));
+  }
+
+  @Test
+  void pluginTranslationsAreNotCached() {
+    TranslationRegistry plugin = addRegistry("plugin");
+    plugin.register(PLUGIN_KEY, Locale.US, new MessageFormat("Hello {0}", Locale.US));
+    Component message = Component.translatable(PLUGIN_KEY, Component.text("world"));
+    assertEquals("Hello world", render(message));
+
+    // Plugins may change their registries in place
+    plugin.unregister(PLUGIN_KEY);
+    plugin.register(PLUGIN_KEY, Locale.US, new MessageFormat("Goodbye {0}", Locale.US));
+    assertEquals("Goodbye world", render(message));
+  }
+
+  @Test
+  void pluginArgumentsAreNotCached() {
+    TranslationRegistry plugin = addRegistry("plugin");
+    plugin.register(PLUGIN_KEY, Locale.US, new MessageFormat("world", Locale.US));
+    Component message = Component.translatable(KEY, Component.translatable(PLUGIN_KEY));
+    assertEquals("Hello world", render(message));
+    assertNotSame(cache.render(message, Locale.US), cache.render(message, Locale.US));
+  }
+
+  @Test
+  void nothingIsCachedOnceVelocityIsNoLongerTheFirstSource() {
+    Component message = Component.translatable(KEY, Component.text("world"));
+    assertEquals("Hello world", render(message));
+
+    GlobalTranslator.translator().removeSource(velocity);
+    TranslationRegistry replacement = addRegistry("replacement");
+    replacement.register(KEY, Locale.US, new MessageFormat("Goodbye {0}", Locale.US));
+    GlobalTranslator.translator().addSource(velocity);
+    assertEquals("Goodbye world", render(message));
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2024 Velocity Contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.velocitypowered.proxy.util.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import java.net.InetAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRatelimiterTest {
+
+  private final long base = System.nanoTime();
+  private final AtomicLong extra = new AtomicLong();
+  private final Ticker testTicker = () -> base + extra.get();
+
+  @Test
+  void allowsBurstThenRefills() throws Exception {
+    Ratelimiter ratelimiter = new TokenBucketRatelimiter(1000, TimeUnit.MILLISECONDS, 3, 32, 128,
+        1, testTicker);
+    InetAddress address = InetAddress.getByName("192.0.2.1");
+    assertTrue(ratelimiter.attempt(address));
+    assertTrue(ratelimiter.attempt(address));
+    assertTrue(ratelimiter.attempt(address));
+    assertFalse(ratelimiter.wouldAllow(address));
+    assertFalse(ratelimiter.attempt(address));
+
+    extra.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertTrue(ratelimiter.wouldAllow(address));
+    assertTrue(ratelimiter.attempt(address));
+    assertFalse(ratelimiter.attempt(address));
+  }
+
+  @Test
+  void wouldAllowDoesNotTakeTokens() throws Exception {
+    Ratelimiter ratelimiter = new TokenBucketRatelimiter(1000, TimeUnit.MILLISECONDS, 1, 32, 128,
+        1, testTicker);
+    InetAddress address = InetAddress.getByName("192.0.2.1");
+    assertTrue(ratelimiter.wouldAllow(address));
+    assertTrue(ratelimiter.wouldAllow(address));
+    assertTrue(ratelimiter.attempt(address));
+    assertFalse(ratelimiter.attempt(address));
+  }
+
+  @Test
+  void subnetSharesBudget() throws Exception {
+    Ratelimiter ratelimiter = new TokenBucketRatelimiter(1000, TimeUnit.MILLISECONDS, 1, 24, 64,
+        2, testTicker);
+    assertTrue(ratelimiter.attempt(InetAddress.getByName("2001:db8::1")));
+    assertTrue(ratelimiter.attempt(InetAddress.getByName("2001:db8::2")));
+    assertFalse(ratelimiter.attempt(InetAddress.getByName("2001:db8::3")));
+    // A different /64 has its own budget.
+    assertTrue(ratelimiter.attempt(InetAddress.getByName("2001:db8:0:1::1")));
+
+    assertTrue(ratelimiter.attempt(InetAddress.getByName("192.0.2.1")));
+    assertTrue(ratelimiter.attempt(InetAddress.getByName("192.0.2.2")));
+    assertFalse(ratelimiter.attempt(InetAddress.getByName("192.0.2.3")));
+    assertTrue(ratelimiter.attempt(InetAddress.getByName("192.0.3.1")));
+  }
+
+  @Test
+  void subnetDenialKeepsAddressTokens() throws Exception {
+    Ratelimiter ratelimiter = new TokenBucketRatelimiter(1000, TimeUnit.MILLISECONDS, 1, 24, 64,
+        2, testTicker);
+    assertTrue(ratelimiter.attempt(InetAddress.getByName("2001:db8::1")));
+    assertTrue(ratelimiter.attempt(InetAddress.getByName("2001:db8::2")));
+    InetAddress address = InetAddress.getByName("2001:db8::3");
+    assertFalse(ratelimiter.attempt(address));
+
+    // The subnet regains a token before the address would have, had it been taken.
+    extra.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+    assertTrue(ratelimiter.attempt(address));
+  }
+}